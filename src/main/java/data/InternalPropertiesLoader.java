@@ -49,8 +49,30 @@ public class InternalPropertiesLoader {
         }
     }
 
+    /**
+     * Obtém o valor de uma chave, retornando o valor padrão quando a chave não estiver configurada.
+     *
+     * @param key          Chave a ser consultada.
+     * @param defaultValue Valor retornado quando a chave estiver ausente ou vazia.
+     * @return Valor configurado ou o valor padrão.
+     */
+    public String getValue(String key, String defaultValue){
+        String value = getValue(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Define o valor de uma chave. Sem arquivo de configuração do projeto, o valor é definido nas
+     * propriedades do framework.
+     *
+     * @param key   Chave a ser definida.
+     * @param value Valor da chave.
+     */
 	public void setValue(String key, String value) {
-		projectProperties.setValue(key, value);
-		
+		if (projectProperties != null) {
+			projectProperties.setValue(key, value);
+		} else {
+			frameworkProperties.setProperty(key, value);
+		}
 	}
 }
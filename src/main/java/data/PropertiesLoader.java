@@ -23,8 +23,7 @@ public class PropertiesLoader {
 
     public PropertiesLoader(String fileName){
     	this.fileName = fileName;
-    	try {
-    		FileInputStream inp = new FileInputStream(new File(System.getProperty("user.dir") + "/src/test/resources/" + fileName));
+    	try (FileInputStream inp = new FileInputStream(new File(System.getProperty("user.dir") + "/src/test/resources/" + fileName))) {
     		properties = new Properties();
             properties.load(inp);
 		} catch (IOException e) {
@@ -0,0 +1,85 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de buffers de tamanho fixo utilizado no envio de evidências. A quantidade de buffers é limitada, o que
+ * limita o total de bytes em trânsito a {@code maxBuffers * bufferSize}: os envios obtêm um buffer por bloco lido
+ * e o devolvem logo após a escrita, e quem solicita um buffer com o pool esgotado aguarda a devolução de outro.
+ * A quantidade de envios simultâneos não é limitada pelo pool; a espera por buffers é atendida em ordem de
+ * chegada, para que um envio que devolve e solicita novamente um buffer não passe à frente dos que aguardam.
+ */
+class BufferPool {
+
+    private final int bufferSize;
+    private final boolean direct;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Construtor do pool de buffers.
+     *
+     * @param bufferSize Tamanho de cada buffer em bytes.
+     * @param maxBuffers Quantidade máxima de buffers alocados.
+     * @param direct     Indica se os buffers devem ser alocados fora do heap.
+     */
+    BufferPool(int bufferSize, int maxBuffers, boolean direct) {
+        this.bufferSize = bufferSize;
+        this.direct = direct;
+        this.permits = new Semaphore(maxBuffers, true);
+    }
+
+    /**
+     * Cria o pool a partir das propriedades {@code evidence.upload.*}.
+     *
+     * @param pLoader Propriedades do framework.
+     * @return Pool de buffers configurado.
+     */
+    static BufferPool fromProperties(InternalPropertiesLoader pLoader) {
+        return new BufferPool(
+                Integer.parseInt(pLoader.getValue("evidence.upload.bufferKilobytes", "64")) * 1024,
+                Integer.parseInt(pLoader.getValue("evidence.upload.maxBuffers", "32")),
+                Boolean.parseBoolean(pLoader.getValue("evidence.upload.directBuffers")));
+    }
+
+    /**
+     * Obtém um buffer livre, alocando um novo enquanto o limite não for atingido.
+     *
+     * @return Buffer limpo, pronto para escrita.
+     */
+    ByteBuffer acquire() throws InterruptedIOException {
+        try {
+            // tryAcquire com espera respeita a ordem de chegada, ao contrário de tryAcquire()
+            if (!permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                ConnectorMetrics.increment("evidence.upload.bufferWaits");
+                permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando buffer de envio");
+        }
+
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Devolve o buffer ao pool.
+     *
+     * @param buffer Buffer obtido por {@link #acquire()}.
+     */
+    void release(ByteBuffer buffer) {
+        free.offer(buffer);
+        permits.release();
+    }
+}
@@ -0,0 +1,170 @@
+package jira;
+
+import com.google.common.base.Strings;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Agrupa os comentários enviados para uma mesma tarefa dentro de uma janela de tempo/tamanho
+ * e os publica como um único comentário formatado.
+ */
+class CommentCoalescer {
+
+    private static final Logger logger = LogManager.getLogger(CommentCoalescer.class);
+    private static final String SEPARATOR = "\n\n----\n\n";
+
+    private final long windowMillis;
+    private final int maxComments;
+    private final int maxChars;
+    private final BiConsumer<String, String> sender;
+    private final Map<String, PendingComments> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "jira-comment-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Construtor do agrupador de comentários.
+     *
+     * @param windowMillis Tempo máximo, em milissegundos, que um comentário aguarda antes do envio.
+     * @param maxComments  Quantidade de comentários que força o envio imediato.
+     * @param maxChars     Tamanho do texto agrupado que força o envio imediato.
+     * @param sender       Função responsável por enviar o comentário agrupado (tarefa, texto).
+     */
+    CommentCoalescer(long windowMillis, int maxComments, int maxChars, BiConsumer<String, String> sender) {
+        this.windowMillis = windowMillis;
+        this.maxComments = maxComments;
+        this.maxChars = maxChars;
+        this.sender = sender;
+    }
+
+    /**
+     * Adiciona um comentário ao buffer da tarefa. Os limites são verificados dentro da atualização atômica do
+     * buffer, de forma que adições simultâneas não ultrapassem o tamanho máximo nem enviem o mesmo grupo duas vezes.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @param comment Texto do comentário.
+     */
+    void add(String taskKey, String comment) {
+        String text = Strings.nullToEmpty(comment);
+        List<PendingComments> ready = new ArrayList<>(2);
+        pending.compute(taskKey, (key, comments) -> {
+            if (comments != null && comments.chars + text.length() > maxChars) {
+                // O novo comentário não cabe no grupo atual: o grupo é enviado e um novo é iniciado
+                ready.add(comments);
+                comments = null;
+            }
+            if (comments == null) {
+                comments = new PendingComments();
+            }
+            comments.add(text);
+            if (comments.size() >= maxComments || comments.chars >= maxChars) {
+                ready.add(comments);
+                return null;
+            }
+            if (comments.timer == null) {
+                PendingComments scheduled = comments;
+                comments.timer = scheduler.schedule(() -> flushExpired(key, scheduled), windowMillis,
+                        TimeUnit.MILLISECONDS);
+            }
+            return comments;
+        });
+
+        for (PendingComments comments : ready) {
+            comments.cancelTimer();
+            send(taskKey, comments);
+        }
+    }
+
+    /**
+     * Envia imediatamente os comentários pendentes de uma tarefa.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     */
+    void flush(String taskKey) {
+        PendingComments comments = pending.remove(taskKey);
+        if (comments != null) {
+            comments.cancelTimer();
+            send(taskKey, comments);
+        }
+    }
+
+    /**
+     * Envia os comentários cuja janela expirou, desde que ainda não tenham sido enviados por outro gatilho.
+     */
+    private void flushExpired(String taskKey, PendingComments comments) {
+        if (pending.remove(taskKey, comments)) {
+            send(taskKey, comments);
+        }
+    }
+
+    private void send(String taskKey, PendingComments comments) {
+        try {
+            sender.accept(taskKey, String.join(SEPARATOR, comments.texts));
+        } catch (Exception e) {
+            logger.error("Erro ao enviar os comentários agrupados da tarefa {}", taskKey, e);
+        }
+    }
+
+    /**
+     * Envia imediatamente os comentários pendentes de todas as tarefas e aguarda a conclusão dos envios por janela
+     * expirada que estejam em andamento.
+     */
+    void flushAll() {
+        for (String taskKey : new ArrayList<>(pending.keySet())) {
+            flush(taskKey);
+        }
+
+        // O agendador possui uma única thread: uma tarefa vazia só executa após os envios já iniciados
+        try {
+            scheduler.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            logger.debug("Agendador de comentários encerrado.", e);
+        }
+    }
+
+    /**
+     * Envia os comentários pendentes e encerra o agendador.
+     */
+    void shutdown() {
+        flushAll();
+        scheduler.shutdownNow();
+    }
+
+    private static class PendingComments {
+
+        private final List<String> texts = new ArrayList<>();
+        private int chars;
+        private ScheduledFuture<?> timer;
+
+        private void add(String text) {
+            texts.add(text);
+            chars += text.length() + SEPARATOR.length();
+        }
+
+        private int size() {
+            return texts.size();
+        }
+
+        private void cancelTimer() {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package jira;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * Aquece as conexões de um conector em segundo plano: resolve o host, valida as credenciais uma única vez e abre
+ * a quantidade configurada de conexões no pool, que permanecem disponíveis para os primeiros cenários.
+ */
+class ConnectionWarmup implements Runnable {
+
+    private static final Logger logger = LogManager.getLogger(ConnectionWarmup.class);
+
+    private final String name;
+    private final HttpClient httpClient;
+    private final Supplier<HttpGet> credentialCheck;
+    private final int connections;
+    private final Runnable onInvalidCredentials;
+
+    /**
+     * Construtor do aquecimento.
+     *
+     * @param name                 Nome do conector, utilizado nos logs.
+     * @param httpClient           Cliente HTTP com pool de conexões a ser aquecido.
+     * @param credentialCheck      Fábrica da requisição GET autenticada usada na validação das credenciais.
+     * @param connections          Quantidade de conexões abertas no pool.
+     * @param onInvalidCredentials Ação executada quando as credenciais forem recusadas.
+     */
+    ConnectionWarmup(String name, HttpClient httpClient, Supplier<HttpGet> credentialCheck, int connections,
+                     Runnable onInvalidCredentials) {
+        this.name = name;
+        this.httpClient = httpClient;
+        this.credentialCheck = credentialCheck;
+        this.connections = connections;
+        this.onInvalidCredentials = onInvalidCredentials;
+    }
+
+    /**
+     * Inicia o aquecimento em uma thread de segundo plano.
+     */
+    void start() {
+        Thread thread = new Thread(this, name.toLowerCase() + "-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        long start = System.currentTimeMillis();
+        try {
+            HttpGet check = credentialCheck.get();
+            URI uri = check.getURI();
+            InetAddress.getAllByName(uri.getHost());
+
+            int statusCode = execute(check);
+            if (statusCode == HttpStatus.SC_UNAUTHORIZED || statusCode == HttpStatus.SC_FORBIDDEN) {
+                logger.error("Credenciais recusadas pelo {} (código de status {}). A conexão foi desativada.", name,
+                        statusCode);
+                onInvalidCredentials.run();
+                return;
+            }
+
+            openConnections();
+            logger.info("Conexões com o {} aquecidas em {} ms.", name, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.warn("Falha no aquecimento das conexões com o {}", name, e);
+        }
+    }
+
+    /**
+     * Executa requisições simultâneas para que o pool mantenha a quantidade desejada de conexões abertas. A conexão
+     * da validação das credenciais já está no pool e é reaproveitada por uma delas, por isso são feitas tantas
+     * requisições quanto as conexões desejadas.
+     */
+    private void openConnections() throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(1);
+        Thread[] workers = new Thread[Math.max(0, connections)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(() -> {
+                try {
+                    ready.await();
+                    execute(credentialCheck.get());
+                } catch (Exception e) {
+                    logger.debug("Falha ao abrir conexão de aquecimento com o {}", name, e);
+                }
+            }, name.toLowerCase() + "-warmup-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        ready.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private int execute(HttpGet httpGet) throws IOException {
+        return httpClient.execute(httpGet, ResponseHandlers.statusOnly());
+    }
+}
@@ -0,0 +1,116 @@
+package jira;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de métricas compartilhados pelos conectores do Jira e do Zephyr. O resumo das métricas e das razões
+ * registradas é gravado no log ao final da execução.
+ */
+public final class ConnectorMetrics {
+
+    private static final Logger logger = LogManager.getLogger(ConnectorMetrics.class);
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, String[]> ratios = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (!counters.isEmpty()) {
+                logSummary();
+            }
+        }, "connector-metrics-summary"));
+    }
+
+    private ConnectorMetrics() {
+    }
+
+    /**
+     * Incrementa um contador em uma unidade.
+     *
+     * @param name Nome da métrica.
+     */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Soma um valor ao contador.
+     *
+     * @param name  Nome da métrica.
+     * @param value Valor a ser somado.
+     */
+    public static void add(String name, long value) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(value);
+    }
+
+    /**
+     * Obtém o valor atual de um contador.
+     *
+     * @param name Nome da métrica.
+     * @return Valor do contador ou zero se a métrica ainda não foi registrada.
+     */
+    public static long get(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Calcula a razão entre dois contadores.
+     *
+     * @param numerator   Nome da métrica do numerador.
+     * @param denominator Nome da métrica do denominador.
+     * @return Razão entre os contadores ou zero quando o denominador for zero.
+     */
+    public static double ratio(String numerator, String denominator) {
+        long total = get(denominator);
+        return total == 0 ? 0 : (double) get(numerator) / total;
+    }
+
+    /**
+     * Registra uma razão entre dois contadores, incluída no resumo das métricas.
+     *
+     * @param name        Nome da razão.
+     * @param numerator   Nome da métrica do numerador.
+     * @param denominator Nome da métrica do denominador.
+     */
+    public static void registerRatio(String name, String numerator, String denominator) {
+        ratios.put(name, new String[]{numerator, denominator});
+    }
+
+    /**
+     * Obtém uma cópia ordenada do valor atual das razões registradas.
+     *
+     * @return Mapa com o nome e o valor de cada razão.
+     */
+    public static Map<String, Double> ratioSnapshot() {
+        Map<String, Double> snapshot = new TreeMap<>();
+        ratios.forEach((name, metrics) -> snapshot.put(name, ratio(metrics[0], metrics[1])));
+        return snapshot;
+    }
+
+    /**
+     * Obtém uma cópia ordenada de todos os contadores.
+     *
+     * @return Mapa com o nome e o valor de cada métrica.
+     */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Registra no log o valor de todas as métricas e das razões registradas.
+     */
+    public static void logSummary() {
+        snapshot().forEach((name, value) -> logger.info("{} = {}", name, value));
+        ratioSnapshot().forEach((name, value) ->
+                logger.info("{} = {}%", name, String.format(Locale.ROOT, "%.1f", value * 100)));
+    }
+}
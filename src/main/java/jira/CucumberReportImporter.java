@@ -0,0 +1,369 @@
+package jira;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importa relatórios JSON do Cucumber gravados durante a execução e publica os resultados no Jira e no Zephyr
+ * através do {@link ResultPublisher}. Os relatórios são lidos em streaming, os cenários são publicados com
+ * paralelismo limitado e o progresso é gravado em um arquivo de checkpoint, permitindo retomar a importação.
+ *
+ * <p>Uso: {@code CucumberReportImporter [--parallel N] [--checkpoint arquivo] relatorio.json...}</p>
+ */
+public class CucumberReportImporter {
+
+    private static final Logger logger = LogManager.getLogger(CucumberReportImporter.class);
+    private static final Set<String> NON_FAILING_STATUS = Set.of("passed", "skipped");
+    private static final int CHECKPOINT_EVERY = 50;
+
+    private final int parallelism;
+    private final Path checkpointFile;
+    private final Map<String, BitSet> checkpoint = new ConcurrentHashMap<>();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * Construtor do importador.
+     *
+     * @param parallelism    Quantidade máxima de cenários publicados ao mesmo tempo.
+     * @param checkpointFile Arquivo de checkpoint ou null para não gravar o progresso.
+     */
+    public CucumberReportImporter(int parallelism, Path checkpointFile) {
+        this.parallelism = parallelism;
+        this.checkpointFile = checkpointFile;
+    }
+
+    public static void main(String[] args) {
+        int parallelism = 4;
+        Path checkpointFile = null;
+        List<Path> reports = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if ("--parallel".equals(args[i]) && i + 1 < args.length) {
+                parallelism = Integer.parseInt(args[++i]);
+            } else if ("--checkpoint".equals(args[i]) && i + 1 < args.length) {
+                checkpointFile = Paths.get(args[++i]);
+            } else {
+                reports.add(Paths.get(args[i]));
+            }
+        }
+
+        if (reports.isEmpty()) {
+            logger.error("Uso: CucumberReportImporter [--parallel N] [--checkpoint arquivo] relatorio.json...");
+            System.exit(2);
+        }
+
+        boolean success = new CucumberReportImporter(parallelism, checkpointFile).importReports(reports);
+        System.exit(success ? 0 : 1);
+    }
+
+    /**
+     * Importa os relatórios informados.
+     *
+     * @param reports Caminhos dos relatórios JSON do Cucumber.
+     * @return true se todos os cenários foram publicados com sucesso, false caso contrário.
+     */
+    public boolean importReports(List<Path> reports) {
+        loadCheckpoint();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (Path report : reports) {
+                try {
+                    importReport(report, executor);
+                } catch (IOException | RuntimeException e) {
+                    failures.incrementAndGet();
+                    logger.error("Erro ao importar o relatório '{}'", report, e);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return failures.get() == 0;
+    }
+
+    private void importReport(Path report, ExecutorService executor) throws IOException {
+        String reportKey = report.toAbsolutePath().normalize().toString();
+        BitSet published = (BitSet) checkpoint.getOrDefault(reportKey, new BitSet()).clone();
+        Progress progress = new Progress(reportKey, (BitSet) published.clone());
+        Semaphore permits = new Semaphore(parallelism);
+        int index = 0;
+
+        logger.info("Importando o relatório '{}' ({} cenários já publicados).", report, published.cardinality());
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(report, StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (!"elements".equals(reader.nextName())) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        ScenarioResult result = readElement(reader);
+                        if (result == null) {
+                            continue;
+                        }
+                        int scenarioIndex = index++;
+                        if (published.get(scenarioIndex)) {
+                            continue;
+                        }
+
+                        permits.acquireUninterruptibly();
+                        executor.execute(() -> {
+                            boolean success = false;
+                            try {
+                                success = ResultPublisher.publishResult(result);
+                            } catch (RuntimeException e) {
+                                logger.error("Erro ao publicar o cenário '{}'", result.getName(), e);
+                            } finally {
+                                if (success) {
+                                    progress.completed(scenarioIndex);
+                                } else {
+                                    failures.incrementAndGet();
+                                }
+                                permits.release();
+                            }
+                        });
+                    }
+                    reader.endArray();
+                }
+                reader.endObject();
+            }
+            reader.endArray();
+        }
+
+        // Aguarda a publicação dos cenários em andamento antes de gravar o checkpoint final
+        permits.acquireUninterruptibly(parallelism);
+        permits.release(parallelism);
+        progress.save();
+        logger.info("Relatório '{}' importado: {} cenários.", report, index);
+    }
+
+    /**
+     * Lê um elemento do relatório, retornando null para backgrounds e cenários totalmente ignorados.
+     */
+    private ScenarioResult readElement(JsonReader reader) throws IOException {
+        String name = null;
+        String type = "scenario";
+        List<String> tags = new ArrayList<>();
+        long durationNanos = 0;
+        boolean failed = false;
+        boolean executed = false;
+        String errorMessage = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "type":
+                    type = reader.nextString();
+                    break;
+                case "tags":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            if ("name".equals(reader.nextName())) {
+                                tags.add(reader.nextString());
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                    }
+                    reader.endArray();
+                    break;
+                case "before":
+                case "steps":
+                case "after":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        StepResult step = readStep(reader);
+                        durationNanos += step.durationNanos;
+                        executed |= "passed".equals(step.status);
+                        if (!NON_FAILING_STATUS.contains(step.status)) {
+                            failed = true;
+                            executed = true;
+                            if (errorMessage == null) {
+                                errorMessage = step.errorMessage;
+                            }
+                        }
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if ("background".equals(type) || !executed) {
+            return null;
+        }
+        return new ScenarioResult(name, !failed, TimeUnit.NANOSECONDS.toMillis(durationNanos), tags, errorMessage);
+    }
+
+    private StepResult readStep(JsonReader reader) throws IOException {
+        StepResult step = new StepResult();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"result".equals(reader.nextName())) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "status":
+                        step.status = reader.nextString();
+                        break;
+                    case "duration":
+                        step.durationNanos = reader.peek() == JsonToken.NUMBER ? reader.nextLong() : 0;
+                        break;
+                    case "error_message":
+                        step.errorMessage = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+        return step;
+    }
+
+    private void loadCheckpoint() {
+        if (checkpointFile == null || !Files.isRegularFile(checkpointFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(checkpointFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.lastIndexOf('\t');
+                if (separator > 0) {
+                    checkpoint.put(line.substring(0, separator), parseIndices(line.substring(separator + 1)));
+                }
+            }
+        } catch (IOException | NumberFormatException | IndexOutOfBoundsException e) {
+            logger.warn("Checkpoint '{}' inválido. A importação será feita desde o início.", checkpointFile, e);
+            checkpoint.clear();
+        }
+    }
+
+    private synchronized void saveCheckpoint() {
+        if (checkpointFile == null) {
+            return;
+        }
+        try {
+            Path absolute = checkpointFile.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, BitSet> entry : checkpoint.entrySet()) {
+                    writer.write(entry.getKey() + '\t' + formatIndices(entry.getValue()));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Não foi possível gravar o checkpoint '{}'", checkpointFile, e);
+        }
+    }
+
+    /**
+     * Converte os índices gravados no checkpoint, em intervalos separados por vírgula (ex.: {@code 0-36,38-119}).
+     */
+    private static BitSet parseIndices(String value) {
+        BitSet indices = new BitSet();
+        for (String range : value.split(",")) {
+            if (range.isEmpty()) {
+                continue;
+            }
+            int separator = range.indexOf('-');
+            int first = Integer.parseInt(separator < 0 ? range : range.substring(0, separator));
+            int last = separator < 0 ? first : Integer.parseInt(range.substring(separator + 1));
+            indices.set(first, last + 1);
+        }
+        return indices;
+    }
+
+    /**
+     * Formata os índices para o checkpoint, agrupando os índices consecutivos em intervalos.
+     */
+    private static String formatIndices(BitSet indices) {
+        StringBuilder value = new StringBuilder();
+        for (int first = indices.nextSetBit(0); first >= 0; first = indices.nextSetBit(first)) {
+            int end = indices.nextClearBit(first);
+            if (value.length() > 0) {
+                value.append(',');
+            }
+            value.append(first);
+            if (end - 1 > first) {
+                value.append('-').append(end - 1);
+            }
+            first = end;
+        }
+        return value.toString();
+    }
+
+    /**
+     * Acompanha os cenários publicados com sucesso em um relatório. O checkpoint registra o conjunto de cenários
+     * publicados, e não apenas o prefixo contínuo: a publicação em paralelo pode terminar fora de ordem, e um
+     * cenário com falha é o único publicado novamente ao retomar a importação.
+     */
+    private class Progress {
+
+        private final String reportKey;
+        private final BitSet completed;
+        private int sinceLastSave;
+
+        private Progress(String reportKey, BitSet completed) {
+            this.reportKey = reportKey;
+            this.completed = completed;
+        }
+
+        private synchronized void completed(int scenarioIndex) {
+            completed.set(scenarioIndex);
+            if (++sinceLastSave >= CHECKPOINT_EVERY) {
+                save();
+            }
+        }
+
+        private synchronized void save() {
+            sinceLastSave = 0;
+            checkpoint.put(reportKey, (BitSet) completed.clone());
+            saveCheckpoint();
+        }
+    }
+
+    private static class StepResult {
+        private String status = "undefined";
+        private long durationNanos;
+        private String errorMessage;
+    }
+}
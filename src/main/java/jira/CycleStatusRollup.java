@@ -0,0 +1,172 @@
+package jira;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consolida localmente os resultados dos cenários por caso de teste em cada ciclo do Zephyr e publica um único
+ * status por par (caso, ciclo), periodicamente ou ao final da execução, em vez de uma atualização por cenário.
+ * Cenários que reportam o mesmo caso no mesmo ciclo, como exemplos de um esquema de cenário ou novas tentativas,
+ * resultam em uma única execução no ciclo.
+ *
+ * <p>O status consolidado é {@code Fail} se algum cenário falhou, {@code Blocked} se algum foi bloqueado, o último
+ * status diferente destes e de {@code Pass} se algum foi informado, e {@code Pass} quando todos passaram.</p>
+ */
+class CycleStatusRollup {
+
+    private static final Logger logger = LogManager.getLogger(CycleStatusRollup.class);
+
+    private final Map<String, CaseCounters> executions = new ConcurrentHashMap<>();
+    private final Publisher publisher;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Construtor da consolidação.
+     *
+     * @param intervalMillis Intervalo entre publicações periódicas; 0 publica apenas ao final da execução.
+     * @param publisher      Função responsável por publicar o status do ciclo.
+     */
+    CycleStatusRollup(long intervalMillis, Publisher publisher) {
+        this.publisher = publisher;
+        if (intervalMillis > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "zephyr-cycle-rollup");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Registra o resultado de um cenário para o caso de teste no ciclo.
+     *
+     * @param testCaseKey  Chave do caso de teste do cenário.
+     * @param testCycleKey Chave do ciclo de teste.
+     * @param status       Status do cenário.
+     */
+    void record(String testCaseKey, String testCycleKey, String status) {
+        CaseCounters counters = executions.computeIfAbsent(testCaseKey + "@" + testCycleKey,
+                key -> new CaseCounters(testCaseKey, testCycleKey));
+        switch (status == null ? "" : status.trim().toLowerCase(Locale.ROOT)) {
+            case "pass":
+            case "passed":
+                counters.passed.increment();
+                break;
+            case "fail":
+            case "failed":
+                counters.failed.increment();
+                break;
+            case "blocked":
+                counters.blocked.increment();
+                break;
+            default:
+                counters.lastOther.set(status);
+                counters.other.increment();
+        }
+        counters.updates.incrementAndGet();
+    }
+
+    /**
+     * Publica o status consolidado dos casos que receberam resultados desde a última publicação.
+     */
+    synchronized void flush() {
+        for (CaseCounters counters : executions.values()) {
+            long updates = counters.updates.get();
+            if (updates == counters.publishedUpdates) {
+                continue;
+            }
+
+            String status = counters.status();
+            if (status.equals(counters.publishedStatus)) {
+                counters.publishedUpdates = updates;
+                continue;
+            }
+
+            try {
+                if (publisher.publish(counters.testCaseKey, counters.testCycleKey, status)) {
+                    counters.publishedUpdates = updates;
+                    counters.publishedStatus = status;
+                    ConnectorMetrics.increment("zephyr.cycleRollup.published");
+                }
+            } catch (RuntimeException e) {
+                logger.error("Erro ao publicar o status consolidado do caso {} no ciclo {}",
+                        counters.testCaseKey, counters.testCycleKey, e);
+            }
+        }
+    }
+
+    /**
+     * Interrompe as publicações periódicas e publica os status pendentes.
+     */
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flush();
+    }
+
+    /**
+     * Publicação do status consolidado de um caso de teste no ciclo.
+     */
+    @FunctionalInterface
+    interface Publisher {
+
+        /**
+         * Publica o status do caso de teste no ciclo.
+         *
+         * @param testCaseKey  Chave do caso de teste.
+         * @param testCycleKey Chave do ciclo de teste.
+         * @param status       Status consolidado.
+         * @return true se o status foi aceito pelo Zephyr.
+         */
+        boolean publish(String testCaseKey, String testCycleKey, String status);
+    }
+
+    /**
+     * Contadores de resultados de um caso de teste no ciclo, atualizados sem bloqueio pelas threads dos cenários.
+     */
+    private static class CaseCounters {
+
+        private final String testCaseKey;
+        private final String testCycleKey;
+        private final LongAdder passed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder blocked = new LongAdder();
+        private final LongAdder other = new LongAdder();
+        private final AtomicReference<String> lastOther = new AtomicReference<>();
+        private final AtomicLong updates = new AtomicLong();
+        private long publishedUpdates;
+        private String publishedStatus;
+
+        private CaseCounters(String testCaseKey, String testCycleKey) {
+            this.testCaseKey = testCaseKey;
+            this.testCycleKey = testCycleKey;
+        }
+
+        private String status() {
+            if (failed.sum() > 0) {
+                return "Fail";
+            }
+            if (blocked.sum() > 0) {
+                return "Blocked";
+            }
+            if (other.sum() > 0) {
+                return lastOther.get();
+            }
+            return "Pass";
+        }
+    }
+}
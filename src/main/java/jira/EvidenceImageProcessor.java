@@ -0,0 +1,230 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reduz e recomprime as capturas de tela enviadas no pacote de evidências ({@code evidence.bundle.enabled}). O
+ * processamento é executado em um pool limitado de threads, em paralelo ao envio do pacote, e a imagem original é
+ * mantida sempre que a versão processada não for menor. Os temporários gerados são removidos por
+ * {@link #cleanup(File, File)} ao final de cada envio.
+ */
+class EvidenceImageProcessor {
+
+    private static final Logger logger = LogManager.getLogger(EvidenceImageProcessor.class);
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("png", "jpg", "jpeg", "bmp");
+
+    private final int maxDimension;
+    private final String format;
+    private final float quality;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Construtor do processador de imagens.
+     *
+     * @param threads      Quantidade de threads do pool.
+     * @param maxDimension Maior dimensão (largura ou altura) permitida, em pixels.
+     * @param format       Formato de saída ({@code jpeg} ou {@code png}).
+     * @param quality      Qualidade da compressão JPEG, entre 0 e 1.
+     */
+    EvidenceImageProcessor(int threads, int maxDimension, String format, float quality) {
+        this.maxDimension = maxDimension;
+        this.format = format.toLowerCase(Locale.ROOT);
+        this.quality = quality;
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 16), r -> {
+            Thread thread = new Thread(r, "evidence-image-processor");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Cria o processador a partir das propriedades {@code evidence.images.*}.
+     *
+     * @param pLoader Propriedades do framework.
+     * @return Processador configurado ou null quando desativado.
+     */
+    static EvidenceImageProcessor fromProperties(InternalPropertiesLoader pLoader) {
+        if (!Boolean.parseBoolean(pLoader.getValue("evidence.images.enabled"))) {
+            return null;
+        }
+        return new EvidenceImageProcessor(
+                Integer.parseInt(pLoader.getValue("evidence.images.threads", "2")),
+                Integer.parseInt(pLoader.getValue("evidence.images.maxDimension", "1600")),
+                pLoader.getValue("evidence.images.format", "jpeg"),
+                Float.parseFloat(pLoader.getValue("evidence.images.quality", "0.8")));
+    }
+
+    /**
+     * Agenda o processamento do arquivo. Arquivos que não são imagens são devolvidos sem alteração.
+     *
+     * @param file Arquivo de evidência.
+     * @return Arquivo a ser enviado: um temporário com a imagem processada ou o próprio arquivo original.
+     */
+    CompletableFuture<File> submit(File file) {
+        if (!isImage(file)) {
+            return CompletableFuture.completedFuture(file);
+        }
+        return CompletableFuture.supplyAsync(() -> process(file), executor);
+    }
+
+    /**
+     * Remove o arquivo processado e a sua pasta temporária, caso seja um temporário gerado por este processador.
+     *
+     * @param original  Arquivo original.
+     * @param processed Arquivo retornado por {@link #submit(File)}.
+     */
+    static void cleanup(File original, File processed) {
+        if (processed != null && !processed.equals(original)) {
+            try {
+                Files.deleteIfExists(processed.toPath());
+                Files.deleteIfExists(processed.getParentFile().toPath());
+            } catch (IOException e) {
+                logger.warn("Não foi possível remover a imagem temporária '{}'", processed, e);
+            }
+        }
+    }
+
+    private File process(File file) {
+        try {
+            BufferedImage image = ImageIO.read(file);
+            if (image == null) {
+                return file;
+            }
+
+            BufferedImage scaled = scale(image);
+            File output = File.createTempFile("evidence-", "." + extension());
+            write(scaled, output);
+
+            long before = file.length();
+            long after = output.length();
+            if (after >= before) {
+                Files.deleteIfExists(output.toPath());
+                ConnectorMetrics.increment("evidence.images.kept");
+                return file;
+            }
+
+            ConnectorMetrics.increment("evidence.images.processed");
+            ConnectorMetrics.add("evidence.images.bytesBefore", before);
+            ConnectorMetrics.add("evidence.images.bytesAfter", after);
+            logger.info("Imagem {} reduzida de {} KB para {} KB ({}x{} -> {}x{}).", file.getName(), before / 1024,
+                    after / 1024, image.getWidth(), image.getHeight(), scaled.getWidth(), scaled.getHeight());
+            return renamed(output, file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Falha ao processar a imagem '{}'. O arquivo original será enviado.", file, e);
+            return file;
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * factor));
+        boolean jpeg = isJpeg();
+
+        if (factor == 1.0 && (!jpeg || !image.getColorModel().hasAlpha())) {
+            return image;
+        }
+
+        // JPEG não suporta transparência: a imagem é desenhada sobre fundo branco
+        BufferedImage scaled = new BufferedImage(width, height,
+                jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (jpeg) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void write(BufferedImage image, File output) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(isJpeg() ? "jpeg" : "png");
+        if (!writers.hasNext()) {
+            throw new IOException("Nenhum codificador disponível para o formato " + format);
+        }
+
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (isJpeg()) {
+                    param.setCompressionQuality(quality);
+                } else {
+                    // Para PNG, qualidade 0 corresponde à compressão máxima do deflate
+                    param.setCompressionQuality(0f);
+                }
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Move o temporário para um nome equivalente ao original, preservando o nome da evidência no anexo.
+     */
+    private File renamed(File output, File original) throws IOException {
+        File directory = Files.createTempDirectory("evidence-").toFile();
+        File target = new File(directory, baseName(original) + "." + extension());
+        try {
+            Files.move(output.toPath(), target.toPath());
+        } catch (IOException e) {
+            Files.deleteIfExists(output.toPath());
+            Files.deleteIfExists(directory.toPath());
+            throw e;
+        }
+        return target;
+    }
+
+    private boolean isJpeg() {
+        return "jpeg".equals(format) || "jpg".equals(format);
+    }
+
+    private String extension() {
+        return isJpeg() ? "jpg" : "png";
+    }
+
+    private static boolean isImage(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && IMAGE_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static String baseName(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
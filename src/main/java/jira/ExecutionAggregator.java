@@ -0,0 +1,272 @@
+package jira;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrega localmente as execuções repetidas de um mesmo caso de teste em um ciclo e publica uma única execução
+ * resumida por janela, em vez de uma execução por cenário.
+ *
+ * <p>Para cada par (caso de teste, ciclo) são mantidos os totais de aprovações e falhas e um histograma compacto do
+ * tempo de execução, com faixas em potências de 2 milissegundos. A execução publicada tem status {@code Fail} se
+ * alguma execução da janela falhou, o tempo mediano como tempo de execução e a distribuição no comentário.</p>
+ */
+class ExecutionAggregator {
+
+    private static final Logger logger = LogManager.getLogger(ExecutionAggregator.class);
+    private static final int BUCKETS = 64;
+
+    private final Map<String, ExecutionStats> executions = new ConcurrentHashMap<>();
+    private final Publisher publisher;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Construtor da agregação.
+     *
+     * @param windowMillis Duração da janela de agregação; 0 publica apenas ao final da execução.
+     * @param publisher    Função responsável por publicar a execução resumida.
+     */
+    ExecutionAggregator(long windowMillis, Publisher publisher) {
+        this.publisher = publisher;
+        if (windowMillis > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "zephyr-execution-aggregator");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Registra uma execução do caso de teste no ciclo. O ticket é confirmado quando a janela que contém a execução
+     * for publicada.
+     *
+     * @param testCaseKey   Chave do caso de teste.
+     * @param testCycleKey  Chave do ciclo de teste.
+     * @param passed        true se a execução passou.
+     * @param executionTime Tempo de execução em milissegundos.
+     * @param ticket        Ticket da execução no controle de idempotência.
+     */
+    void record(String testCaseKey, String testCycleKey, boolean passed, long executionTime,
+                IdempotencyGuard.Ticket ticket) {
+        executions.computeIfAbsent(testCaseKey + "@" + testCycleKey,
+                key -> new ExecutionStats(testCaseKey, testCycleKey))
+                .record(passed, Math.max(0, executionTime), ticket);
+    }
+
+    /**
+     * Publica uma execução resumida para cada caso de teste que recebeu execuções desde a última publicação.
+     */
+    synchronized void flush() {
+        for (ExecutionStats stats : executions.values()) {
+            Window window = stats.window();
+            if (window.total() == 0) {
+                // Uma execução em registro pode já ter atualizado o menor e o maior tempo
+                stats.restore(window);
+                continue;
+            }
+
+            boolean published = false;
+            try {
+                published = publisher.publish(stats.testCaseKey, stats.testCycleKey,
+                        window.failed > 0 ? "Fail" : "Pass", window.percentile(0.5), window.describe());
+            } catch (RuntimeException e) {
+                logger.error("Erro ao publicar a execução agregada do teste {}", stats.testCaseKey, e);
+            }
+            if (published) {
+                stats.commit(window);
+                ConnectorMetrics.increment("zephyr.aggregation.published");
+            } else {
+                stats.restore(window);
+            }
+        }
+    }
+
+    /**
+     * Interrompe as publicações periódicas e publica as execuções pendentes.
+     */
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flush();
+    }
+
+    /**
+     * Faixa do histograma de um tempo de execução: 0 para 0 ms e {@code i} para {@code [2^(i-1), 2^i)} ms.
+     */
+    private static int bucketOf(long executionTime) {
+        return Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(executionTime));
+    }
+
+    private static long bucketUpperBound(int bucket) {
+        return bucket == 0 ? 0 : (1L << bucket) - 1;
+    }
+
+    /**
+     * Publicação da execução resumida de um caso de teste.
+     */
+    @FunctionalInterface
+    interface Publisher {
+
+        /**
+         * Publica a execução resumida.
+         *
+         * @param testCaseKey   Chave do caso de teste.
+         * @param testCycleKey  Chave do ciclo de teste.
+         * @param status        Status consolidado da janela.
+         * @param executionTime Tempo de execução representativo da janela.
+         * @param comment       Comentário com os totais e a distribuição dos tempos.
+         * @return true se a execução foi aceita pelo Zephyr.
+         */
+        boolean publish(String testCaseKey, String testCycleKey, String status, long executionTime, String comment);
+    }
+
+    /**
+     * Estatísticas acumuladas de um caso de teste, atualizadas sem bloqueio pelas threads dos cenários. Cada janela
+     * é obtida pela diferença em relação aos totais já publicados, de forma que nenhuma execução registrada durante
+     * a publicação seja perdida. O menor e o maior tempo são retirados atomicamente ao abrir a janela e devolvidos
+     * se a publicação falhar.
+     */
+    private static class ExecutionStats {
+
+        private final String testCaseKey;
+        private final String testCycleKey;
+        private final LongAdder passed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        private final Queue<IdempotencyGuard.Ticket> tickets = new ConcurrentLinkedQueue<>();
+        private final long[] publishedHistogram = new long[BUCKETS];
+        private long publishedPassed;
+        private long publishedFailed;
+
+        private ExecutionStats(String testCaseKey, String testCycleKey) {
+            this.testCaseKey = testCaseKey;
+            this.testCycleKey = testCycleKey;
+        }
+
+        private void record(boolean success, long executionTime, IdempotencyGuard.Ticket ticket) {
+            histogram.incrementAndGet(bucketOf(executionTime));
+            min.accumulate(executionTime);
+            max.accumulate(executionTime);
+            (success ? passed : failed).increment();
+            // Incluído após os contadores: o ticket nunca é confirmado antes da publicação da sua execução
+            if (ticket != IdempotencyGuard.Ticket.untracked()) {
+                tickets.add(ticket);
+            }
+        }
+
+        private Window window() {
+            List<IdempotencyGuard.Ticket> windowTickets = new ArrayList<>();
+            IdempotencyGuard.Ticket ticket;
+            while ((ticket = tickets.poll()) != null) {
+                windowTickets.add(ticket);
+            }
+            long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = histogram.get(i) - publishedHistogram[i];
+            }
+            return new Window(passed.sum() - publishedPassed, failed.sum() - publishedFailed, buckets,
+                    min.getThenReset(), max.getThenReset(), windowTickets);
+        }
+
+        private void commit(Window window) {
+            publishedPassed += window.passed;
+            publishedFailed += window.failed;
+            for (int i = 0; i < BUCKETS; i++) {
+                publishedHistogram[i] += window.buckets[i];
+            }
+            window.tickets.forEach(IdempotencyGuard.Ticket::acknowledge);
+        }
+
+        private void restore(Window window) {
+            min.accumulate(window.min);
+            max.accumulate(window.max);
+            tickets.addAll(window.tickets);
+        }
+    }
+
+    /**
+     * Execuções de um caso de teste ainda não publicadas.
+     */
+    private static class Window {
+
+        private final long passed;
+        private final long failed;
+        private final long[] buckets;
+        private final long min;
+        private final long max;
+        private final List<IdempotencyGuard.Ticket> tickets;
+
+        private Window(long passed, long failed, long[] buckets, long min, long max,
+                       List<IdempotencyGuard.Ticket> tickets) {
+            this.passed = passed;
+            this.failed = failed;
+            this.buckets = buckets;
+            this.min = min;
+            this.max = max;
+            this.tickets = tickets;
+        }
+
+        private long total() {
+            return passed + failed;
+        }
+
+        /**
+         * Percentil aproximado pelo limite superior da faixa do histograma, limitado ao maior tempo da janela.
+         */
+        private long percentile(double quantile) {
+            long count = 0;
+            for (long bucket : buckets) {
+                count += bucket;
+            }
+            long rank = Math.max(1, (long) Math.ceil(count * quantile));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return max >= 0 ? Math.min(bucketUpperBound(i), max) : bucketUpperBound(i);
+                }
+            }
+            return Math.max(0, max);
+        }
+
+        private String describe() {
+            StringBuilder text = new StringBuilder()
+                    .append("Execuções agregadas: ").append(total())
+                    .append(" (").append(passed).append(" Pass, ").append(failed).append(" Fail)<br>")
+                    .append("Tempo (ms): min ").append(min == Long.MAX_VALUE ? 0 : min)
+                    .append(" | p50 ").append(percentile(0.5))
+                    .append(" | p90 ").append(percentile(0.9))
+                    .append(" | p99 ").append(percentile(0.99))
+                    .append(" | max ").append(Math.max(0, max)).append("<br>")
+                    .append("Distribuição (ms):");
+            for (int i = 0; i < BUCKETS; i++) {
+                if (buckets[i] > 0) {
+                    long lower = i == 0 ? 0 : 1L << (i - 1);
+                    text.append(" [").append(lower).append('-').append(bucketUpperBound(i)).append("] ")
+                            .append(buckets[i]);
+                }
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package jira;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parte multipart que envia um arquivo lendo-o via {@link FileChannel} em blocos de tamanho fixo obtidos do
+ * {@link BufferPool}. Cada bloco ocupa um buffer apenas durante a sua cópia, mantendo previsível a memória usada
+ * por envios em paralelo sem limitar a quantidade de envios simultâneos.
+ */
+class FileChannelBody extends AbstractContentBody {
+
+    private final File file;
+    private final BufferPool bufferPool;
+
+    /**
+     * Construtor da parte multipart.
+     *
+     * @param file        Arquivo a ser enviado.
+     * @param contentType Tipo do conteúdo.
+     * @param bufferPool  Pool de buffers utilizado na leitura.
+     */
+    FileChannelBody(File file, ContentType contentType, BufferPool bufferPool) {
+        super(contentType);
+        this.file = file;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getName();
+    }
+
+    @Override
+    public String getTransferEncoding() {
+        return "binary";
+    }
+
+    @Override
+    public long getContentLength() {
+        return file.length();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long written = 0;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = null;
+            // O buffer é obtido a cada bloco e devolvido logo após a escrita, de forma que envios lentos não
+            // retenham memória do pool enquanto aguardam a rede
+            while (true) {
+                ByteBuffer buffer = bufferPool.acquire();
+                try {
+                    if (channel.read(buffer) == -1) {
+                        break;
+                    }
+                    buffer.flip();
+                    written += buffer.remaining();
+                    if (buffer.hasArray()) {
+                        out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                    } else {
+                        if (target == null) {
+                            target = Channels.newChannel(out);
+                        }
+                        while (buffer.hasRemaining()) {
+                            target.write(buffer);
+                        }
+                    }
+                } finally {
+                    bufferPool.release(buffer);
+                }
+            }
+            out.flush();
+        } finally {
+            ConnectorMetrics.add("evidence.upload.bytes", written);
+            ConnectorMetrics.add("evidence.upload.micros", (System.nanoTime() - start) / 1000);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Executa requisições GET idempotentes com timeout adaptativo, derivado do p99 observado em cada endpoint, e
+ * com hedging opcional: se a resposta não chegar até o p95, uma requisição duplicada é disparada e a primeira
+ * resposta bem-sucedida é utilizada. As duplicações são limitadas por um orçamento global.
+ */
+class HedgedRequests {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final int HEDGE_BURST = 2;
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "http-hedged-read");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LatencyTracker latencies = new LatencyTracker(256);
+    private final boolean hedgingEnabled;
+    private final double hedgeBudgetPercent;
+    private final boolean adaptiveTimeout;
+    private final double timeoutMultiplier;
+    private final int minTimeoutMillis;
+    private final int maxTimeoutMillis;
+    private final AtomicLong eligibleRequests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+
+    HedgedRequests(boolean hedgingEnabled, double hedgeBudgetPercent, boolean adaptiveTimeout,
+                   double timeoutMultiplier, int minTimeoutMillis, int maxTimeoutMillis) {
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeBudgetPercent = hedgeBudgetPercent;
+        this.adaptiveTimeout = adaptiveTimeout;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.minTimeoutMillis = minTimeoutMillis;
+        this.maxTimeoutMillis = maxTimeoutMillis;
+    }
+
+    /**
+     * Cria o executor a partir das propriedades {@code http.hedging.*} e {@code http.timeout.*}.
+     *
+     * @param pLoader Propriedades do framework.
+     * @return Executor de leituras configurado.
+     */
+    static HedgedRequests fromProperties(InternalPropertiesLoader pLoader) {
+        return new HedgedRequests(
+                Boolean.parseBoolean(pLoader.getValue("http.hedging.enabled")),
+                Double.parseDouble(pLoader.getValue("http.hedging.budgetPercent", "5")),
+                Boolean.parseBoolean(pLoader.getValue("http.timeout.adaptive", "false")),
+                Double.parseDouble(pLoader.getValue("http.timeout.multiplier", "2")),
+                Integer.parseInt(pLoader.getValue("http.timeout.minMillis", "2000")),
+                Integer.parseInt(pLoader.getValue("http.timeout.maxMillis", "30000")));
+    }
+
+    /**
+     * Executa a leitura no endpoint informado.
+     *
+     * @param endpoint       Nome do endpoint, utilizado para agrupar as latências.
+     * @param requestFactory Fábrica da requisição GET; uma nova instância é criada para cada tentativa.
+     * @param call           Execução da requisição e leitura da resposta.
+     * @return Resultado da primeira tentativa bem-sucedida.
+     */
+    <T> T execute(String endpoint, Supplier<HttpGet> requestFactory, Read<T> call) throws IOException {
+        if (!hedgingEnabled || latencies.samples(endpoint) < MIN_SAMPLES) {
+            return timed(endpoint, prepare(endpoint, requestFactory), call);
+        }
+
+        eligibleRequests.incrementAndGet();
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<HttpGet> attempts = new ArrayList<>(2);
+        HttpGet primary = prepare(endpoint, requestFactory);
+        attempts.add(primary);
+        completion.submit(() -> timed(endpoint, primary, call));
+
+        try {
+            int outstanding = 1;
+            Future<T> done = completion.poll(latencies.percentile(endpoint, 95), TimeUnit.MILLISECONDS);
+            if (done == null && tryAcquireHedge()) {
+                HttpGet hedge = prepare(endpoint, requestFactory);
+                attempts.add(hedge);
+                completion.submit(() -> timed(endpoint, hedge, call));
+                outstanding++;
+                ConnectorMetrics.increment("http.hedging.hedges");
+            }
+
+            ExecutionException failure = null;
+            while (outstanding > 0) {
+                if (done == null) {
+                    done = completion.take();
+                }
+                outstanding--;
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    failure = e;
+                    done = null;
+                }
+            }
+            throw unwrap(failure);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Leitura interrompida: " + endpoint);
+        } finally {
+            // Cancela a tentativa que ainda estiver em andamento
+            attempts.forEach(HttpGet::abort);
+        }
+    }
+
+    /**
+     * Executa a tentativa registrando a latência. Falhas e timeouts entram na janela com, no mínimo, o timeout
+     * aplicado, para que o timeout adaptativo cresça após uma lentidão em vez de continuar curto e falhar todas as
+     * leituras. Tentativas canceladas (a duplicada mais lenta) não são registradas.
+     */
+    private <T> T timed(String endpoint, HttpGet httpGet, Read<T> call) throws IOException {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = call.apply(httpGet);
+            success = true;
+            return result;
+        } finally {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (success) {
+                latencies.record(endpoint, elapsed);
+            } else if (!httpGet.isAborted()) {
+                RequestConfig config = httpGet.getConfig();
+                int timeout = config == null ? 0 : config.getSocketTimeout();
+                latencies.record(endpoint, Math.max(elapsed, timeout));
+                ConnectorMetrics.increment("http.read.failures");
+            }
+        }
+    }
+
+    private HttpGet prepare(String endpoint, Supplier<HttpGet> requestFactory) {
+        HttpGet httpGet = requestFactory.get();
+        if (adaptiveTimeout) {
+            int timeout = timeoutFor(endpoint);
+            httpGet.setConfig(RequestConfig.custom()
+                    .setConnectTimeout(timeout)
+                    .setConnectionRequestTimeout(timeout)
+                    .setSocketTimeout(timeout)
+                    .build());
+        }
+        return httpGet;
+    }
+
+    /**
+     * Calcula o timeout do endpoint a partir do p99 observado, limitado aos valores mínimo e máximo.
+     *
+     * @param endpoint Nome do endpoint.
+     * @return Timeout em milissegundos.
+     */
+    int timeoutFor(String endpoint) {
+        if (latencies.samples(endpoint) < MIN_SAMPLES) {
+            return maxTimeoutMillis;
+        }
+        long timeout = (long) (latencies.percentile(endpoint, 99) * timeoutMultiplier);
+        return (int) Math.max(minTimeoutMillis, Math.min(maxTimeoutMillis, timeout));
+    }
+
+    private boolean tryAcquireHedge() {
+        while (true) {
+            long issued = hedges.get();
+            if (issued + 1 > eligibleRequests.get() * hedgeBudgetPercent / 100.0 + HEDGE_BURST) {
+                ConnectorMetrics.increment("http.hedging.budgetExhausted");
+                return false;
+            }
+            if (hedges.compareAndSet(issued, issued + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static IOException unwrap(ExecutionException failure) {
+        Throwable cause = failure.getCause();
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * Execução de uma requisição GET e leitura da resposta.
+     */
+    @FunctionalInterface
+    interface Read<T> {
+        T apply(HttpGet httpGet) throws IOException;
+    }
+}
@@ -0,0 +1,36 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+
+/**
+ * Cria os clientes HTTP com pool de conexões compartilhado pelas requisições dos conectores.
+ */
+final class HttpClientFactory {
+
+    private HttpClientFactory() {
+    }
+
+    /**
+     * Cria um cliente com pool de conexões dimensionado pelas propriedades {@code http.pool.*}.
+     *
+     * @param pLoader Propriedades do framework.
+     * @return Cliente HTTP com pool de conexões.
+     */
+    static CloseableHttpClient createPooled(InternalPropertiesLoader pLoader) {
+        return pooledBuilder(pLoader).build();
+    }
+
+    /**
+     * Cria o construtor de um cliente com pool de conexões, permitindo configurações adicionais.
+     *
+     * @param pLoader Propriedades do framework.
+     * @return Construtor do cliente HTTP com pool de conexões.
+     */
+    static HttpClientBuilder pooledBuilder(InternalPropertiesLoader pLoader) {
+        return HttpClientBuilder.create()
+                .setMaxConnPerRoute(Integer.parseInt(pLoader.getValue("http.pool.maxPerRoute", "20")))
+                .setMaxConnTotal(Integer.parseInt(pLoader.getValue("http.pool.maxTotal", "50")));
+    }
+}
@@ -0,0 +1,278 @@
+package jira;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import data.InternalPropertiesLoader;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de respostas das requisições GET de leitura, com revalidação condicional via {@code ETag} e
+ * {@code Last-Modified}. Mantém uma camada em memória limitada por tamanho e, opcionalmente, uma camada em disco.
+ *
+ * <p>Quando desativado, apenas executa a requisição, consumindo a resposta para liberar a conexão. Consultas que
+ * precisam apenas do código de status ({@link #status}) não leem o corpo nesse caso.</p>
+ */
+class HttpResponseCache {
+
+    private static final Logger logger = LogManager.getLogger(HttpResponseCache.class);
+    private static final int DISK_FORMAT_VERSION = 1;
+
+    private final boolean enabled;
+    private final long freshMillis;
+    private final Path diskPath;
+    private final Cache<String, CachedResponse> memory;
+
+    /**
+     * Construtor do cache de respostas.
+     *
+     * @param enabled     Indica se as respostas devem ser armazenadas.
+     * @param maxBytes    Tamanho máximo, em bytes, dos corpos mantidos em memória.
+     * @param freshMillis Tempo durante o qual uma resposta é usada sem revalidação.
+     * @param diskPath    Diretório da camada em disco ou null para mantê-la desativada.
+     */
+    HttpResponseCache(boolean enabled, long maxBytes, long freshMillis, Path diskPath) {
+        this.enabled = enabled;
+        this.freshMillis = freshMillis;
+        this.diskPath = diskPath;
+        this.memory = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .<String, CachedResponse>weigher((url, response) -> response.body.length() * 2 + url.length())
+                .build();
+    }
+
+    /**
+     * Cria o cache a partir das propriedades {@code http.cache.*}.
+     *
+     * @param pLoader Propriedades do framework.
+     * @return Cache de respostas configurado.
+     */
+    static HttpResponseCache fromProperties(InternalPropertiesLoader pLoader) {
+        String diskPath = pLoader.getValue("http.cache.diskPath");
+        return new HttpResponseCache(
+                Boolean.parseBoolean(pLoader.getValue("http.cache.enabled")),
+                Long.parseLong(pLoader.getValue("http.cache.maxBytes", String.valueOf(16 * 1024 * 1024))),
+                TimeUnit.SECONDS.toMillis(Long.parseLong(pLoader.getValue("http.cache.freshSeconds", "0"))),
+                diskPath == null || diskPath.trim().isEmpty() ? null : Paths.get(diskPath.trim()));
+    }
+
+    /**
+     * Executa a requisição GET utilizando o cache com a chave informada, permitindo compartilhar a resposta
+     * entre URLs equivalentes (por exemplo, o mesmo caminho em nós diferentes do servidor). Respostas em cache são
+     * revalidadas com {@code If-None-Match}/{@code If-Modified-Since}; um 304 devolve o corpo armazenado.
+     *
+     * @param httpClient Cliente HTTP utilizado na requisição.
+     * @param httpGet    Requisição GET com os cabeçalhos de autenticação já definidos.
+     * @param url        Chave da resposta no cache.
+     * @return Resposta obtida do servidor ou do cache.
+     */
+    CachedResponse get(HttpClient httpClient, HttpGet httpGet, String url) throws IOException {
+        CachedResponse cached = enabled ? lookup(url) : null;
+
+        if (cached != null) {
+            if (System.currentTimeMillis() - cached.storedAt < freshMillis) {
+                ConnectorMetrics.increment("http.cache.localHits");
+                return cached;
+            }
+            if (cached.etag != null) {
+                httpGet.setHeader(HttpHeaders.IF_NONE_MATCH, cached.etag);
+            }
+            if (cached.lastModified != null) {
+                httpGet.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }
+
+        return httpClient.execute(httpGet, response -> {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+                EntityUtils.consume(response.getEntity());
+                ConnectorMetrics.increment("http.cache.revalidated");
+                CachedResponse revalidated = cached.refreshed();
+                store(url, revalidated);
+                return revalidated;
+            }
+
+            String body = response.getEntity() == null ? ""
+                    : EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+            CachedResponse fresh = new CachedResponse(statusCode, body, headerValue(response.getFirstHeader(
+                    HttpHeaders.ETAG)), headerValue(response.getFirstHeader(HttpHeaders.LAST_MODIFIED)),
+                    System.currentTimeMillis());
+
+            if (enabled) {
+                ConnectorMetrics.increment("http.cache.misses");
+                if (statusCode == HttpStatus.SC_OK && (fresh.etag != null || fresh.lastModified != null
+                        || freshMillis > 0)) {
+                    store(url, fresh);
+                }
+            }
+            return fresh;
+        });
+    }
+
+    /**
+     * Executa a requisição GET quando apenas o código de status é necessário. Com o cache ativo, a resposta é
+     * armazenada e revalidada como em {@link #get(HttpClient, HttpGet, String)}; com o cache desativado, o corpo é
+     * descartado sem ser lido.
+     *
+     * @param httpClient Cliente HTTP utilizado na requisição.
+     * @param httpGet    Requisição GET com os cabeçalhos de autenticação já definidos.
+     * @param url        Chave da resposta no cache.
+     * @return Código de status HTTP da resposta.
+     */
+    int status(HttpClient httpClient, HttpGet httpGet, String url) throws IOException {
+        if (!enabled) {
+            return httpClient.execute(httpGet, ResponseHandlers.statusOnly());
+        }
+        return get(httpClient, httpGet, url).getStatusCode();
+    }
+
+    /**
+     * Descarta a resposta armazenada de uma URL.
+     *
+     * @param url URL da requisição.
+     */
+    void invalidate(String url) {
+        memory.invalidate(url);
+        if (diskPath != null) {
+            try {
+                Files.deleteIfExists(diskFile(url));
+            } catch (IOException e) {
+                logger.warn("Não foi possível remover a resposta em cache de '{}'", url, e);
+            }
+        }
+    }
+
+    private CachedResponse lookup(String url) {
+        CachedResponse cached = memory.getIfPresent(url);
+        if (cached == null && diskPath != null) {
+            cached = readFromDisk(url);
+            if (cached != null) {
+                memory.put(url, cached);
+            }
+        }
+        return cached;
+    }
+
+    private void store(String url, CachedResponse response) {
+        memory.put(url, response);
+        if (diskPath != null) {
+            writeToDisk(url, response);
+        }
+    }
+
+    private Path diskFile(String url) {
+        return diskPath.resolve(Hashing.sha256().hashString(url, StandardCharsets.UTF_8) + ".bin");
+    }
+
+    private CachedResponse readFromDisk(String url) {
+        Path file = diskFile(url);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != DISK_FORMAT_VERSION || !url.equals(in.readUTF())) {
+                return null;
+            }
+            int statusCode = in.readInt();
+            String etag = readNullable(in);
+            String lastModified = readNullable(in);
+            long storedAt = in.readLong();
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new CachedResponse(statusCode, new String(body, StandardCharsets.UTF_8), etag, lastModified,
+                    storedAt);
+        } catch (IOException e) {
+            logger.warn("Resposta em cache inválida em '{}'. Será descartada.", file, e);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String url, CachedResponse response) {
+        Path file = diskFile(url);
+        try {
+            Files.createDirectories(diskPath);
+            Path temp = Files.createTempFile(diskPath, "response", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(DISK_FORMAT_VERSION);
+                out.writeUTF(url);
+                out.writeInt(response.statusCode);
+                writeNullable(out, response.etag);
+                writeNullable(out, response.lastModified);
+                out.writeLong(response.storedAt);
+                out.writeInt(body.length);
+                out.write(body);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Não foi possível gravar a resposta em cache de '{}'", url, e);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String headerValue(Header header) {
+        return header == null ? null : header.getValue();
+    }
+
+    /**
+     * Resposta de uma requisição GET, obtida do servidor ou do cache.
+     */
+    static class CachedResponse {
+
+        private final int statusCode;
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+        private final long storedAt;
+
+        CachedResponse(int statusCode, String body, String etag, String lastModified, long storedAt) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.storedAt = storedAt;
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        private CachedResponse refreshed() {
+            return new CachedResponse(statusCode, body, etag, lastModified, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package jira;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hashing;
+import data.InternalPropertiesLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evita reenviar execuções do Zephyr e comentários do Jira já confirmados em uma tentativa anterior da mesma
+ * execução de CI. Cada operação é identificada por (execução, cenário, chave de destino, operação, ocorrência) e o
+ * hash de 64 bits da identificação é gravado em um arquivo local assim que o servidor confirma a operação.
+ *
+ * <p>A ocorrência é a ordem da operação entre as operações com a mesma identificação na tentativa atual, de forma
+ * que operações repetidas legitimamente (ex.: o mesmo cenário executado duas vezes) sejam todas enviadas, e apenas
+ * as já confirmadas na tentativa anterior sejam ignoradas. As confirmações da tentativa atual são gravadas no
+ * arquivo, mas não são consultadas até a próxima tentativa. Operações sem cenário identificado não são
+ * controladas.</p>
+ *
+ * <p>A consulta passa primeiro por um filtro de Bloom, que descarta rapidamente operações nunca vistas, e depois
+ * pelo conjunto exato de hashes.</p>
+ */
+public class IdempotencyGuard {
+
+    private static final Logger logger = LogManager.getLogger(IdempotencyGuard.class);
+    private static final InternalPropertiesLoader pLoader = new InternalPropertiesLoader("configuration_core.properties");
+
+    private final String runId;
+    private final Set<Long> previous = ConcurrentHashMap.newKeySet();
+    private final Map<Long, AtomicInteger> occurrences = new ConcurrentHashMap<>();
+    private BloomFilter<Long> filter;
+    private DataOutputStream journal;
+
+    private IdempotencyGuard() {
+        this(Boolean.parseBoolean(pLoader.getValue("idempotency.enabled"))
+                        ? pLoader.getValue("idempotency.runId", System.getenv("BUILD_TAG")) : null,
+                Paths.get(pLoader.getValue("idempotency.path", "target/idempotency")),
+                Integer.parseInt(pLoader.getValue("idempotency.expectedOperations", "100000")));
+    }
+
+    /**
+     * Construtor do controle de idempotência.
+     *
+     * @param runId              Identificador da execução de CI ou null para desativar o controle.
+     * @param directory          Pasta dos registros de operações confirmadas.
+     * @param expectedOperations Quantidade esperada de operações, utilizada no dimensionamento do filtro.
+     */
+    IdempotencyGuard(String runId, Path directory, int expectedOperations) {
+        this.runId = runId;
+        if (Strings.isNullOrEmpty(runId)) {
+            return;
+        }
+
+        Path file = directory.resolve(
+                Hashing.sha256().hashString(runId, StandardCharsets.UTF_8).toString().substring(0, 16) + ".bin");
+        this.filter = BloomFilter.create(Funnels.longFunnel(), expectedOperations, 0.01);
+        load(file);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.journal = new DataOutputStream(new FileOutputStream(file.toFile(), true));
+            logger.info("Controle de idempotência ativo para a execução '{}' ({} operações já confirmadas).", runId,
+                    previous.size());
+        } catch (IOException e) {
+            logger.warn("Não foi possível abrir o registro de idempotência '{}'. As operações não serão gravadas.",
+                    file, e);
+        }
+    }
+
+    /**
+     * Obtém a única instância de IdempotencyGuard.
+     *
+     * @return Instância de IdempotencyGuard.
+     */
+    public static IdempotencyGuard getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Cria a instância única apenas no primeiro uso, e não na carga da classe, para que os registros de outras
+     * tentativas possam ser gravados antes dela (ex.: nos testes).
+     */
+    private static final class Holder {
+        private static final IdempotencyGuard INSTANCE = new IdempotencyGuard();
+    }
+
+    /**
+     * Verifica se o controle está ativo (habilitado e com identificador de execução).
+     *
+     * @return true se o controle estiver ativo.
+     */
+    public boolean isActive() {
+        return filter != null;
+    }
+
+    /**
+     * Registra o início de uma operação na tentativa atual, atribuindo-lhe a próxima ocorrência da identificação.
+     *
+     * @param scenario  Identificação do cenário ou null quando não houver (a operação não é controlada).
+     * @param target    Chave de destino (tarefa ou caso de teste).
+     * @param operation Nome da operação.
+     * @return Operação a ser consultada e confirmada.
+     */
+    public Ticket open(String scenario, String target, String operation) {
+        if (!isActive() || Strings.isNullOrEmpty(scenario)) {
+            return Ticket.UNTRACKED;
+        }
+        long identity = identity(scenario, target, operation);
+        int occurrence = occurrences.computeIfAbsent(identity, k -> new AtomicInteger()).getAndIncrement();
+        return new Ticket(this, Hashing.murmur3_128().newHasher()
+                .putLong(identity).putInt(occurrence).hash().asLong(), target, operation);
+    }
+
+    private boolean isAcknowledged(Ticket ticket) {
+        boolean skipped = filter.mightContain(ticket.key) && previous.contains(ticket.key);
+        if (skipped) {
+            ConnectorMetrics.increment("idempotency.skipped");
+        }
+        return skipped;
+    }
+
+    private synchronized void acknowledge(Ticket ticket) {
+        if (journal != null) {
+            try {
+                journal.writeLong(ticket.key);
+                journal.flush();
+            } catch (IOException e) {
+                logger.warn("Não foi possível registrar a operação {} de {}", ticket.operation, ticket.target, e);
+            }
+        }
+    }
+
+    private long identity(String scenario, String target, String operation) {
+        return Hashing.murmur3_128().newHasher()
+                .putString(runId, StandardCharsets.UTF_8).putChar('\u0000')
+                .putString(scenario, StandardCharsets.UTF_8).putChar('\u0000')
+                .putString(Strings.nullToEmpty(target), StandardCharsets.UTF_8).putChar('\u0000')
+                .putString(operation, StandardCharsets.UTF_8)
+                .hash().asLong();
+    }
+
+    private void load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                long key = in.readLong();
+                previous.add(key);
+                filter.put(key);
+            }
+        } catch (EOFException e) {
+            // Fim do registro
+        } catch (IOException e) {
+            logger.warn("Falha ao ler o registro de idempotência '{}'", file, e);
+        }
+
+        // Descarta um último valor gravado pela metade, mantendo o alinhamento dos próximos registros
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size % Long.BYTES != 0) {
+                channel.truncate(size - size % Long.BYTES);
+            }
+        } catch (IOException e) {
+            logger.warn("Falha ao ajustar o registro de idempotência '{}'", file, e);
+        }
+    }
+
+    /**
+     * Ocorrência de uma operação na tentativa atual.
+     */
+    public static final class Ticket {
+
+        private static final Ticket UNTRACKED = new Ticket(null, 0, null, null);
+
+        private final IdempotencyGuard guard;
+        private final long key;
+        private final String target;
+        private final String operation;
+        private final AtomicBoolean acknowledged = new AtomicBoolean();
+
+        private Ticket(IdempotencyGuard guard, long key, String target, String operation) {
+            this.guard = guard;
+            this.key = key;
+            this.target = target;
+            this.operation = operation;
+        }
+
+        /**
+         * Obtém o ticket de uma operação não controlada, cuja confirmação é ignorada.
+         *
+         * @return Ticket não controlado.
+         */
+        static Ticket untracked() {
+            return UNTRACKED;
+        }
+
+        /**
+         * Verifica se esta ocorrência da operação já foi confirmada em uma tentativa anterior.
+         *
+         * @return true se a operação já foi confirmada e deve ser ignorada.
+         */
+        public boolean isAcknowledged() {
+            return guard != null && guard.isAcknowledged(this);
+        }
+
+        /**
+         * Registra esta ocorrência da operação como confirmada pelo servidor.
+         */
+        public void acknowledge() {
+            if (guard != null && acknowledged.compareAndSet(false, true)) {
+                guard.acknowledge(this);
+            }
+        }
+    }
+}
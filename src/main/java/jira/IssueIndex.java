@@ -0,0 +1,274 @@
+package jira;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice local e persistente das tarefas de um projeto do Jira (chave, id, tipo, status, etiquetas e data de
+ * atualização), gravado em formato binário compacto e carregado via mapeamento de memória.
+ *
+ * <p>Formato: {@code int magic, int version, long lastSync, long lastFullSync, int count} seguido de {@code count}
+ * registros
+ * {@code key, long id, issueType, status, short labelCount, labels..., long updated}, com textos gravados como
+ * {@code short length + bytes UTF-8}.</p>
+ */
+class IssueIndex {
+
+    private static final Logger logger = LogManager.getLogger(IssueIndex.class);
+    private static final int MAGIC = 0x4A495831;
+    private static final int VERSION = 3;
+
+    private final String projectKey;
+    private final Path file;
+    private final Map<String, IssueEntry> entries = new ConcurrentHashMap<>();
+    private volatile long lastSync;
+    private volatile long lastFullSync;
+    private volatile long lastCompletedSync;
+
+    /**
+     * Construtor do índice.
+     *
+     * @param projectKey Chave do projeto no Jira.
+     * @param file       Arquivo onde o índice é persistido.
+     */
+    IssueIndex(String projectKey, Path file) {
+        this.projectKey = projectKey;
+        this.file = file;
+    }
+
+    /**
+     * Carrega o índice do disco, caso exista. Um arquivo inválido é descartado e o índice é reconstruído na
+     * próxima sincronização.
+     */
+    void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.warn("Índice local de tarefas '{}' em formato desconhecido. Será reconstruído.", file);
+                return;
+            }
+
+            long syncedAt = buffer.getLong();
+            long fullSyncedAt = buffer.getLong();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String key = readString(buffer);
+                long id = buffer.getLong();
+                String issueType = readString(buffer);
+                String status = readString(buffer);
+                int labelCount = buffer.getShort();
+                List<String> labels = new ArrayList<>(labelCount);
+                for (int l = 0; l < labelCount; l++) {
+                    labels.add(readString(buffer));
+                }
+                entries.put(key, new IssueEntry(key, id, issueType, status, labels, buffer.getLong()));
+            }
+            lastSync = syncedAt;
+            lastFullSync = fullSyncedAt;
+            logger.info("Índice local do projeto {} carregado com {} tarefas.", projectKey, count);
+        } catch (IOException | RuntimeException e) {
+            entries.clear();
+            logger.warn("Falha ao carregar o índice local de tarefas '{}'. Será reconstruído.", file, e);
+        }
+    }
+
+    /**
+     * Grava o índice no disco de forma atômica.
+     */
+    synchronized void save() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (OutputStream stream = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            List<IssueEntry> snapshot = new ArrayList<>(entries.values());
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastSync);
+            out.writeLong(lastFullSync);
+            out.writeInt(snapshot.size());
+            for (IssueEntry entry : snapshot) {
+                writeString(out, entry.key);
+                out.writeLong(entry.id);
+                writeString(out, entry.issueType);
+                writeString(out, entry.status);
+                out.writeShort(entry.labels.size());
+                for (String label : entry.labels) {
+                    writeString(out, label);
+                }
+                out.writeLong(entry.updated);
+            }
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Inclui ou substitui uma tarefa no índice.
+     *
+     * @param entry Tarefa a ser indexada.
+     */
+    void put(IssueEntry entry) {
+        entries.put(entry.key, entry);
+    }
+
+    /**
+     * Remove do índice as tarefas que não foram retornadas por uma sincronização completa (excluídas ou movidas
+     * para outro projeto).
+     *
+     * @param seenKeys Chaves retornadas pela sincronização completa.
+     * @return Quantidade de tarefas removidas.
+     */
+    int retainOnly(Set<String> seenKeys) {
+        int before = entries.size();
+        entries.keySet().retainAll(seenKeys);
+        return before - entries.size();
+    }
+
+    /**
+     * Obtém uma tarefa do índice.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @return Tarefa indexada ou null se não encontrada.
+     */
+    IssueEntry get(String taskKey) {
+        return entries.get(taskKey);
+    }
+
+    /**
+     * Verifica se o índice já foi sincronizado ao menos uma vez.
+     *
+     * @return true se o índice possuir dados sincronizados.
+     */
+    boolean isSynced() {
+        return lastSync > 0;
+    }
+
+    long getLastSync() {
+        return lastSync;
+    }
+
+    /**
+     * Verifica se o intervalo mínimo desde a última sincronização concluída com sucesso neste processo já passou.
+     * Sincronizações que falharam não contam, de forma que a próxima consulta tenta novamente.
+     *
+     * @param minIntervalMillis Intervalo mínimo entre sincronizações.
+     * @return true se a sincronização deve ser executada.
+     */
+    boolean needsSync(long minIntervalMillis) {
+        return System.currentTimeMillis() - lastCompletedSync >= minIntervalMillis;
+    }
+
+    /**
+     * Verifica se a sincronização deve ser completa, ou seja, consultar todas as tarefas do projeto para remover
+     * as que não existem mais.
+     *
+     * @param fullIntervalMillis Intervalo entre sincronizações completas.
+     * @return true se o índice nunca foi sincronizado por completo ou se o intervalo já passou.
+     */
+    boolean needsFullSync(long fullIntervalMillis) {
+        return lastFullSync == 0 || System.currentTimeMillis() - lastFullSync >= fullIntervalMillis;
+    }
+
+    /**
+     * Registra uma sincronização concluída com sucesso.
+     *
+     * @param syncStartedAt Momento em que a sincronização foi iniciada.
+     * @param full          true se todas as tarefas do projeto foram consultadas.
+     */
+    void completeSync(long syncStartedAt, boolean full) {
+        this.lastSync = syncStartedAt;
+        if (full) {
+            this.lastFullSync = syncStartedAt;
+        }
+        this.lastCompletedSync = System.currentTimeMillis();
+    }
+
+    String getProjectKey() {
+        return projectKey;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Tarefa indexada.
+     */
+    static class IssueEntry {
+
+        private final String key;
+        private final long id;
+        private final String issueType;
+        private final String status;
+        private final List<String> labels;
+        private final long updated;
+
+        IssueEntry(String key, long id, String issueType, String status, List<String> labels, long updated) {
+            this.key = key;
+            this.id = id;
+            this.issueType = issueType;
+            this.status = status;
+            this.labels = Collections.unmodifiableList(labels);
+            this.updated = updated;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        String getIssueType() {
+            return issueType;
+        }
+
+        String getStatus() {
+            return status;
+        }
+
+        List<String> getLabels() {
+            return labels;
+        }
+
+        long getUpdated() {
+            return updated;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package jira;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa as consultas de tarefas feitas ao mesmo tempo por diferentes threads em uma única busca. As chaves
+ * solicitadas são acumuladas durante uma janela curta, ou até atingir a quantidade máxima, e consultadas de uma
+ * só vez; cada chamador recebe o resultado da sua chave a partir da resposta compartilhada.
+ */
+class IssueLookupBatcher {
+
+    private static final Logger logger = LogManager.getLogger(IssueLookupBatcher.class);
+
+    private final long windowMillis;
+    private final int maxKeys;
+    private final Loader loader;
+    private final ScheduledExecutorService executor;
+    private Map<String, CompletableFuture<Boolean>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledDispatch;
+
+    /**
+     * Construtor do agrupamento.
+     *
+     * @param windowMillis Tempo máximo de espera por outras chaves antes da consulta.
+     * @param maxKeys      Quantidade de chaves que dispara a consulta imediatamente.
+     * @param threads      Quantidade de consultas em andamento ao mesmo tempo.
+     * @param loader       Consulta das chaves agrupadas.
+     */
+    IssueLookupBatcher(long windowMillis, int maxKeys, int threads, Loader loader) {
+        this.windowMillis = windowMillis;
+        this.maxKeys = Math.max(1, maxKeys);
+        this.loader = loader;
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "jira-issue-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Solicita a verificação de uma tarefa. Solicitações da mesma chave na mesma janela compartilham a consulta.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @return Resultado futuro: true se a tarefa existir.
+     */
+    CompletableFuture<Boolean> exists(String taskKey) {
+        Map<String, CompletableFuture<Boolean>> batch = null;
+        CompletableFuture<Boolean> future;
+        synchronized (this) {
+            future = pending.computeIfAbsent(taskKey, key -> new CompletableFuture<>());
+            if (pending.size() >= maxKeys) {
+                batch = takePending();
+            } else if (scheduledDispatch == null) {
+                scheduledDispatch = executor.schedule(this::dispatchPending, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (batch != null) {
+            Map<String, CompletableFuture<Boolean>> full = batch;
+            executor.execute(() -> load(full));
+        }
+        return future;
+    }
+
+    private void dispatchPending() {
+        Map<String, CompletableFuture<Boolean>> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        load(batch);
+    }
+
+    private Map<String, CompletableFuture<Boolean>> takePending() {
+        Map<String, CompletableFuture<Boolean>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledDispatch != null) {
+            scheduledDispatch.cancel(false);
+            scheduledDispatch = null;
+        }
+        return batch;
+    }
+
+    private void load(Map<String, CompletableFuture<Boolean>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<String> found = loader.load(batch.keySet());
+            ConnectorMetrics.increment("jira.lookup.batches");
+            ConnectorMetrics.add("jira.lookup.keys", batch.size());
+            batch.forEach((key, future) -> future.complete(found.contains(key)));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Erro durante a consulta agrupada de {} tarefas no Jira", batch.size(), e);
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Consulta de um grupo de chaves.
+     */
+    @FunctionalInterface
+    interface Loader {
+
+        /**
+         * Consulta as chaves informadas.
+         *
+         * @param taskKeys Chaves das tarefas.
+         * @return Chaves das tarefas existentes.
+         */
+        Set<String> load(Collection<String> taskKeys) throws IOException;
+    }
+}
@@ -1,50 +1,95 @@
 package jira;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 
 
 import data.InternalPropertiesLoader;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpRequest;
-import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.entity.mime.content.AbstractContentBody;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class JiraConnector {
 
     private static final Logger logger = LogManager.getLogger(JiraConnector.class);
-    private boolean isActive;
-    private String jiraBaseUrl;
+    private static final int INDEX_PAGE_SIZE = 100;
+    private static final String OPERATION_COMMENT = "jira.comment";
+    private static final String METRIC_UPDATE_REQUESTS = "jira.update.diff.requests";
+    private static final String METRIC_UPDATE_SKIPPED = "jira.update.diff.skipped";
+    private static final String METRIC_UPDATE_CACHE_HITS = "jira.update.diff.cacheHits";
+    private static final String METRIC_UPDATE_FIELDS_SENT = "jira.update.diff.fieldsSent";
+    private static final String METRIC_UPDATE_FIELDS_SKIPPED = "jira.update.diff.fieldsSkipped";
+    private static final DateTimeFormatter JQL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+    private static final DateTimeFormatter JIRA_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private volatile boolean isActive;
+    private List<String> jiraBaseUrls = new ArrayList<>();
+    private JiraNodeBalancer nodeBalancer;
     private String username;
     private String jiraKey;
+    private CommentCoalescer commentCoalescer;
+    private TransitionResolver transitionResolver;
+    private boolean issueIndexEnabled;
+    private Cache<String, JsonObject> issueFieldsCache;
+    private HttpResponseCache responseCache;
+    private HedgedRequests hedgedRequests;
+    private BufferPool uploadBuffers;
+    private EvidenceImageProcessor imageProcessor;
+    private IssueLookupBatcher issueLookupBatcher;
+    private final Map<String, IssueIndex> issueIndexes = new ConcurrentHashMap<>();
     private static InternalPropertiesLoader pLoader = new InternalPropertiesLoader("configuration_core.properties");
 
     private static final JiraConnector instance = new JiraConnector();
 
     private JiraConnector() {
         initializeFromProperties();
+        if (isActive && Boolean.parseBoolean(pLoader.getValue("jira.connector.warmup.enabled"))
+                && !ReportingDaemonClient.getInstance().isEnabled()) {
+            for (JiraNodeBalancer.Node node : nodeBalancer.getNodes()) {
+                new ConnectionWarmup("Jira", node.getHttpClient(),
+                        () -> newAuthorizedGet(node.getBaseUrl() + "/rest/api/2/myself"),
+                        Integer.parseInt(pLoader.getValue("jira.connector.warmup.connections", "4")),
+                        () -> this.isActive = false).start();
+            }
+        }
     }
 
     private void initializeFromProperties() {
@@ -52,7 +97,15 @@ public class JiraConnector {
             this.isActive = Boolean.parseBoolean(pLoader.getValue("jira.connector.isActive"));
 
             if (isActive) {
-                this.jiraBaseUrl = pLoader.getValue("jira.connector.baseUrl");
+                // Em ambientes Data Center, informe os nós em jira.connector.baseUrls separados por vírgula
+                String baseUrls = pLoader.getValue("jira.connector.baseUrls", pLoader.getValue("jira.connector.baseUrl"));
+                if (baseUrls != null) {
+                    for (String baseUrl : baseUrls.split(",")) {
+                        if (!baseUrl.trim().isEmpty()) {
+                            this.jiraBaseUrls.add(baseUrl.trim().replaceAll("/+$", ""));
+                        }
+                    }
+                }
                 this.username = pLoader.getValue("jira.connector.username");
                 this.jiraKey = pLoader.getValue("jira.connector.jiraKey");
 
@@ -63,12 +116,53 @@ public class JiraConnector {
                     logger.info("Conexão com o Jira foi ativada");
                 }
 
-                if (Strings.isNullOrEmpty(this.jiraBaseUrl) || Strings.isNullOrEmpty(this.username)
+                if (this.jiraBaseUrls.isEmpty() || Strings.isNullOrEmpty(this.username)
                         || Strings.isNullOrEmpty(this.jiraKey)) {
                     this.isActive = false;
                     logger.warn(
                             "Configurações incompletas para conexão com o Jira. Algumas propriedades estão ausentes ou vazias.");
                 }
+
+                this.nodeBalancer = new JiraNodeBalancer(this.jiraBaseUrls, pLoader);
+                if (this.jiraBaseUrls.size() > 1) {
+                    logger.info("Requisições ao Jira distribuídas entre {} nós.", this.jiraBaseUrls.size());
+                }
+                this.responseCache = HttpResponseCache.fromProperties(pLoader);
+                this.hedgedRequests = HedgedRequests.fromProperties(pLoader);
+                this.uploadBuffers = BufferPool.fromProperties(pLoader);
+                this.imageProcessor = EvidenceImageProcessor.fromProperties(pLoader);
+                if (this.imageProcessor != null
+                        && !Boolean.parseBoolean(pLoader.getValue("evidence.bundle.enabled"))) {
+                    logger.warn("evidence.images.enabled só tem efeito com evidence.bundle.enabled=true.");
+                }
+                this.transitionResolver = new TransitionResolver(
+                        Long.parseLong(pLoader.getValue("jira.connector.transitions.cacheSize", "500")));
+
+                this.issueIndexEnabled = Boolean.parseBoolean(pLoader.getValue("jira.connector.index.enabled"));
+
+                if (Boolean.parseBoolean(pLoader.getValue("jira.connector.lookup.batch.enabled"))) {
+                    this.issueLookupBatcher = new IssueLookupBatcher(
+                            Long.parseLong(pLoader.getValue("jira.connector.lookup.batch.windowMillis", "5")),
+                            Integer.parseInt(pLoader.getValue("jira.connector.lookup.batch.maxKeys", "50")),
+                            Integer.parseInt(pLoader.getValue("jira.connector.lookup.batch.threads", "2")),
+                            this::findExistingTasks);
+                }
+
+                if (Boolean.parseBoolean(pLoader.getValue("jira.connector.update.diffMode"))) {
+                    this.issueFieldsCache = CacheBuilder.newBuilder()
+                            .maximumSize(Long.parseLong(pLoader.getValue("jira.connector.update.cacheSize", "500")))
+                            .expireAfterWrite(Long.parseLong(
+                                    pLoader.getValue("jira.connector.update.cacheTtlSeconds", "600")), TimeUnit.SECONDS)
+                            .build();
+                    ConnectorMetrics.registerRatio("jira.update.diff.skipRatio", METRIC_UPDATE_SKIPPED,
+                            METRIC_UPDATE_REQUESTS);
+                    ConnectorMetrics.registerRatio("jira.update.diff.cacheHitRatio", METRIC_UPDATE_CACHE_HITS,
+                            METRIC_UPDATE_REQUESTS);
+                }
+
+                if (Boolean.parseBoolean(pLoader.getValue("jira.connector.comments.coalesce.enabled"))) {
+                    initializeCommentCoalescer();
+                }
             } else {
                 logger.warn("Conexão com o Jira não está ativa");
             }
@@ -78,6 +172,19 @@ public class JiraConnector {
         }
     }
 
+    /**
+     * Inicializa o agrupamento de comentários por tarefa e garante o envio dos pendentes no encerramento.
+     */
+    private void initializeCommentCoalescer() {
+        long windowMillis = Long.parseLong(pLoader.getValue("jira.connector.comments.coalesce.windowMillis", "5000"));
+        int maxComments = Integer.parseInt(pLoader.getValue("jira.connector.comments.coalesce.maxComments", "20"));
+        int maxChars = Integer.parseInt(pLoader.getValue("jira.connector.comments.coalesce.maxChars", "30000"));
+
+        this.commentCoalescer = new CommentCoalescer(windowMillis, maxComments, maxChars, this::addComment);
+        Runtime.getRuntime().addShutdownHook(new Thread(commentCoalescer::shutdown, "jira-comment-flush"));
+        logger.info("Agrupamento de comentários do Jira ativado (janela de {} ms).", windowMillis);
+    }
+
     /**
      * Obtém a única instância de jira.JiraConnector.
      *
@@ -103,23 +210,25 @@ public class JiraConnector {
      * @return true se o projeto for válido, false caso contrário.
      */
     public boolean validateProject(String projectKey) {
+        if (isActive() && issueIndexEnabled && getIssueIndex(projectKey).size() > 0) {
+            logger.info("Projeto no Jira validado com sucesso (índice local): {}", projectKey);
+            return true;
+        }
+
         if (isActive()) {
             try {
-                String jiraApiUrl = this.jiraBaseUrl + "/rest/api/2/project";
+                String jiraApiUrl = "/rest/api/2/project";
                 validateUrl(jiraApiUrl);
 
-                HttpClient httpClient = HttpClientBuilder.create().build();
-                HttpGet httpGet = new HttpGet(jiraApiUrl);
-                setBasicAuthHeader(httpGet);
-
-                HttpResponse response = httpClient.execute(httpGet);
+                int statusCode = hedgedRequests.execute("jira.project",
+                        () -> newAuthorizedGet(jiraApiUrl), httpGet -> executeOnNode(httpGet,
+                                httpClient -> responseCache.status(httpClient, httpGet, jiraApiUrl)));
 
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+                if (statusCode == HttpStatus.SC_OK) {
                     logger.info("Projeto no Jira validado com sucesso: {}", projectKey);
                     return true;
                 } else {
-                    logger.error("Falha ao validar o projeto. Código de status: {}",
-                            response.getStatusLine().getStatusCode());
+                    logger.error("Falha ao validar o projeto. Código de status: {}", statusCode);
                 }
             } catch (IOException | URISyntaxException e) {
                 logger.error("Erro ao validar o projeto no Jira", e);
@@ -135,22 +244,22 @@ public class JiraConnector {
      * @param projectKey Chave do projeto no Jira.
      */
     public void searchTasks(String projectKey) {
-        if (isActive()) {
+        if (isActive() && issueIndexEnabled) {
+            syncIssueIndex(projectKey);
+        } else if (isActive()) {
             try {
-                String jiraApiUrl = this.jiraBaseUrl + "/rest/api/latest/search?jql=project=" + projectKey;
+                String jiraApiUrl = "/rest/api/latest/search?jql=project=" + projectKey;
                 validateUrl(jiraApiUrl);
 
-                HttpClient httpClient = HttpClientBuilder.create().build();
                 HttpGet httpGet = new HttpGet(jiraApiUrl);
                 setBasicAuthHeader(httpGet);
 
-                HttpResponse response = httpClient.execute(httpGet);
-
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+                int statusCode = executeOnNode(httpGet,
+                        httpClient -> httpClient.execute(httpGet, ResponseHandlers.statusOnly()));
+                if (statusCode == HttpStatus.SC_OK) {
                     logger.info("Consulta de tarefas do projeto {} realizada com sucesso.", projectKey);
                 } else {
-                    logger.error("Falha na consulta das tarefas do projeto. Código de status: "
-                            + response.getStatusLine().getStatusCode());
+                    logger.error("Falha na consulta das tarefas do projeto. Código de status: " + statusCode);
                 }
             } catch (IOException | URISyntaxException e) {
                 logger.error("Erro durante a consulta das tarefas do projeto", e);
@@ -159,29 +268,188 @@ public class JiraConnector {
     }
 
     /**
-     * Valida se a tarefa no Jira é válida.
+     * Sincroniza o índice local de tarefas do projeto, consultando apenas as tarefas atualizadas desde a
+     * última sincronização. Sincronizações feitas dentro do intervalo mínimo configurado são ignoradas. A cada
+     * {@code jira.connector.index.fullSyncHours} todas as tarefas são consultadas e as que não existem mais
+     * (excluídas ou movidas) são removidas do índice.
+     *
+     * @param projectKey Chave do projeto no Jira.
+     */
+    public void syncIssueIndex(String projectKey) {
+        if (!isActive() || !issueIndexEnabled) {
+            return;
+        }
+
+        IssueIndex index = getIssueIndex(projectKey);
+        long minInterval = TimeUnit.SECONDS.toMillis(
+                Long.parseLong(pLoader.getValue("jira.connector.index.syncIntervalSeconds", "300")));
+        if (!index.needsSync(minInterval)) {
+            return;
+        }
+
+        synchronized (index) {
+            // Outra thread pode ter concluído a sincronização enquanto esta aguardava
+            if (!index.needsSync(minInterval)) {
+                return;
+            }
+
+            long syncStartedAt = System.currentTimeMillis();
+            boolean full = !index.isSynced() || index.needsFullSync(TimeUnit.HOURS.toMillis(
+                    Long.parseLong(pLoader.getValue("jira.connector.index.fullSyncHours", "24"))));
+            String jql = "project = \"" + projectKey + "\"";
+            if (!full) {
+                // Margem de um dia para cobrir diferenças de fuso horário entre a máquina e o usuário do Jira
+                LocalDateTime since = LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(index.getLastSync() - TimeUnit.DAYS.toMillis(1)), ZoneId.systemDefault());
+                jql += " AND updated >= \"" + JQL_DATE_FORMAT.format(since) + "\"";
+            }
+            // Ordenação estável: sem ela a paginação pode repetir ou pular tarefas
+            jql += " ORDER BY key ASC";
+
+            try {
+                Set<String> seenKeys = full ? new HashSet<>() : null;
+                int startAt = 0;
+                int total;
+                int fetched;
+                int updated = 0;
+                do {
+                    URI uri = new URIBuilder("/rest/api/2/search")
+                            .addParameter("jql", jql)
+                            .addParameter("fields", "issuetype,status,labels,updated")
+                            .addParameter("startAt", String.valueOf(startAt))
+                            .addParameter("maxResults", String.valueOf(INDEX_PAGE_SIZE))
+                            .build();
+                    HttpGet httpGet = new HttpGet(uri);
+                    setBasicAuthHeader(httpGet);
+
+                    // As tarefas são incluídas no índice à medida que a página é lida
+                    SearchPage page = executeOnNode(httpGet, false, httpClient -> httpClient.execute(httpGet,
+                            ResponseHandlers.stream((statusCode, reader) ->
+                                    readSearchPage(statusCode, reader, index, seenKeys))));
+                    if (page.statusCode != HttpStatus.SC_OK) {
+                        logger.error("Falha na sincronização do índice do projeto {}. Código de status: {}",
+                                projectKey, page.statusCode);
+                        return;
+                    }
+
+                    fetched = page.fetched;
+                    updated += fetched;
+                    startAt += fetched;
+                    total = page.total;
+                } while (fetched > 0 && startAt < total);
+
+                int removed = full ? index.retainOnly(seenKeys) : 0;
+                index.completeSync(syncStartedAt, full);
+                index.save();
+                logger.info("Índice local do projeto {} sincronizado{}: {} tarefas atualizadas, {} removidas, "
+                        + "{} no total.", projectKey, full ? " por completo" : "", updated, removed, index.size());
+            } catch (IOException | URISyntaxException | RuntimeException e) {
+                logger.error("Erro durante a sincronização do índice local do projeto {}", projectKey, e);
+            }
+        }
+    }
+
+    /**
+     * Lê uma página da busca, incluindo as tarefas no índice sem carregar a página inteira em memória.
+     */
+    private static SearchPage readSearchPage(int statusCode, JsonReader reader, IssueIndex index,
+                                             Set<String> seenKeys) throws IOException {
+        SearchPage page = new SearchPage(statusCode);
+        if (statusCode != HttpStatus.SC_OK || reader == null) {
+            return page;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "total":
+                    page.total = reader.nextInt();
+                    break;
+                case "issues":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        IssueIndex.IssueEntry entry = toIndexEntry(JsonParser.parseReader(reader).getAsJsonObject());
+                        index.put(entry);
+                        if (seenKeys != null) {
+                            seenKeys.add(entry.getKey());
+                        }
+                        page.fetched++;
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return page;
+    }
+
+    /**
+     * Obtém o índice local do projeto, carregando-o do disco no primeiro acesso.
+     *
+     * @param projectKey Chave do projeto no Jira.
+     * @return Índice do projeto.
+     */
+    private IssueIndex getIssueIndex(String projectKey) {
+        return issueIndexes.computeIfAbsent(projectKey, key -> {
+            Path path = Paths.get(pLoader.getValue("jira.connector.index.path", "target/jira-index"), key + ".idx");
+            IssueIndex index = new IssueIndex(key, path);
+            index.load();
+            return index;
+        });
+    }
+
+    private static IssueIndex.IssueEntry toIndexEntry(JsonObject issue) {
+        JsonObject fields = issue.getAsJsonObject("fields");
+        List<String> labels = new ArrayList<>();
+        if (fields.has("labels") && fields.get("labels").isJsonArray()) {
+            for (JsonElement label : fields.getAsJsonArray("labels")) {
+                labels.add(label.getAsString());
+            }
+        }
+        long updated = fields.has("updated") && !fields.get("updated").isJsonNull()
+                ? OffsetDateTime.parse(fields.get("updated").getAsString(), JIRA_DATE_FORMAT).toInstant().toEpochMilli()
+                : 0L;
+        return new IssueIndex.IssueEntry(issue.get("key").getAsString(), issue.get("id").getAsLong(),
+                fields.getAsJsonObject("issuetype").get("name").getAsString(),
+                fields.getAsJsonObject("status").get("name").getAsString(), labels, updated);
+    }
+
+    /**
+     * Valida se a tarefa no Jira é válida. Com o agrupamento de consultas ativo, validações simultâneas de
+     * diferentes threads são resolvidas por uma única busca.
      *
      * @param taskKey Chave da tarefa no Jira.
      * @return true se a tarefa for válida, false caso contrário.
      */
     public boolean validateTask(String taskKey) {
+        if (isActive() && issueIndexEnabled && taskKey.contains("-")) {
+            IssueIndex index = getIssueIndex(taskKey.substring(0, taskKey.lastIndexOf('-')));
+            if (index.get(taskKey) != null) {
+                logger.info("Validação da tarefa {} realizada com sucesso (índice local).", taskKey);
+                return true;
+            }
+        }
+
+        if (isActive() && issueLookupBatcher != null) {
+            return validateTaskBatched(taskKey);
+        }
+
         if (isActive()) {
             try {
-                String jiraApiUrl = this.jiraBaseUrl + "/rest/api/2/search";
+                String jiraApiUrl = "/rest/api/2/search";
                 validateUrl(jiraApiUrl);
 
-                HttpClient httpClient = HttpClientBuilder.create().build();
-                HttpGet httpGet = new HttpGet(jiraApiUrl);
-                setBasicAuthHeader(httpGet);
-
-                HttpResponse response = httpClient.execute(httpGet);
+                int statusCode = hedgedRequests.execute("jira.search",
+                        () -> newAuthorizedGet(jiraApiUrl), httpGet -> executeOnNode(httpGet,
+                                httpClient -> responseCache.status(httpClient, httpGet, jiraApiUrl)));
 
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+                if (statusCode == HttpStatus.SC_OK) {
                     logger.info("Validação da tarefa {} realizada com sucesso.", taskKey);
                     return true;
                 } else {
-                    logger.error(
-                            "Falha ao validar a tarefa. Código de status: " + response.getStatusLine().getStatusCode());
+                    logger.error("Falha ao validar a tarefa. Código de status: " + statusCode);
                 }
             } catch (IOException | URISyntaxException e) {
                 logger.error("Erro durante a validação da tarefa no Jira", e);
@@ -191,6 +459,96 @@ public class JiraConnector {
         return false;
     }
 
+    /**
+     * Valida a tarefa pela consulta agrupada, aguardando a resposta compartilhada.
+     */
+    private boolean validateTaskBatched(String taskKey) {
+        try {
+            if (issueLookupBatcher.exists(taskKey).get()) {
+                logger.info("Validação da tarefa {} realizada com sucesso.", taskKey);
+                return true;
+            }
+            logger.error("A tarefa {} não foi encontrada no Jira.", taskKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Erro durante a validação da tarefa no Jira", e.getCause());
+        }
+        return false;
+    }
+
+    /**
+     * Busca de uma só vez as tarefas informadas, solicitando apenas a chave de cada uma.
+     *
+     * @param taskKeys Chaves das tarefas.
+     * @return Chaves, como informadas, das tarefas existentes.
+     */
+    private Set<String> findExistingTasks(Collection<String> taskKeys) throws IOException {
+        StringJoiner jql = new StringJoiner(",", "key in (", ")");
+        taskKeys.forEach(key -> jql.add("\"" + key.replace("\"", "") + "\""));
+
+        URI uri;
+        try {
+            // validateQuery=warn evita que uma chave inexistente invalide a busca das demais
+            uri = new URIBuilder("/rest/api/2/search")
+                    .addParameter("jql", jql.toString())
+                    .addParameter("fields", "key")
+                    .addParameter("maxResults", String.valueOf(taskKeys.size()))
+                    .addParameter("validateQuery", "warn")
+                    .build();
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+
+        Set<String> found = hedgedRequests.execute("jira.search.keys", () -> newAuthorizedGet(uri.toString()),
+                httpGet -> executeOnNode(httpGet, httpClient -> httpClient.execute(httpGet,
+                        ResponseHandlers.stream(JiraConnector::readIssueKeys))));
+
+        Set<String> existing = new HashSet<>();
+        for (String key : taskKeys) {
+            if (found.contains(key.toUpperCase(Locale.ROOT))) {
+                existing.add(key);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Lê as chaves das tarefas retornadas pela busca, ignorando os demais campos.
+     */
+    private static Set<String> readIssueKeys(int statusCode, JsonReader reader) throws IOException {
+        if (statusCode != HttpStatus.SC_OK) {
+            throw new IOException("Falha na busca agrupada de tarefas. Código de status: " + statusCode);
+        }
+
+        Set<String> keys = new HashSet<>();
+        if (reader == null) {
+            return keys;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"issues".equals(reader.nextName())) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if ("key".equals(reader.nextName())) {
+                        keys.add(reader.nextString().toUpperCase(Locale.ROOT));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+        return keys;
+    }
+
     /**
      * Atualiza os detalhes da tarefa no Jira.
      *
@@ -198,12 +556,20 @@ public class JiraConnector {
      * @param details Detalhes a serem atualizados.
      */
     public void updateTaskDetails(String taskKey, UpdateTaskDetails details) {
+        if (isActive() && issueFieldsCache != null) {
+            details = removeUnchangedFields(taskKey, details);
+            if (details.isEmpty()) {
+                ConnectorMetrics.increment(METRIC_UPDATE_SKIPPED);
+                logger.info("Detalhes da tarefa {} já estão atualizados. Nenhuma alteração enviada.", taskKey);
+                return;
+            }
+        }
+
         if (isActive()) {
             try {
-                String jiraApiUrl = this.jiraBaseUrl + "/rest/api/2/issue/" + taskKey;
+                String jiraApiUrl = "/rest/api/2/issue/" + taskKey;
                 validateUrl(jiraApiUrl);
 
-                HttpClient httpClient = HttpClients.createDefault();
                 HttpPut httpPut = new HttpPut(jiraApiUrl);
                 httpPut.setHeader(HttpHeaders.AUTHORIZATION, createBasicAuthHeader());
                 httpPut.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
@@ -213,22 +579,94 @@ public class JiraConnector {
                 String jsonBody = new Gson().toJson(requestBody);
                 httpPut.setEntity(new StringEntity(jsonBody, StandardCharsets.UTF_8));
 
-                HttpResponse response = httpClient.execute(httpPut);
+                int statusCode = RequestScheduler.getInstance().execute(RequestScheduler.Lane.NORMAL,
+                        jsonBody.length(), () -> executeOnNode(httpPut,
+                                httpClient -> httpClient.execute(httpPut, ResponseHandlers.statusOnly())));
 
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NO_CONTENT) {
+                if (statusCode == HttpStatus.SC_NO_CONTENT) {
                     logger.info("Detalhes da tarefa {} atualizados com sucesso.", taskKey);
+                    responseCache.invalidate(issueFieldsUrl(taskKey));
+                    if (issueFieldsCache != null) {
+                        rememberFields(taskKey, details);
+                    }
                 } else {
-                    logger.error("Falha ao atualizar detalhes da tarefa. Código de status: "
-                            + response.getStatusLine().getStatusCode());
+                    logger.error("Falha ao atualizar detalhes da tarefa. Código de status: " + statusCode);
                 }
-
-                EntityUtils.consume(response.getEntity());
             } catch (IOException | URISyntaxException e) {
                 logger.error("Erro durante a atualização dos detalhes da tarefa no Jira", e);
             }
         }
     }
 
+    /**
+     * Remove dos detalhes os campos cujo valor já é igual ao valor atual da tarefa no Jira. Os campos atuais
+     * são consultados uma única vez e mantidos em cache.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @param details Detalhes a serem atualizados.
+     * @return Detalhes contendo apenas as alterações reais.
+     */
+    private UpdateTaskDetails removeUnchangedFields(String taskKey, UpdateTaskDetails details) {
+        ConnectorMetrics.increment(METRIC_UPDATE_REQUESTS);
+        JsonObject current = issueFieldsCache.getIfPresent(taskKey);
+        if (current != null) {
+            ConnectorMetrics.increment(METRIC_UPDATE_CACHE_HITS);
+        } else {
+            try {
+                current = loadIssueFields(taskKey);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Não foi possível consultar os campos atuais da tarefa {}. Todos os campos serão enviados.",
+                        taskKey, e);
+            }
+            if (current == null) {
+                return details;
+            }
+            issueFieldsCache.put(taskKey, current);
+        }
+
+        UpdateTaskDetails changed = details.withoutUnchanged(current);
+        ConnectorMetrics.add(METRIC_UPDATE_FIELDS_SKIPPED, details.fieldCount() - changed.fieldCount());
+        ConnectorMetrics.add(METRIC_UPDATE_FIELDS_SENT, changed.fieldCount());
+        return changed;
+    }
+
+    /**
+     * Consulta apenas os campos comparados no modo de diferenças.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @return Campos atuais da tarefa ou null em caso de falha.
+     */
+    private JsonObject loadIssueFields(String taskKey) throws IOException {
+        HttpGet httpGet = new HttpGet(issueFieldsUrl(taskKey));
+        setBasicAuthHeader(httpGet);
+
+        HttpResponseCache.CachedResponse response = executeOnNode(httpGet,
+                httpClient -> responseCache.get(httpClient, httpGet, issueFieldsUrl(taskKey)));
+        if (response.getStatusCode() != HttpStatus.SC_OK) {
+            logger.warn("Falha ao consultar os campos da tarefa {}. Código de status: {}", taskKey,
+                    response.getStatusCode());
+            return null;
+        }
+        return JsonParser.parseString(response.getBody()).getAsJsonObject().getAsJsonObject("fields");
+    }
+
+    private String issueFieldsUrl(String taskKey) {
+        return "/rest/api/2/issue/" + taskKey + "?fields="
+                + String.join(",", UpdateTaskDetails.DIFF_FIELDS);
+    }
+
+    /**
+     * Atualiza o cache de campos com os valores enviados em uma atualização bem-sucedida.
+     */
+    private void rememberFields(String taskKey, UpdateTaskDetails details) {
+        JsonObject current = issueFieldsCache.getIfPresent(taskKey);
+        if (current != null) {
+            JsonObject updated = current.deepCopy();
+            details.applyTo(updated);
+            issueFieldsCache.put(taskKey, updated);
+        }
+    }
+
     /**
      * Transiciona uma tarefa para um novo status no Jira.
      *
@@ -236,85 +674,257 @@ public class JiraConnector {
      * @param statusId ID do status para transição.
      */
     public void transitionIssue(String taskKey, String statusId) {
+        if (isActive() && ReportingDaemonClient.forwardIfEnabled(() -> new ReportingFrame(ReportingFrame.TRANSITION)
+                .putString(taskKey).putString(statusId)).isHandled()) {
+            return;
+        }
+
         if (isActive()) {
             try {
-                // Construa a URL para realizar a transição de status
-                String jiraApiUrl = this.jiraBaseUrl + "/rest/api/2/issue/" + taskKey + "/transitions";
-
-                // Crie o cliente HTTP
-                HttpClient httpClient = HttpClientBuilder.create().build();
+                if (executeTransition(taskKey, statusId) == HttpStatus.SC_NO_CONTENT) {
+                    logger.info("Transição de status da tarefa {} realizada com sucesso.", taskKey);
+                }
+            } catch (IOException e) {
+                logger.error("Erro durante a transição de status da tarefa no Jira", e);
+            } finally {
+                // O status resultante não é conhecido quando a transição é feita pelo ID
+                transitionResolver.invalidate(taskKey);
+            }
+        }
+    }
 
-                // Crie a solicitação POST para a transição
-                HttpPost httpPost = new HttpPost(jiraApiUrl);
-                httpPost.setHeader(HttpHeaders.AUTHORIZATION, createBasicAuthHeader());
-                httpPost.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+    /**
+     * Transiciona uma tarefa para o status informado, resolvendo o ID da transição pelo nome. Os mapas de
+     * transição ficam em cache por projeto + tipo de tarefa + status atual, de forma que, após o aquecimento,
+     * cada transição custa apenas a requisição POST. O status atual de uma tarefa ainda não transicionada neste
+     * processo é obtido do índice local de tarefas, quando ativo; sem ele, a tarefa é consultada uma vez.
+     *
+     * @param taskKey    Chave da tarefa no Jira.
+     * @param statusName Nome do status de destino (ou da transição).
+     * @return true se a transição foi realizada (pelo daemon de reporte, quando ativo), false caso contrário.
+     */
+    public boolean transitionIssueByName(String taskKey, String statusName) {
+        if (!isActive()) {
+            return false;
+        }
+        ReportingDaemonClient.Outcome outcome = ReportingDaemonClient.forwardIfEnabled(
+                () -> new ReportingFrame(ReportingFrame.TRANSITION_BY_NAME).putString(taskKey).putString(statusName));
+        if (outcome.isHandled()) {
+            return outcome == ReportingDaemonClient.Outcome.SUCCEEDED;
+        }
 
-                // Construa o corpo da solicitação com o ID da transição
-                Map<String, Object> requestBody = Map.of("transition", Map.of("id", statusId));
-                String jsonBody = new Gson().toJson(requestBody);
-                httpPost.setEntity(new StringEntity(jsonBody, StandardCharsets.UTF_8));
+        try {
+            TransitionResolver.IssueState state = getKnownState(taskKey);
+            TransitionResolver.Transition transition = state == null ? null
+                    : transitionResolver.resolve(state, statusName);
+            boolean fromCache = transition != null;
+
+            if (!fromCache) {
+                state = loadWorkflowState(taskKey);
+                if (state == null) {
+                    return false;
+                }
+                transition = transitionResolver.resolve(state, statusName);
+            }
 
-                // Execute a solicitação e obtenha a resposta
-                HttpResponse response = httpClient.execute(httpPost);
+            if (transition == null) {
+                logger.error("Nenhuma transição para '{}' disponível na tarefa {} a partir do status '{}'.",
+                        statusName, taskKey, state.getStatus());
+                return false;
+            }
 
-                // Verifique se a resposta é bem-sucedida
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NO_CONTENT) {
-                    logger.info("Transição de status da tarefa {} realizada com sucesso.", taskKey);
-                } else {
-                    logger.error("Falha na transição de status da tarefa. Código de status: "
-                            + response.getStatusLine().getStatusCode());
+            int statusCode = executeTransition(taskKey, transition.getId());
+            if (fromCache && (statusCode == HttpStatus.SC_BAD_REQUEST || statusCode == HttpStatus.SC_CONFLICT)) {
+                // O estado em cache pode estar desatualizado (alteração feita fora da automação). A transição só
+                // é repetida se a consulta mostrar outro status ou outra transição; demais erros não são repetidos
+                TransitionResolver.IssueState current = loadWorkflowState(taskKey);
+                TransitionResolver.Transition refreshed = current == null ? null
+                        : transitionResolver.resolve(current, statusName);
+                if (refreshed != null && (!refreshed.getId().equals(transition.getId())
+                        || !current.getStatus().equalsIgnoreCase(state.getStatus()))) {
+                    state = current;
+                    transition = refreshed;
+                    statusCode = executeTransition(taskKey, transition.getId());
                 }
+            }
 
-                // Certifique-se de consumir a entidade da resposta para liberar recursos
-                EntityUtils.consume(response.getEntity());
-            } catch (IOException e) {
-                logger.error("Erro durante a transição de status da tarefa no Jira", e);
+            if (statusCode == HttpStatus.SC_NO_CONTENT) {
+                transitionResolver.moved(taskKey, state, transition);
+                logger.info("Tarefa {} transicionada para '{}'.", taskKey, transition.getToStatus());
+                return true;
             }
+            transitionResolver.invalidate(taskKey);
+        } catch (IOException | RuntimeException e) {
+            transitionResolver.invalidate(taskKey);
+            logger.error("Erro durante a transição de status da tarefa no Jira", e);
         }
+
+        return false;
     }
 
     /**
-     * Adiciona um novo comentário a uma tarefa no Jira.
+     * Obtém o estado atual da tarefa sem consultar o Jira: o último estado conhecido neste processo ou, na sua
+     * ausência, o tipo e o status registrados no índice local de tarefas.
      *
      * @param taskKey Chave da tarefa no Jira.
-     * @param comment Texto do comentário.
+     * @return Estado da tarefa ou null se desconhecido.
      */
-    public void addComment(String taskKey, String comment) {
-        if (isActive()) {
-            try {
-                // Construa a URL para adicionar um comentário
-                String jiraApiUrl = this.jiraBaseUrl + "/rest/api/2/issue/" + taskKey + "/comment";
+    private TransitionResolver.IssueState getKnownState(String taskKey) {
+        TransitionResolver.IssueState state = transitionResolver.getState(taskKey);
+        if (state == null && issueIndexEnabled && taskKey.contains("-")) {
+            String projectKey = taskKey.substring(0, taskKey.lastIndexOf('-'));
+            IssueIndex.IssueEntry entry = getIssueIndex(projectKey).get(taskKey);
+            if (entry != null) {
+                state = new TransitionResolver.IssueState(projectKey, entry.getIssueType(), entry.getStatus());
+            }
+        }
+        return state;
+    }
 
-                // Crie o cliente HTTP
-                HttpClient httpClient = HttpClientBuilder.create().build();
+    /**
+     * Consulta o status atual e as transições disponíveis da tarefa em uma única requisição.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @return Estado atual da tarefa ou null em caso de falha.
+     */
+    private TransitionResolver.IssueState loadWorkflowState(String taskKey) throws IOException {
+        HttpGet httpGet = new HttpGet("/rest/api/2/issue/" + taskKey
+                + "?fields=project,issuetype,status&expand=transitions");
+        setBasicAuthHeader(httpGet);
+
+        ResponseHandlers.JsonBody response = executeOnNode(httpGet,
+                httpClient -> httpClient.execute(httpGet, ResponseHandlers.json(HttpStatus.SC_OK)));
+        if (response.getBody() == null) {
+            logger.error("Falha ao consultar as transições da tarefa {}. Código de status: {}", taskKey,
+                    response.getStatusCode());
+            return null;
+        }
+        return transitionResolver.register(taskKey, response.getBody().getAsJsonObject());
+    }
 
-                // Crie a solicitação POST para adicionar um comentário
-                HttpPost httpPost = new HttpPost(jiraApiUrl);
-                httpPost.setHeader(HttpHeaders.AUTHORIZATION, createBasicAuthHeader());
-                httpPost.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+    /**
+     * Executa a transição da tarefa pelo ID.
+     *
+     * @param taskKey      Chave da tarefa no Jira.
+     * @param transitionId ID da transição.
+     * @return Código de status HTTP da resposta.
+     */
+    private int executeTransition(String taskKey, String transitionId) throws IOException {
+        // Construa a URL para realizar a transição de status
+        String jiraApiUrl = "/rest/api/2/issue/" + taskKey + "/transitions";
+
+        // Crie a solicitação POST para a transição
+        HttpPost httpPost = new HttpPost(jiraApiUrl);
+        httpPost.setHeader(HttpHeaders.AUTHORIZATION, createBasicAuthHeader());
+        httpPost.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+
+        // Construa o corpo da solicitação com o ID da transição
+        Map<String, Object> requestBody = Map.of("transition", Map.of("id", transitionId));
+        String jsonBody = new Gson().toJson(requestBody);
+        httpPost.setEntity(new StringEntity(jsonBody, StandardCharsets.UTF_8));
+
+        // Execute a solicitação; o tratador de resposta libera a conexão
+        int statusCode = RequestScheduler.getInstance().execute(RequestScheduler.Lane.CRITICAL, jsonBody.length(),
+                () -> executeOnNode(httpPost, httpClient -> httpClient.execute(httpPost, ResponseHandlers.statusOnly())));
+        if (statusCode != HttpStatus.SC_NO_CONTENT) {
+            logger.error("Falha na transição de status da tarefa. Código de status: " + statusCode);
+        }
+        return statusCode;
+    }
 
-                // Construa o corpo da solicitação com o texto do comentário
-                Map<String, Object> requestBody = Map.of("body", comment);
-                String jsonBody = new Gson().toJson(requestBody);
-                httpPost.setEntity(new StringEntity(jsonBody, StandardCharsets.UTF_8));
+    /**
+     * Adiciona um novo comentário a uma tarefa no Jira.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @param comment Texto do comentário.
+     */
+    public void addComment(String taskKey, String comment) {
+        addComment(null, taskKey, comment);
+    }
 
-                // Execute a solicitação e obtenha a resposta
-                HttpResponse response = httpClient.execute(httpPost);
+    /**
+     * Adiciona um novo comentário a uma tarefa no Jira. Quando o controle de idempotência estiver ativo e o cenário
+     * for informado, comentários do cenário já confirmados em uma tentativa anterior da mesma execução de CI são
+     * ignorados.
+     *
+     * @param scenarioName Nome do cenário que originou o comentário (ou null).
+     * @param taskKey      Chave da tarefa no Jira.
+     * @param comment      Texto do comentário.
+     */
+    public void addComment(String scenarioName, String taskKey, String comment) {
+        addComment(scenarioName, null, taskKey, comment);
+    }
 
-                // Verifique se a resposta é bem-sucedida
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) {
-                    logger.info("Comentário adicionado com sucesso à tarefa {}.", taskKey);
-                } else {
-                    logger.error("Falha ao adicionar comentário. Código de status: "
-                            + response.getStatusLine().getStatusCode());
-                }
+    /**
+     * Adiciona um novo comentário com o resultado de um cenário a uma tarefa no Jira. O resultado faz parte da
+     * identificação do comentário no controle de idempotência: se uma nova tentativa mudar o resultado do cenário
+     * (ex.: de falha para sucesso), o novo comentário é enviado mesmo que o da tentativa anterior tenha sido
+     * confirmado.
+     *
+     * @param scenarioName Nome do cenário que originou o comentário (ou null).
+     * @param resultName   Resultado do cenário, como {@code Pass} ou {@code Fail} (ou null).
+     * @param taskKey      Chave da tarefa no Jira.
+     * @param comment      Texto do comentário.
+     */
+    public void addComment(String scenarioName, String resultName, String taskKey, String comment) {
+        String operation = resultName == null ? OPERATION_COMMENT : OPERATION_COMMENT + "." + resultName;
+        IdempotencyGuard.Ticket ticket = IdempotencyGuard.getInstance().open(scenarioName, taskKey, operation);
+        if (!isActive()) {
+            return;
+        }
+        if (ticket.isAcknowledged()) {
+            logger.info("Comentário já adicionado à tarefa {} em uma tentativa anterior. Envio ignorado.", taskKey);
+            return;
+        }
+        // O daemon de reporte não controla a idempotência: a confirmação é registrada por este processo
+        ReportingDaemonClient.Outcome outcome = ReportingDaemonClient.forwardIfEnabled(
+                () -> new ReportingFrame(ReportingFrame.COMMENT)
+                        .putString(scenarioName).putString(taskKey).putString(comment));
+        boolean added = outcome.isHandled()
+                ? outcome == ReportingDaemonClient.Outcome.SUCCEEDED
+                : postComment(taskKey, comment);
+        if (added) {
+            ticket.acknowledge();
+        }
+    }
 
-                // Certifique-se de consumir a entidade da resposta para liberar recursos
-                EntityUtils.consume(response.getEntity());
-            } catch (IOException e) {
-                logger.error("Erro ao adicionar comentário à tarefa no Jira", e);
+    /**
+     * Envia o comentário ao Jira, sem controle de idempotência.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @param comment Texto do comentário.
+     * @return true se o comentário foi adicionado, false caso contrário.
+     */
+    boolean postComment(String taskKey, String comment) {
+        try {
+            // Construa a URL para adicionar um comentário
+            String jiraApiUrl = "/rest/api/2/issue/" + taskKey + "/comment";
+
+            // Crie a solicitação POST para adicionar um comentário
+            HttpPost httpPost = new HttpPost(jiraApiUrl);
+            httpPost.setHeader(HttpHeaders.AUTHORIZATION, createBasicAuthHeader());
+            httpPost.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+
+            // Construa o corpo da solicitação com o texto do comentário
+            Map<String, Object> requestBody = Map.of("body", comment);
+            String jsonBody = new Gson().toJson(requestBody);
+            httpPost.setEntity(new StringEntity(jsonBody, StandardCharsets.UTF_8));
+
+            // Execute a solicitação e obtenha o código de status
+            int statusCode = RequestScheduler.getInstance().execute(RequestScheduler.Lane.NORMAL,
+                    jsonBody.length(), () -> executeOnNode(httpPost,
+                            httpClient -> httpClient.execute(httpPost, ResponseHandlers.statusOnly())));
+
+            // Verifique se a resposta é bem-sucedida
+            if (statusCode == HttpStatus.SC_CREATED) {
+                logger.info("Comentário adicionado com sucesso à tarefa {}.", taskKey);
+                return true;
             }
+            logger.error("Falha ao adicionar comentário. Código de status: " + statusCode);
+        } catch (IOException e) {
+            logger.error("Erro ao adicionar comentário à tarefa no Jira", e);
         }
+        return false;
     }
 
     /**
@@ -323,55 +933,196 @@ public class JiraConnector {
      * @param taskKey Chave da tarefa no Jira.
      */
     public void addEvidenceToTask(String taskKey) {
-        if (isActive()) {
+        if (!isActive()) {
+            return;
+        }
+
+        // Os arquivos são localizados por este processo: a pasta de evidências do daemon de reporte pode ser outra
+        boolean bundle = Boolean.parseBoolean(pLoader.getValue("evidence.bundle.enabled"));
+        List<File> files;
+        if (bundle) {
+            files = collectEvidenceFiles();
+        } else {
+            // Obtém o arquivo PDF mais recente na pasta C:\Users\Public\Drivers\Reports\PDF
+            File pdfFile = getLatestFile(getEvidencePath() + "/PDF/");
+            if (pdfFile == null) {
+                logger.error("Nenhum arquivo de evidência PDF encontrado na pasta.");
+                return;
+            }
+            files = List.of(pdfFile);
+        }
+
+        List<String> paths = new ArrayList<>(files.size());
+        for (File file : files) {
+            paths.add(file.getAbsolutePath());
+        }
+        if (ReportingDaemonClient.forwardIfEnabled(() -> new ReportingFrame(ReportingFrame.EVIDENCE)
+                .putString(taskKey).putBoolean(bundle).putStrings(paths)).isHandled()) {
+            return;
+        }
+        addEvidenceFiles(taskKey, files, bundle);
+    }
+
+    /**
+     * Envia à tarefa as evidências já localizadas, como um único anexo ZIP ou um anexo por arquivo.
+     *
+     * @param taskKey Chave da tarefa no Jira (aceita a tag {@code @Jira_}).
+     * @param files   Arquivos de evidência.
+     * @param bundle  true para enviar os arquivos como um único anexo ZIP.
+     */
+    void addEvidenceFiles(String taskKey, List<File> files, boolean bundle) {
+        if (bundle) {
+            addEvidenceBundle(taskKey, files);
+            return;
+        }
+
+        // Extrai apenas a parte após o "_" da tag
+        String extractedTaskKey = taskKey.substring(taskKey.indexOf("_") + 1);
+        for (File file : files) {
             try {
-                String evidencePath;
-
-                if(Strings.isNullOrEmpty(System.getenv("JENKINS_HOME")))
-                    evidencePath = pLoader.getValue(System.getProperty("os.name").toUpperCase().contains("WINDOWS") ? "evidence.path.windows" : "evidence.path.unix").concat("/PDF/");
-                else
-                    evidencePath = pLoader.getValue("evidence.path.jenkins").concat("/PDF/");
-
-                // Extrai apenas a parte após o "_" da tag
-                String extractedTaskKey = taskKey.substring(taskKey.indexOf("_") + 1);
-
-                // Obtém o arquivo PDF mais recente na pasta C:\Users\Public\Drivers\Reports\PDF
-                File pdfFile = getLatestFile(evidencePath);
-                if (pdfFile != null) {
-                    // Construa a URL para adicionar uma evidência
-                    String jiraApiUrl = String.format("%s/rest/api/3/issue/%s/attachments", this.jiraBaseUrl,
-                            extractedTaskKey);
-
-                    // Crie o cliente HTTP
-                    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-
-                        // Crie a solicitação POST para adicionar uma evidência (PDF)
-                        HttpPost httpPost = new HttpPost(jiraApiUrl);
-                        httpPost.setHeader(HttpHeaders.AUTHORIZATION, createBasicAuthHeader());
-                        httpPost.setHeader("X-Atlassian-Token", "no-check");
-                        MultipartEntityBuilder pdfBuilder = MultipartEntityBuilder.create();
-                        pdfBuilder.setBoundary("-------------" + System.currentTimeMillis());
-                        pdfBuilder.addBinaryBody("file", pdfFile, ContentType.DEFAULT_BINARY, pdfFile.getName());
-                        HttpEntity pdfEntity = pdfBuilder.build();
-                        httpPost.setEntity(pdfEntity);
-
-                        // Execute a solicitação e obtenha a resposta
-                        try (CloseableHttpResponse pdfResponse = httpClient.execute(httpPost)) {
-                            // Verifique se a resposta para o PDF é bem-sucedida
-                            if (pdfResponse.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                                logger.info("Evidência PDF adicionada com sucesso à tarefa {}.", extractedTaskKey);
-                            }
-                        }
-                    }
-                } else {
-                    logger.error("Nenhum arquivo de evidência PDF encontrado na pasta.");
-                }
+                // Uploads grandes são executados na faixa de baixa prioridade
+                RequestScheduler.getInstance().executeOrDefer(RequestScheduler.Lane.BULK, file.length(), () -> {
+                    uploadAttachment(extractedTaskKey,
+                            new FileChannelBody(file, ContentType.DEFAULT_BINARY, uploadBuffers), file.length());
+                    return null;
+                });
             } catch (IOException e) {
                 logger.error("Erro ao adicionar evidência à tarefa no Jira", e);
             }
         }
     }
 
+    /**
+     * Adiciona várias evidências à tarefa no Jira como um único anexo ZIP, compactado durante o envio.
+     *
+     * @param taskKey Chave da tarefa no Jira (aceita a tag {@code @Jira_}).
+     * @param files   Arquivos de evidência.
+     */
+    public void addEvidenceBundle(String taskKey, Collection<File> files) {
+        if (!isActive()) {
+            return;
+        }
+
+        String extractedTaskKey = taskKey.substring(taskKey.indexOf("_") + 1);
+        Map<String, File> sources = new LinkedHashMap<>();
+        for (File file : files) {
+            if (file != null && file.isFile()) {
+                String name = file.getParentFile() == null ? file.getName()
+                        : file.getParentFile().getName() + "/" + file.getName();
+                sources.putIfAbsent(name, file);
+            }
+        }
+
+        if (sources.isEmpty()) {
+            logger.error("Nenhum arquivo de evidência encontrado para a tarefa {}.", extractedTaskKey);
+            return;
+        }
+
+        // As imagens são reduzidas em paralelo ao envio: cada entrada do ZIP aguarda apenas a sua própria imagem
+        List<ZipStreamBody.Entry> entries = new ArrayList<>();
+        long sourceBytes = 0;
+        for (Map.Entry<String, File> source : sources.entrySet()) {
+            File original = source.getValue();
+            CompletableFuture<File> prepared = imageProcessor == null
+                    ? CompletableFuture.completedFuture(original)
+                    : imageProcessor.submit(original);
+            entries.add(new ZipStreamBody.Entry(source.getKey(), prepared));
+            sourceBytes += original.length();
+        }
+
+        String zipName = "evidencias-" + extractedTaskKey + "-" + System.currentTimeMillis() + ".zip";
+        long bytes = sourceBytes;
+        try {
+            // As imagens temporárias também são removidas quando o envio adiado é descartado sem execução
+            RequestScheduler.getInstance().executeOrDefer(RequestScheduler.Lane.BULK, sourceBytes, () -> {
+                try {
+                    uploadAttachment(extractedTaskKey, new ZipStreamBody(zipName, entries, uploadBuffers), bytes);
+                } finally {
+                    cleanupEvidence(sources, entries);
+                }
+                return null;
+            }, () -> cleanupEvidence(sources, entries));
+        } catch (IOException e) {
+            cleanupEvidence(sources, entries);
+            logger.error("Erro ao adicionar evidências à tarefa no Jira", e);
+        }
+    }
+
+    /**
+     * Remove as imagens temporárias do pacote; as que ainda estão em processamento são removidas ao concluir.
+     */
+    private static void cleanupEvidence(Map<String, File> sources, List<ZipStreamBody.Entry> entries) {
+        for (ZipStreamBody.Entry entry : entries) {
+            entry.getFile().thenAccept(file -> EvidenceImageProcessor.cleanup(sources.get(entry.getSourceName()), file));
+        }
+    }
+
+    /**
+     * Obtém o arquivo mais recente de cada pasta de evidências configurada em {@code evidence.bundle.folders}
+     * (por padrão apenas {@code PDF}).
+     *
+     * @return Arquivos de evidência encontrados.
+     */
+    private List<File> collectEvidenceFiles() {
+        String evidencePath = getEvidencePath();
+        List<File> files = new ArrayList<>();
+        for (String folder : pLoader.getValue("evidence.bundle.folders", "PDF").split(",")) {
+            File latest = getLatestFile(evidencePath + "/" + folder.trim() + "/");
+            if (latest != null) {
+                files.add(latest);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Obtém a pasta base das evidências de acordo com o ambiente de execução.
+     *
+     * @return Caminho da pasta de evidências.
+     */
+    private String getEvidencePath() {
+        if (Strings.isNullOrEmpty(System.getenv("JENKINS_HOME")))
+            return pLoader.getValue(System.getProperty("os.name").toUpperCase().contains("WINDOWS") ? "evidence.path.windows" : "evidence.path.unix");
+        else
+            return pLoader.getValue("evidence.path.jenkins");
+    }
+
+    /**
+     * Envia o conteúdo como anexo da tarefa.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @param body    Conteúdo do anexo, lido do disco em blocos durante o envio.
+     * @param bytes   Tamanho dos arquivos de origem, utilizado no log de vazão.
+     */
+    private void uploadAttachment(String taskKey, AbstractContentBody body, long bytes) throws IOException {
+        // Construa a URL para adicionar uma evidência
+        String jiraApiUrl = String.format("/rest/api/3/issue/%s/attachments", taskKey);
+
+        // Crie a solicitação POST para adicionar uma evidência
+        HttpPost httpPost = new HttpPost(jiraApiUrl);
+        httpPost.setHeader(HttpHeaders.AUTHORIZATION, createBasicAuthHeader());
+        httpPost.setHeader("X-Atlassian-Token", "no-check");
+        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        builder.setBoundary("-------------" + System.currentTimeMillis());
+        builder.addPart("file", body);
+        HttpEntity entity = builder.build();
+        httpPost.setEntity(entity);
+
+        // Execute a solicitação e obtenha a resposta
+        long start = System.nanoTime();
+        int statusCode = executeOnNode(httpPost, false,
+                httpClient -> httpClient.execute(httpPost, ResponseHandlers.statusOnly()));
+        // Verifique se a resposta é bem-sucedida
+        if (statusCode == HttpStatus.SC_OK) {
+            long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            ConnectorMetrics.increment("evidence.upload.files");
+            logger.info("Evidência {} adicionada com sucesso à tarefa {} ({} KB em {} ms, {} KB/s).",
+                    body.getFilename(), taskKey, bytes / 1024, millis, bytes * 1000 / 1024 / millis);
+        } else {
+            logger.error("Falha ao adicionar evidência. Código de status: " + statusCode);
+        }
+    }
+
     /**
      * Cria uma nova tarefa no Jira.
      *
@@ -382,10 +1133,9 @@ public class JiraConnector {
     public void createNewTask(String projectKey, String summary, String description) {
         if (isActive()) {
             try {
-                String jiraApiUrl = this.jiraBaseUrl + "/rest/api/2/issue";
+                String jiraApiUrl = "/rest/api/2/issue";
                 validateUrl(jiraApiUrl);
 
-                HttpClient httpClient = HttpClientBuilder.create().build();
                 HttpPost httpPost = new HttpPost(jiraApiUrl);
                 setBasicAuthHeader(httpPost);
                 httpPost.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
@@ -397,34 +1147,88 @@ public class JiraConnector {
                 String jsonBody = new Gson().toJson(requestBody);
                 httpPost.setEntity(new StringEntity(jsonBody, StandardCharsets.UTF_8));
 
-                // Execute a solicitação e obtenha a resposta
-                HttpResponse response = httpClient.execute(httpPost);
+                // Execute a solicitação, lendo da resposta apenas a chave da tarefa criada
+                ResponseHandlers.JsonFields response = RequestScheduler.getInstance().execute(
+                        RequestScheduler.Lane.NORMAL, jsonBody.length(), () -> executeOnNode(httpPost,
+                                httpClient -> httpClient.execute(httpPost, ResponseHandlers.jsonFields("key"))));
 
                 // Verifique se a resposta é bem-sucedida
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) {
-                    String responseBody = EntityUtils.toString(response.getEntity());
-                    // Extrair chave do projeto
-                    String createdIssueKey = new Gson().fromJson(responseBody, Map.class).get("key").toString();
+                if (response.getStatusCode() == HttpStatus.SC_CREATED) {
                     logger.info("Nova tarefa criada com sucesso no projeto {}. Chave da tarefa: {}", projectKey,
-                            createdIssueKey);
-
+                            response.get("key"));
                 } else {
-                    logger.error("Falha ao criar nova tarefa. Código de status: "
-                            + response.getStatusLine().getStatusCode());
+                    logger.error("Falha ao criar nova tarefa. Código de status: " + response.getStatusCode());
                 }
-
-                // Certifique-se de consumir a entidade da resposta para liberar recursos
-                EntityUtils.consume(response.getEntity());
             } catch (IOException | URISyntaxException e) {
                 logger.error("Erro durante a criação da nova tarefa no Jira", e);
             }
         }
     }
 
+    /**
+     * Executa a requisição em um dos nós do Jira escolhido pelo balanceador. A URI da requisição contém apenas o
+     * caminho da API, que é resolvido sobre a URL base do nó selecionado.
+     *
+     * @param request Requisição com o caminho da API.
+     * @param call    Execução da requisição com o cliente HTTP do nó.
+     * @return Resultado da execução.
+     */
+    private <T> T executeOnNode(HttpRequestBase request, NodeCall<T> call) throws IOException {
+        return executeOnNode(request, true, call);
+    }
+
+    /**
+     * Executa a requisição em um dos nós do Jira escolhido pelo balanceador.
+     *
+     * @param request      Requisição com o caminho da API.
+     * @param trackLatency Indica se a latência deve ser considerada na saúde do nó. Envios de arquivos e páginas
+     *                     da sincronização do índice têm duração proporcional ao volume transferido e não são
+     *                     considerados.
+     * @param call         Execução da requisição com o cliente HTTP do nó.
+     * @return Resultado da execução.
+     */
+    private <T> T executeOnNode(HttpRequestBase request, boolean trackLatency, NodeCall<T> call) throws IOException {
+        String path = request.getURI().toString();
+        JiraNodeBalancer.Node node = nodeBalancer.acquire();
+        request.setURI(URI.create(node.getBaseUrl() + path));
+
+        long start = System.nanoTime();
+        boolean success = false;
+        boolean aborted = false;
+        try {
+            T result = call.apply(node.getHttpClient());
+            success = true;
+            return result;
+        } catch (InterruptedIOException e) {
+            // Tentativa cancelada, por exemplo a leitura duplicada mais lenta; não indica falha do nó
+            aborted = true;
+            throw e;
+        } finally {
+            // Respostas 5xx são registradas pelo cliente do nó para a própria requisição
+            boolean serverError = node.takeServerError(request);
+            nodeBalancer.release(node, aborted || success && !serverError,
+                    aborted || !trackLatency ? -1 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Execução de uma requisição com o cliente HTTP do nó selecionado.
+     */
+    @FunctionalInterface
+    private interface NodeCall<T> {
+        T apply(CloseableHttpClient httpClient) throws IOException;
+    }
+
     private void validateUrl(String url) throws URISyntaxException {
         new URI(url);
     }
 
+    private HttpGet newAuthorizedGet(String url) {
+        HttpGet httpGet = new HttpGet(url);
+        setBasicAuthHeader(httpGet);
+        return httpGet;
+    }
+
     private void setBasicAuthHeader(HttpRequest request) {
         String credentials = this.username + ":" + this.jiraKey;
         String base64Credentials = Base64.getEncoder().encodeToString(credentials.getBytes());
@@ -436,11 +1240,27 @@ public class JiraConnector {
         return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Resultado da leitura de uma página da busca.
+     */
+    private static class SearchPage {
+
+        private final int statusCode;
+        private int fetched;
+        private int total;
+
+        private SearchPage(int statusCode) {
+            this.statusCode = statusCode;
+        }
+    }
+
     /**
      * Detalhes a serem atualizados em uma tarefa no Jira.
      */
     public static class UpdateTaskDetails {
 
+        private static final List<String> DIFF_FIELDS = List.of("summary", "description", "labels");
+
         private String summary;
         private String description;
         private List<String> labels;
@@ -468,6 +1288,60 @@ public class JiraConnector {
             return map;
         }
 
+        /**
+         * Cria uma cópia dos detalhes sem os campos cujo valor já é igual ao atual.
+         *
+         * @param current Campos atuais da tarefa no Jira.
+         * @return Detalhes contendo apenas os campos alterados.
+         */
+        UpdateTaskDetails withoutUnchanged(JsonObject current) {
+            String changedSummary = summary != null && summary.equals(stringField(current, "summary"))
+                    ? null : summary;
+            String changedDescription = description != null && description.equals(stringField(current, "description"))
+                    ? null : description;
+            List<String> changedLabels = labels;
+            if (labels != null && current.has("labels") && current.get("labels").isJsonArray()) {
+                Set<String> currentLabels = new HashSet<>();
+                current.getAsJsonArray("labels").forEach(label -> currentLabels.add(label.getAsString()));
+                if (currentLabels.equals(new HashSet<>(labels))) {
+                    changedLabels = null;
+                }
+            }
+            return new UpdateTaskDetails(changedSummary, changedDescription, changedLabels, null, projectKey);
+        }
+
+        /**
+         * Aplica os valores dos detalhes sobre os campos informados.
+         *
+         * @param fields Campos da tarefa.
+         */
+        void applyTo(JsonObject fields) {
+            if (summary != null) {
+                fields.addProperty("summary", summary);
+            }
+            if (description != null) {
+                fields.addProperty("description", description);
+            }
+            if (labels != null) {
+                JsonArray array = new JsonArray();
+                labels.forEach(array::add);
+                fields.add("labels", array);
+            }
+        }
+
+        int fieldCount() {
+            return (summary != null ? 1 : 0) + (description != null ? 1 : 0) + (labels != null ? 1 : 0);
+        }
+
+        boolean isEmpty() {
+            return fieldCount() == 0 && projectKey == null;
+        }
+
+        private static String stringField(JsonObject fields, String name) {
+            JsonElement value = fields.get(name);
+            return value == null || value.isJsonNull() ? null : value.getAsString();
+        }
+
         /**
          * Construtor dos detalhes da tarefa.
          *
@@ -560,6 +1434,18 @@ public class JiraConnector {
         jiraConnector.transitionIssue(taskKey, statusId);
     }
 
+    /**
+     * Método para atualizar o status da tarefa pelo nome do status de destino.
+     *
+     * @param taskKey    Chave da tarefa no Jira.
+     * @param statusName Nome do status de destino.
+     * @return true se a transição foi realizada, false caso contrário.
+     */
+    public static boolean updateStatusByName(String taskKey, String statusName) {
+        JiraConnector jiraConnector = getInstance();
+        return jiraConnector.transitionIssueByName(taskKey, statusName);
+    }
+
     /**
      * Método para adicionar um novo comentário a uma tarefa no Jira.
      *
@@ -569,7 +1455,67 @@ public class JiraConnector {
     public static void addNewComment(String taskKey, String comment) {
 
         JiraConnector jiraConnector = getInstance();
-        jiraConnector.addComment(taskKey, comment);
+        if (jiraConnector.isActive() && jiraConnector.commentCoalescer != null) {
+            jiraConnector.commentCoalescer.add(taskKey, comment);
+        } else {
+            jiraConnector.addComment(taskKey, comment);
+        }
+    }
+
+    /**
+     * Envia imediatamente os comentários agrupados de todas as tarefas. Deve ser chamado ao final do cenário
+     * quando o agrupamento de comentários estiver ativo.
+     */
+    public static void flushComments() {
+        JiraConnector jiraConnector = getInstance();
+        if (jiraConnector.commentCoalescer != null) {
+            jiraConnector.commentCoalescer.flushAll();
+        }
+    }
+
+    /**
+     * Envia imediatamente os comentários agrupados de uma tarefa.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     */
+    public static void flushComments(String taskKey) {
+        JiraConnector jiraConnector = getInstance();
+        if (jiraConnector.commentCoalescer != null) {
+            jiraConnector.commentCoalescer.flush(taskKey);
+        }
+    }
+
+    /**
+     * Adiciona um comentário de falha com o final do log do cenário capturado na thread atual.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @param comment Texto do comentário.
+     */
+    public static void addFailureComment(String taskKey, String comment) {
+        addNewComment(taskKey, appendScenarioLog(comment));
+    }
+
+    /**
+     * Anexa ao texto o final do log do cenário capturado pelo {@link ScenarioLogAppender} na thread atual, limitado
+     * a {@code jira.connector.logTail.maxKb} KB.
+     *
+     * @param text Texto do comentário ou da descrição.
+     * @return Texto com o log anexado, ou o próprio texto quando não houver log capturado.
+     */
+    public static String appendScenarioLog(String text) {
+        int maxKb = Integer.parseInt(pLoader.getValue("jira.connector.logTail.maxKb", "16"));
+        return appendLog(text, ScenarioLogAppender.tail(maxKb * 1024));
+    }
+
+    /**
+     * Anexa o log ao texto em um bloco sem formatação do Jira.
+     */
+    static String appendLog(String text, String logTail) {
+        if (Strings.isNullOrEmpty(logTail)) {
+            return text;
+        }
+        return Strings.nullToEmpty(text) + "\n\nLog do cenário:\n{noformat}\n" + logTail.replace("{noformat}", "")
+                + "\n{noformat}";
     }
 
     /**
@@ -608,6 +1554,17 @@ public class JiraConnector {
         jiraConnector.createNewTask(projectKey, summary, description);
     }
 
+    /**
+     * Cria uma nova tarefa no Jira com o final do log do cenário capturado na thread atual anexado à descrição.
+     *
+     * @param projectKey  Chave do projeto no Jira.
+     * @param summary     Resumo da tarefa.
+     * @param description Descrição da tarefa.
+     */
+    public static void createTaskWithLog(String projectKey, String summary, String description) {
+        createTask(projectKey, summary, appendScenarioLog(description));
+    }
+
     /**
      * Atualizador de detalhes de uma tarefa no Jira.
      */
@@ -0,0 +1,224 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distribui as requisições entre os nós do Jira Data Center escolhendo o nó saudável com menos requisições em
+ * andamento. Cada nó possui seu próprio pool de conexões e um controle passivo de saúde: o nó é removido da
+ * seleção após falhas consecutivas ou picos de latência e volta a ser utilizado quando a sonda
+ * {@code GET /status} responder com sucesso.
+ */
+class JiraNodeBalancer {
+
+    private static final Logger logger = LogManager.getLogger(JiraNodeBalancer.class);
+
+    private final List<Node> nodes;
+    private final int maxFailures;
+    private final double latencySpikeFactor;
+    private final long minSpikeMillis;
+    private final long ejectionMillis;
+    private final ScheduledExecutorService prober;
+
+    /**
+     * Construtor do balanceador.
+     *
+     * @param baseUrls URLs base dos nós do Jira.
+     * @param pLoader  Propriedades do framework.
+     */
+    JiraNodeBalancer(List<String> baseUrls, InternalPropertiesLoader pLoader) {
+        List<Node> created = new ArrayList<>();
+        for (String baseUrl : baseUrls) {
+            created.add(new Node(baseUrl, HttpClientFactory.pooledBuilder(pLoader)));
+        }
+        this.nodes = Collections.unmodifiableList(created);
+        this.maxFailures = Integer.parseInt(pLoader.getValue("jira.connector.nodes.maxFailures", "3"));
+        this.latencySpikeFactor = Double.parseDouble(pLoader.getValue("jira.connector.nodes.latencySpikeFactor", "5"));
+        this.minSpikeMillis = Long.parseLong(pLoader.getValue("jira.connector.nodes.minSpikeMillis", "2000"));
+        this.ejectionMillis = Long.parseLong(pLoader.getValue("jira.connector.nodes.ejectionMillis", "30000"));
+
+        if (nodes.size() > 1) {
+            this.prober = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "jira-node-prober");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = Math.max(1000, ejectionMillis / 3);
+            prober.scheduleWithFixedDelay(this::probeEjected, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.prober = null;
+        }
+    }
+
+    /**
+     * Obtém todos os nós configurados.
+     *
+     * @return Nós do Jira.
+     */
+    List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Seleciona o nó saudável com menos requisições em andamento e registra o início de uma requisição. Se
+     * todos os nós estiverem removidos, o nó com menos requisições em andamento é utilizado mesmo assim.
+     *
+     * @return Nó selecionado; deve ser devolvido com {@link #release(Node, boolean, long)}.
+     */
+    Node acquire() {
+        Node selected = null;
+        Node fallback = null;
+        for (Node node : nodes) {
+            if (fallback == null || node.outstanding.get() < fallback.outstanding.get()) {
+                fallback = node;
+            }
+            if (node.isHealthy() && (selected == null || node.outstanding.get() < selected.outstanding.get())) {
+                selected = node;
+            }
+        }
+        Node node = selected != null ? selected : fallback;
+        node.outstanding.incrementAndGet();
+        return node;
+    }
+
+    /**
+     * Registra o fim de uma requisição e atualiza a saúde do nó.
+     *
+     * @param node          Nó obtido por {@link #acquire()}.
+     * @param success       Indica se a requisição foi concluída sem erro de comunicação nem resposta 5xx.
+     * @param latencyMillis Latência da requisição ou um valor negativo quando não deve ser considerada.
+     */
+    void release(Node node, boolean success, long latencyMillis) {
+        node.outstanding.decrementAndGet();
+        if (nodes.size() == 1) {
+            return;
+        }
+
+        synchronized (node) {
+            boolean spike = false;
+            if (latencyMillis >= 0) {
+                spike = node.averageLatency > 0
+                        && latencyMillis > Math.max(minSpikeMillis, node.averageLatency * latencySpikeFactor);
+                node.averageLatency = node.averageLatency == 0 ? latencyMillis
+                        : node.averageLatency * 0.9 + latencyMillis * 0.1;
+            }
+
+            if (success && !spike) {
+                node.consecutiveFailures = 0;
+                return;
+            }
+            if (++node.consecutiveFailures >= maxFailures && node.isHealthy()) {
+                node.ejectedUntil = System.currentTimeMillis() + ejectionMillis;
+                ConnectorMetrics.increment("jira.nodes.ejections");
+                logger.warn("Nó do Jira {} removido da seleção após {} falhas ou picos de latência.", node.baseUrl,
+                        node.consecutiveFailures);
+            }
+        }
+    }
+
+    /**
+     * Sonda os nós removidos cujo período de remoção expirou, reintegrando-os se responderem com sucesso.
+     */
+    private void probeEjected() {
+        for (Node node : nodes) {
+            if (node.isHealthy() || System.currentTimeMillis() < node.ejectedUntil) {
+                continue;
+            }
+
+            HttpGet probe = new HttpGet(node.baseUrl + "/status");
+            int timeout = (int) Math.min(Integer.MAX_VALUE, ejectionMillis);
+            probe.setConfig(RequestConfig.custom().setConnectTimeout(timeout).setSocketTimeout(timeout).build());
+            boolean healthy;
+            try {
+                healthy = node.httpClient.execute(probe, ResponseHandlers.statusOnly()) == HttpStatus.SC_OK;
+            } catch (Exception e) {
+                healthy = false;
+            } finally {
+                node.takeServerError(probe);
+            }
+
+            synchronized (node) {
+                if (healthy) {
+                    node.ejectedUntil = 0;
+                    node.consecutiveFailures = 0;
+                    logger.info("Nó do Jira {} reintegrado à seleção.", node.baseUrl);
+                } else {
+                    node.ejectedUntil = System.currentTimeMillis() + ejectionMillis;
+                }
+            }
+        }
+    }
+
+    /**
+     * Nó do Jira com seu pool de conexões e estado de saúde.
+     */
+    static class Node {
+
+        private final String baseUrl;
+        private final CloseableHttpClient httpClient;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final Set<HttpRequest> serverErrors = ConcurrentHashMap.newKeySet();
+        private volatile long ejectedUntil;
+        private int consecutiveFailures;
+        private double averageLatency;
+
+        Node(String baseUrl, HttpClientBuilder builder) {
+            this.baseUrl = baseUrl;
+            // A resposta 5xx é associada à requisição original, e não ao nó, pois várias requisições podem estar em
+            // andamento no mesmo nó ao mesmo tempo
+            this.httpClient = builder.addInterceptorLast((HttpResponseInterceptor) (response, context) -> {
+                if (response.getStatusLine().getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+                    HttpRequest request = HttpCoreContext.adapt(context).getRequest();
+                    while (request instanceof HttpRequestWrapper) {
+                        request = ((HttpRequestWrapper) request).getOriginal();
+                    }
+                    if (request != null) {
+                        serverErrors.add(request);
+                    }
+                }
+            }).build();
+        }
+
+        /**
+         * Verifica se a requisição recebeu uma resposta 5xx deste nó, descartando o registro.
+         *
+         * @param request Requisição executada com o cliente do nó.
+         * @return true se a requisição recebeu uma resposta 5xx.
+         */
+        boolean takeServerError(HttpRequest request) {
+            return serverErrors.remove(request);
+        }
+
+        String getBaseUrl() {
+            return baseUrl;
+        }
+
+        CloseableHttpClient getHttpClient() {
+            return httpClient;
+        }
+
+        private boolean isHealthy() {
+            return ejectedUntil == 0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package jira;
+
+import com.google.common.base.Strings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publica o resultado do cenário nas tarefas do Jira indicadas pelas tags {@code @Jira_}: comentário com o
+ * resultado, evidência e, opcionalmente, transição para o status configurado.
+ */
+class JiraResultSink implements ResultSink {
+
+    private static final String JIRA_TAG = "@Jira_";
+
+    private final boolean comment;
+    private final boolean evidence;
+    private final String passStatus;
+    private final String failStatus;
+
+    /**
+     * Construtor do destino Jira.
+     *
+     * @param comment    Indica se um comentário com o resultado deve ser adicionado.
+     * @param evidence   Indica se a evidência deve ser anexada.
+     * @param passStatus Status de destino quando o cenário passar ou null para não transicionar.
+     * @param failStatus Status de destino quando o cenário falhar ou null para não transicionar.
+     */
+    JiraResultSink(boolean comment, boolean evidence, String passStatus, String failStatus) {
+        this.comment = comment;
+        this.evidence = evidence;
+        this.passStatus = passStatus;
+        this.failStatus = failStatus;
+    }
+
+    @Override
+    public String getName() {
+        return "Jira";
+    }
+
+    @Override
+    public boolean accepts(ScenarioResult result) {
+        return JiraConnector.getInstance().isActive() && !getTaskKeys(result).isEmpty();
+    }
+
+    @Override
+    public void publish(ScenarioResult result) {
+        JiraConnector jiraConnector = JiraConnector.getInstance();
+        String targetStatus = result.isPassed() ? passStatus : failStatus;
+
+        for (String taskKey : getTaskKeys(result)) {
+            if (comment && IdempotencyGuard.getInstance().isActive()) {
+                // Enviado sem agrupamento, para que o comentário seja identificado pelo cenário em novas tentativas
+                jiraConnector.addComment(result.getName(), result.isPassed() ? "Pass" : "Fail", taskKey,
+                        formatComment(result));
+            } else if (comment) {
+                JiraConnector.addNewComment(taskKey, formatComment(result));
+                JiraConnector.flushComments(taskKey);
+            }
+            if (evidence) {
+                jiraConnector.addEvidenceToTask(JIRA_TAG + taskKey);
+            }
+            if (!Strings.isNullOrEmpty(targetStatus)) {
+                jiraConnector.transitionIssueByName(taskKey, targetStatus);
+            }
+        }
+    }
+
+    private static List<String> getTaskKeys(ScenarioResult result) {
+        List<String> taskKeys = new ArrayList<>();
+        for (String tag : result.getTags()) {
+            if (tag.startsWith(JIRA_TAG)) {
+                taskKeys.add(tag.replace(JIRA_TAG, "").trim());
+            }
+        }
+        return taskKeys;
+    }
+
+    private static String formatComment(ScenarioResult result) {
+        StringBuilder text = new StringBuilder()
+                .append("Cenário '").append(result.getName()).append("' ")
+                .append(result.isPassed() ? "PASSOU" : "FALHOU")
+                .append(" em ").append(result.getDurationMillis()).append(" ms.");
+        if (!Strings.isNullOrEmpty(result.getDetails())) {
+            text.append("\n").append(result.getDetails());
+        }
+        return result.isPassed() ? text.toString() : JiraConnector.appendLog(text.toString(), result.getLogTail());
+    }
+}
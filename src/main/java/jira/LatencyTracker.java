@@ -0,0 +1,90 @@
+package jira;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantém as latências mais recentes de cada endpoint para o cálculo de percentis.
+ */
+class LatencyTracker {
+
+    private final int windowSize;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor do rastreador de latência.
+     *
+     * @param windowSize Quantidade de amostras mantidas por endpoint.
+     */
+    LatencyTracker(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Registra a latência de uma requisição.
+     *
+     * @param endpoint      Nome do endpoint.
+     * @param latencyMillis Latência em milissegundos.
+     */
+    void record(String endpoint, long latencyMillis) {
+        windows.computeIfAbsent(endpoint, key -> new Window(windowSize)).add(latencyMillis);
+    }
+
+    /**
+     * Quantidade de amostras disponíveis para o endpoint.
+     *
+     * @param endpoint Nome do endpoint.
+     * @return Quantidade de amostras, limitada ao tamanho da janela.
+     */
+    int samples(String endpoint) {
+        Window window = windows.get(endpoint);
+        return window == null ? 0 : window.size();
+    }
+
+    /**
+     * Calcula o percentil das latências recentes do endpoint.
+     *
+     * @param endpoint   Nome do endpoint.
+     * @param percentile Percentil desejado, entre 0 e 100.
+     * @return Latência em milissegundos ou -1 se não houver amostras.
+     */
+    long percentile(String endpoint, double percentile) {
+        Window window = windows.get(endpoint);
+        return window == null ? -1 : window.percentile(percentile);
+    }
+
+    private static class Window {
+
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        private Window(int size) {
+            this.samples = new long[size];
+        }
+
+        private synchronized void add(long value) {
+            samples[next] = value;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        private synchronized int size() {
+            return count;
+        }
+
+        private long percentile(double percentile) {
+            long[] sorted;
+            synchronized (this) {
+                if (count == 0) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Daemon de reporte compartilhado pelos processos de teste de uma mesma máquina. Recebe as operações pelo socket
+ * Unix local e as executa com os conectores deste processo, de forma que o pool de conexões, o agrupamento de
+ * comentários, a consolidação de ciclos e as faixas de prioridade sejam compartilhados por todos os processos.
+ * Cada operação é respondida somente após a sua execução, com o resultado obtido.
+ *
+ * <p>O socket é acessível apenas pelo usuário do daemon. O daemon não inicia se outro daemon estiver respondendo
+ * no mesmo caminho.</p>
+ *
+ * <p>Uso: {@code ReportingDaemon [caminho do socket]}</p>
+ */
+public class ReportingDaemon {
+
+    private static final Logger logger = LogManager.getLogger(ReportingDaemon.class);
+    private static final InternalPropertiesLoader pLoader = new InternalPropertiesLoader("configuration_core.properties");
+
+    private final Path socketPath;
+    private final ExecutorService executor;
+
+    /**
+     * Construtor do daemon.
+     *
+     * @param socketPath Caminho do socket Unix.
+     * @param threads    Quantidade de threads que executam as operações recebidas.
+     */
+    public ReportingDaemon(Path socketPath, int threads) {
+        this.socketPath = socketPath;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "reporting-daemon-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Os conectores deste processo executam as operações diretamente, sem encaminhá-las a si mesmos
+        ReportingDaemonClient.markServerProcess();
+        Path socketPath = args.length > 0 ? Paths.get(args[0]) : ReportingDaemonClient.socketPath(pLoader);
+        new ReportingDaemon(socketPath,
+                Integer.parseInt(pLoader.getValue("reporting.daemon.threads", "8"))).run();
+    }
+
+    /**
+     * Aceita conexões até o encerramento do processo. As operações pendentes são concluídas no encerramento.
+     *
+     * @throws IOException se outro daemon estiver ativo no mesmo caminho ou se o socket não puder ser criado.
+     */
+    public void run() throws IOException {
+        prepareSocketPath();
+
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            // Falha caso outro daemon tenha criado o socket após a verificação, sem removê-lo
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            try {
+                ReportingDaemonClient.restrictToOwner(socketPath, false);
+                Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "reporting-daemon-shutdown"));
+                logger.info("Daemon de reporte aguardando conexões em '{}'.", socketPath);
+                while (server.isOpen()) {
+                    SocketChannel client = server.accept();
+                    Thread thread = new Thread(() -> serve(client), "reporting-daemon-connection");
+                    thread.setDaemon(true);
+                    thread.start();
+                }
+            } finally {
+                Files.deleteIfExists(socketPath);
+            }
+        }
+    }
+
+    /**
+     * Prepara o diretório do socket, acessível apenas pelo usuário atual, e remove o socket deixado por um daemon
+     * encerrado. Um socket que ainda responde pertence a um daemon ativo e não é removido.
+     */
+    private void prepareSocketPath() throws IOException {
+        Path directory = socketPath.toAbsolutePath().getParent();
+        if (Files.notExists(directory)) {
+            Files.createDirectories(directory);
+            ReportingDaemonClient.restrictToOwner(directory, true);
+        } else if (directory.equals(ReportingDaemonClient.defaultSocketDirectory().toAbsolutePath())) {
+            ReportingDaemonClient.checkPrivateDirectory(directory);
+        }
+
+        if (Files.exists(socketPath, LinkOption.NOFOLLOW_LINKS)) {
+            if (isAnswering()) {
+                throw new IOException("Já existe um daemon de reporte ativo em '" + socketPath + "'.");
+            }
+            logger.info("Removendo o socket de um daemon de reporte encerrado em '{}'.", socketPath);
+            Files.delete(socketPath);
+        }
+    }
+
+    private boolean isAnswering() {
+        try (SocketChannel probe = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            probe.connect(UnixDomainSocketAddress.of(socketPath));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void serve(SocketChannel client) {
+        try (SocketChannel channel = client;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            while (true) {
+                ReportingFrame frame = ReportingFrame.readFrom(in);
+                out.writeByte(execute(frame));
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // Processo de teste encerrou a conexão
+        } catch (IOException e) {
+            logger.warn("Conexão com processo de teste encerrada com erro", e);
+        }
+    }
+
+    /**
+     * Executa a operação no pool do daemon e aguarda o seu resultado. Operações desconhecidas, incompletas ou
+     * recusadas pelo pool não são executadas e devem ser executadas pelo próprio processo de teste.
+     *
+     * @return Resposta ao processo de teste.
+     */
+    private byte execute(ReportingFrame frame) {
+        BooleanSupplier operation;
+        try {
+            operation = toOperation(frame);
+        } catch (BufferUnderflowException e) {
+            logger.warn("Quadro incompleto recebido pelo daemon de reporte (operação {})", frame.getOpcode());
+            return ReportingFrame.ACK_REJECTED;
+        }
+        if (operation == null) {
+            logger.warn("Operação desconhecida recebida pelo daemon de reporte: {}", frame.getOpcode());
+            return ReportingFrame.ACK_REJECTED;
+        }
+
+        Future<Boolean> result;
+        try {
+            result = executor.submit(operation::getAsBoolean);
+        } catch (RejectedExecutionException e) {
+            return ReportingFrame.ACK_REJECTED;
+        }
+        ConnectorMetrics.increment("reporting.daemon.received");
+
+        try {
+            return result.get() ? ReportingFrame.ACK_SUCCEEDED : ReportingFrame.ACK_FAILED;
+        } catch (ExecutionException e) {
+            logger.error("Erro ao executar a operação {} recebida pelo daemon", frame.getOpcode(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ReportingFrame.ACK_FAILED;
+    }
+
+    /**
+     * Converte o quadro na operação correspondente. O controle de idempotência é feito pelo processo de teste, que
+     * confirma a operação ao receber a resposta; por isso as operações são executadas sem consultá-lo.
+     */
+    private static BooleanSupplier toOperation(ReportingFrame frame) {
+        switch (frame.getOpcode()) {
+            case ReportingFrame.COMMENT: {
+                String scenarioName = frame.getString();
+                String taskKey = frame.getString();
+                String comment = frame.getString();
+                if (scenarioName == null) {
+                    return () -> {
+                        JiraConnector.addNewComment(taskKey, comment);
+                        return true;
+                    };
+                }
+                return () -> JiraConnector.getInstance().postComment(taskKey, comment);
+            }
+            case ReportingFrame.EVIDENCE: {
+                String taskKey = frame.getString();
+                boolean bundle = frame.getBoolean();
+                List<File> files = new ArrayList<>();
+                for (String path : frame.getStrings()) {
+                    files.add(new File(path));
+                }
+                return () -> {
+                    JiraConnector.getInstance().addEvidenceFiles(taskKey, files, bundle);
+                    return true;
+                };
+            }
+            case ReportingFrame.TRANSITION: {
+                String taskKey = frame.getString();
+                String statusId = frame.getString();
+                return () -> {
+                    JiraConnector.updateStatus(taskKey, statusId);
+                    return true;
+                };
+            }
+            case ReportingFrame.TRANSITION_BY_NAME: {
+                String taskKey = frame.getString();
+                String statusName = frame.getString();
+                return () -> JiraConnector.updateStatusByName(taskKey, statusName);
+            }
+            case ReportingFrame.EXECUTION: {
+                List<String> tags = frame.getStrings();
+                boolean passed = frame.getBoolean();
+                long executionTime = frame.getLong();
+                return () -> ZephyrConnector.reportExecution(tags, passed, executionTime,
+                        IdempotencyGuard.Ticket.untracked());
+            }
+            case ReportingFrame.CYCLE_STATUS: {
+                List<String> tags = frame.getStrings();
+                String status = frame.getString();
+                return () -> {
+                    ZephyrConnector.updateCycleStatus(tags, status);
+                    return true;
+                };
+            }
+            default:
+                return null;
+        }
+    }
+
+    private void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                logger.warn("Operações pendentes do daemon de reporte não foram concluídas no encerramento.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        JiraConnector.flushComments();
+        ZephyrConnector.flushExecutions();
+        ZephyrConnector.flushCycleStatus();
+    }
+}
@@ -0,0 +1,358 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Encaminha as operações dos conectores ao {@link ReportingDaemon} da máquina por um socket Unix local e aguarda o
+ * resultado da execução. Quando o daemon não estiver disponível, {@link #forward(ReportingFrame)} devolve
+ * {@link Outcome#NOT_FORWARDED} e o conector executa a operação diretamente; uma nova conexão é tentada após o
+ * intervalo de espera.
+ *
+ * <p>Cada thread utiliza uma conexão própria durante a operação, reaproveitada em seguida pelas demais, de forma que
+ * operações longas de uma thread não bloqueiem as outras.</p>
+ *
+ * <p>A resposta é aguardada por até {@code reporting.daemon.replyTimeoutMillis}; ao fim do prazo a conexão é fechada.
+ * Se a operação já foi enviada por completo e a resposta não chegou, o daemon pode tê-la executado: o resultado é
+ * {@link Outcome#UNKNOWN} e a operação não é executada novamente pelo processo.</p>
+ */
+class ReportingDaemonClient {
+
+    private static final Logger logger = LogManager.getLogger(ReportingDaemonClient.class);
+    private static final InternalPropertiesLoader pLoader = new InternalPropertiesLoader("configuration_core.properties");
+    private static final long RETRY_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "reporting-daemon-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile boolean serverProcess;
+
+    private static final ReportingDaemonClient instance = new ReportingDaemonClient();
+
+    private final boolean enabled;
+    private final Path socketPath;
+    private final long replyTimeoutMillis;
+    private final Deque<Connection> idle = new ConcurrentLinkedDeque<>();
+    private volatile long retryAt;
+
+    private ReportingDaemonClient() {
+        this.enabled = Boolean.parseBoolean(pLoader.getValue("reporting.daemon.enabled"));
+        this.socketPath = socketPath(pLoader);
+        this.replyTimeoutMillis = Long.parseLong(pLoader.getValue("reporting.daemon.replyTimeoutMillis", "120000"));
+    }
+
+    /**
+     * Obtém a única instância de ReportingDaemonClient.
+     *
+     * @return Instância de ReportingDaemonClient.
+     */
+    static ReportingDaemonClient getInstance() {
+        return instance;
+    }
+
+    /**
+     * Caminho do socket do daemon, configurado em {@code reporting.daemon.socket}. Por padrão, o socket fica em um
+     * diretório do usuário dentro da pasta temporária, acessível apenas por ele.
+     *
+     * @param pLoader Propriedades do framework.
+     * @return Caminho do socket.
+     */
+    static Path socketPath(InternalPropertiesLoader pLoader) {
+        return Paths.get(pLoader.getValue("reporting.daemon.socket",
+                defaultSocketDirectory().resolve("reporting.sock").toString()));
+    }
+
+    /**
+     * Diretório padrão do socket, exclusivo do usuário atual.
+     *
+     * @return Caminho do diretório.
+     */
+    static Path defaultSocketDirectory() {
+        return Paths.get(System.getProperty("java.io.tmpdir"), "jira-reporting-" + System.getProperty("user.name"));
+    }
+
+    /**
+     * Restringe o acesso ao arquivo ou diretório ao usuário atual, em sistemas com permissões POSIX.
+     *
+     * @param path      Caminho do arquivo ou diretório.
+     * @param directory true se o caminho for um diretório.
+     */
+    static void restrictToOwner(Path path, boolean directory) throws IOException {
+        if (supportsPosix(path)) {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString(directory ? "rwx------" : "rw-------"));
+        }
+    }
+
+    /**
+     * Verifica, em sistemas com permissões POSIX, se o diretório pertence ao usuário atual e não é acessível por
+     * outros usuários, impedindo que outro usuário da máquina crie o socket ou receba as operações.
+     *
+     * @param directory Diretório do socket.
+     * @throws IOException se o diretório não for exclusivo do usuário atual.
+     */
+    static void checkPrivateDirectory(Path directory) throws IOException {
+        if (!supportsPosix(directory)) {
+            return;
+        }
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)
+                || !Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS).getName()
+                .equals(System.getProperty("user.name"))) {
+            throw new IOException("O diretório '" + directory + "' não pertence ao usuário atual.");
+        }
+        Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS);
+        if (!PosixFilePermissions.fromString("rwx------").containsAll(permissions)) {
+            throw new IOException("O diretório '" + directory + "' é acessível por outros usuários.");
+        }
+    }
+
+    private static boolean supportsPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    /**
+     * Indica que o processo atual é o próprio daemon, cujas operações são sempre executadas diretamente.
+     */
+    static void markServerProcess() {
+        serverProcess = true;
+    }
+
+    /**
+     * Verifica se as operações devem ser encaminhadas ao daemon.
+     *
+     * @return true se o modo daemon estiver ativo neste processo.
+     */
+    boolean isEnabled() {
+        return enabled && !serverProcess;
+    }
+
+    /**
+     * Encaminha a operação ao daemon quando o modo daemon estiver ativo. O quadro só é montado nesse caso.
+     *
+     * @param frame Fábrica do quadro da operação.
+     * @return Resultado da execução pelo daemon, ou {@link Outcome#NOT_FORWARDED} se a operação deve ser executada
+     * diretamente.
+     */
+    static Outcome forwardIfEnabled(Supplier<ReportingFrame> frame) {
+        return instance.isEnabled() ? instance.forward(frame.get()) : Outcome.NOT_FORWARDED;
+    }
+
+    /**
+     * Encaminha a operação ao daemon e aguarda a sua execução. Se a conexão for perdida durante o envio, a operação é
+     * devolvida para execução direta; se for perdida, ou o prazo da resposta se esgotar, após o envio completo, o
+     * resultado é desconhecido.
+     *
+     * @param frame Operação a ser encaminhada.
+     * @return Resultado da execução pelo daemon, ou {@link Outcome#NOT_FORWARDED} se a operação deve ser executada
+     * diretamente.
+     */
+    Outcome forward(ReportingFrame frame) {
+        if (!isEnabled()) {
+            return Outcome.NOT_FORWARDED;
+        }
+        Connection connection = idle.pollFirst();
+        if (connection == null && (connection = connect()) == null) {
+            return Outcome.NOT_FORWARDED;
+        }
+
+        try {
+            frame.writeTo(connection.out);
+        } catch (IOException e) {
+            logger.warn("Conexão com o daemon de reporte perdida. As operações serão executadas diretamente.", e);
+            connection.close();
+            closeIdle();
+            return Outcome.NOT_FORWARDED;
+        }
+
+        byte reply;
+        connection.awaitReply();
+        ScheduledFuture<?> deadline = watchdog.schedule(connection::expire, replyTimeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            reply = connection.in.readByte();
+        } catch (IOException e) {
+            connection.close();
+            if (connection.replyReceived()) {
+                // Conexão encerrada pelo daemon após receber a operação, provavelmente durante o seu encerramento
+                logger.warn("Conexão com o daemon de reporte perdida após o envio da operação {}. O resultado é "
+                        + "desconhecido e a operação não será executada novamente.", frame.getOpcode(), e);
+                closeIdle();
+            } else {
+                logger.warn("Sem resposta do daemon de reporte em {} ms para a operação {}. O resultado é "
+                        + "desconhecido e a operação não será executada novamente.", replyTimeoutMillis,
+                        frame.getOpcode());
+            }
+            ConnectorMetrics.increment("reporting.daemon.unknown");
+            return Outcome.UNKNOWN;
+        } finally {
+            deadline.cancel(false);
+        }
+        // A conexão pode ter sido fechada pelo prazo logo após a leitura da resposta
+        if (connection.replyReceived()) {
+            idle.offerFirst(connection);
+        }
+
+        switch (reply) {
+            case ReportingFrame.ACK_SUCCEEDED:
+                ConnectorMetrics.increment("reporting.daemon.forwarded");
+                return Outcome.SUCCEEDED;
+            case ReportingFrame.ACK_FAILED:
+                ConnectorMetrics.increment("reporting.daemon.forwarded");
+                return Outcome.FAILED;
+            default:
+                logger.warn("Operação {} recusada pelo daemon de reporte. Será executada diretamente.",
+                        frame.getOpcode());
+                return Outcome.NOT_FORWARDED;
+        }
+    }
+
+    private Connection connect() {
+        long now = System.currentTimeMillis();
+        if (now < retryAt) {
+            return null;
+        }
+
+        try {
+            Path directory = socketPath.toAbsolutePath().getParent();
+            if (directory.equals(defaultSocketDirectory().toAbsolutePath())) {
+                checkPrivateDirectory(directory);
+            }
+            SocketChannel opened = SocketChannel.open(StandardProtocolFamily.UNIX);
+            try {
+                opened.connect(UnixDomainSocketAddress.of(socketPath));
+            } catch (IOException e) {
+                opened.close();
+                throw e;
+            }
+            logger.debug("Nova conexão com o daemon de reporte em '{}'.", socketPath);
+            return new Connection(opened);
+        } catch (IOException | UnsupportedOperationException e) {
+            retryAt = now + RETRY_MILLIS;
+            logger.warn("Daemon de reporte indisponível em '{}' ({}). As operações serão executadas diretamente.",
+                    socketPath, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Descarta as conexões ociosas após uma falha, já que o daemon provavelmente foi encerrado.
+     */
+    private void closeIdle() {
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.close();
+        }
+        retryAt = System.currentTimeMillis() + RETRY_MILLIS;
+    }
+
+    /**
+     * Resultado do encaminhamento de uma operação ao daemon.
+     */
+    enum Outcome {
+
+        /**
+         * Operação não encaminhada ou recusada pelo daemon: deve ser executada pelo próprio processo.
+         */
+        NOT_FORWARDED,
+
+        /**
+         * Operação executada com sucesso pelo daemon.
+         */
+        SUCCEEDED,
+
+        /**
+         * Operação executada pelo daemon sem sucesso. Não deve ser repetida pelo processo.
+         */
+        FAILED,
+
+        /**
+         * Operação enviada ao daemon sem resposta dentro do prazo ou com a conexão perdida antes da resposta. Pode ter
+         * sido executada e, por isso, não deve ser repetida pelo processo.
+         */
+        UNKNOWN;
+
+        /**
+         * Verifica se a operação foi, ou pode ter sido, executada pelo daemon, com ou sem sucesso.
+         *
+         * @return true se o processo não deve executar a operação.
+         */
+        boolean isHandled() {
+            return this != NOT_FORWARDED;
+        }
+    }
+
+    /**
+     * Conexão com o daemon, utilizada por uma thread de cada vez.
+     */
+    private static class Connection {
+
+        private final SocketChannel channel;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private boolean awaiting;
+        private boolean expired;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        }
+
+        private synchronized void awaitReply() {
+            awaiting = true;
+        }
+
+        /**
+         * Encerra a espera pela resposta.
+         *
+         * @return false se a conexão foi fechada pelo prazo da resposta.
+         */
+        private synchronized boolean replyReceived() {
+            awaiting = false;
+            return !expired;
+        }
+
+        /**
+         * Fecha a conexão ao fim do prazo da resposta, interrompendo a leitura em andamento.
+         */
+        private synchronized void expire() {
+            if (awaiting) {
+                expired = true;
+                close();
+            }
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Falha ao fechar a conexão com o daemon de reporte", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package jira;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Quadro do protocolo binário entre os processos de teste e o {@link ReportingDaemon}.
+ *
+ * <p>Formato: {@code int length, byte opcode} seguido dos campos da operação. Textos são gravados como
+ * {@code int length + bytes UTF-8} (length -1 para null), listas como {@code int count} seguido dos textos,
+ * booleanos como um byte e números como {@code long}. O daemon responde a cada quadro com um byte após executar a
+ * operação: {@link #ACK_SUCCEEDED}, {@link #ACK_FAILED} (executada sem sucesso) ou {@link #ACK_REJECTED} (não
+ * executada, devendo ser executada pelo próprio processo de teste).</p>
+ */
+class ReportingFrame {
+
+    static final byte COMMENT = 1;
+    static final byte EVIDENCE = 2;
+    static final byte TRANSITION = 3;
+    static final byte TRANSITION_BY_NAME = 4;
+    static final byte EXECUTION = 5;
+    static final byte CYCLE_STATUS = 6;
+
+    static final byte ACK_SUCCEEDED = 0;
+    static final byte ACK_REJECTED = 1;
+    static final byte ACK_FAILED = 2;
+
+    private static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+
+    private final byte opcode;
+    private ByteBuffer buffer;
+
+    /**
+     * Cria um quadro vazio para a operação informada.
+     *
+     * @param opcode Código da operação.
+     */
+    ReportingFrame(byte opcode) {
+        this(opcode, ByteBuffer.allocate(256));
+    }
+
+    private ReportingFrame(byte opcode, ByteBuffer buffer) {
+        this.opcode = opcode;
+        this.buffer = buffer;
+    }
+
+    byte getOpcode() {
+        return opcode;
+    }
+
+    ReportingFrame putString(String value) {
+        if (value == null) {
+            ensure(Integer.BYTES).putInt(-1);
+            return this;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes);
+        return this;
+    }
+
+    ReportingFrame putStrings(Collection<String> values) {
+        ensure(Integer.BYTES).putInt(values.size());
+        values.forEach(this::putString);
+        return this;
+    }
+
+    ReportingFrame putBoolean(boolean value) {
+        ensure(1).put(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    ReportingFrame putLong(long value) {
+        ensure(Long.BYTES).putLong(value);
+        return this;
+    }
+
+    String getString() {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    List<String> getStrings() {
+        int count = buffer.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(getString());
+        }
+        return values;
+    }
+
+    boolean getBoolean() {
+        return buffer.get() != 0;
+    }
+
+    long getLong() {
+        return buffer.getLong();
+    }
+
+    /**
+     * Grava o quadro no stream.
+     *
+     * @param out Stream de saída.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(buffer.position() + 1);
+        out.writeByte(opcode);
+        out.write(buffer.array(), 0, buffer.position());
+        out.flush();
+    }
+
+    /**
+     * Lê um quadro do stream, posicionado para a leitura dos campos.
+     *
+     * @param in Stream de entrada.
+     * @return Quadro lido.
+     */
+    static ReportingFrame readFrom(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 1 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Tamanho de quadro inválido: " + length);
+        }
+        byte opcode = in.readByte();
+        byte[] payload = new byte[length - 1];
+        in.readFully(payload);
+        return new ReportingFrame(opcode, ByteBuffer.wrap(payload));
+    }
+
+    private ByteBuffer ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,281 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escalonador das requisições enviadas ao Jira e ao Zephyr em faixas de prioridade. Cada faixa possui limite
+ * próprio de concorrência e de bytes em trânsito, de forma que uploads grandes de evidência não atrasem as
+ * atualizações de status e execuções.
+ *
+ * <p>Sob acúmulo, a faixa {@link Lane#BULK} cede a vez enquanto houver atualizações críticas aguardando, por no
+ * máximo {@code http.lanes.bulk.maxYieldMillis} para não ficar parada sob tráfego crítico contínuo, e o trabalho
+ * excedente é adiado para execução em segundo plano ou descartado quando a fila de adiados está cheia.</p>
+ */
+public class RequestScheduler {
+
+    private static final Logger logger = LogManager.getLogger(RequestScheduler.class);
+    private static final InternalPropertiesLoader pLoader = new InternalPropertiesLoader("configuration_core.properties");
+
+    private static final RequestScheduler instance = new RequestScheduler();
+
+    /**
+     * Faixas de prioridade das requisições.
+     */
+    public enum Lane {
+        /** Transições de status e execuções do Zephyr. */
+        CRITICAL,
+        /** Comentários, criação e edição de campos. */
+        NORMAL,
+        /** Uploads de evidência. */
+        BULK
+    }
+
+    private final boolean enabled;
+    private final Map<Lane, LaneLimits> lanes = new EnumMap<>(Lane.class);
+    private final int maxQueuedBulk;
+    private final long maxYieldMillis;
+    private final long drainTimeoutSeconds;
+    private final ThreadPoolExecutor deferred;
+
+    private RequestScheduler() {
+        this(pLoader);
+    }
+
+    /**
+     * Construtor do escalonador a partir das propriedades {@code http.lanes.*}.
+     *
+     * @param pLoader Propriedades do framework.
+     */
+    RequestScheduler(InternalPropertiesLoader pLoader) {
+        this.enabled = Boolean.parseBoolean(pLoader.getValue("http.lanes.enabled"));
+        lanes.put(Lane.CRITICAL, limitsFor(pLoader, "critical", "16", "4096"));
+        lanes.put(Lane.NORMAL, limitsFor(pLoader, "normal", "8", "8192"));
+        lanes.put(Lane.BULK, limitsFor(pLoader, "bulk", "2", "65536"));
+        this.maxYieldMillis = Long.parseLong(pLoader.getValue("http.lanes.bulk.maxYieldMillis", "1000"));
+        this.maxQueuedBulk = Integer.parseInt(pLoader.getValue("http.lanes.bulk.maxQueued", "4"));
+        this.drainTimeoutSeconds = Long.parseLong(pLoader.getValue("http.lanes.drainTimeoutSeconds", "300"));
+        this.deferred = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Integer.parseInt(pLoader.getValue("http.lanes.bulk.maxDeferred", "64"))),
+                r -> {
+                    Thread thread = new Thread(r, "http-lane-deferred");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "http-lane-drain"));
+    }
+
+    private static LaneLimits limitsFor(InternalPropertiesLoader pLoader, String lane, String concurrency,
+                                        String maxKilobytes) {
+        return new LaneLimits(
+                Integer.parseInt(pLoader.getValue("http.lanes." + lane + ".concurrency", concurrency)),
+                Integer.parseInt(pLoader.getValue("http.lanes." + lane + ".maxKilobytesInFlight", maxKilobytes)));
+    }
+
+    /**
+     * Obtém a única instância de RequestScheduler.
+     *
+     * @return Instância de RequestScheduler.
+     */
+    public static RequestScheduler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Executa o trabalho na faixa informada, aguardando a liberação de concorrência e de bytes em trânsito.
+     *
+     * @param lane  Faixa de prioridade.
+     * @param bytes Quantidade de bytes que o trabalho enviará.
+     * @param work  Trabalho a ser executado.
+     * @return Resultado do trabalho.
+     */
+    public <T> T execute(Lane lane, long bytes, Work<T> work) throws IOException {
+        if (!enabled) {
+            return work.call();
+        }
+
+        LaneLimits limits = lanes.get(lane);
+        int kilobytes = limits.kilobytesFor(bytes);
+        limits.waiting.incrementAndGet();
+        try {
+            if (lane == Lane.BULK) {
+                yieldToCritical();
+            }
+            limits.concurrency.acquire();
+            try {
+                limits.bytesInFlight.acquire(kilobytes);
+            } catch (InterruptedException e) {
+                limits.concurrency.release();
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Requisição interrompida aguardando a faixa " + lane);
+        } finally {
+            limits.waiting.decrementAndGet();
+        }
+
+        try {
+            return work.call();
+        } finally {
+            limits.bytesInFlight.release(kilobytes);
+            limits.concurrency.release();
+        }
+    }
+
+    /**
+     * Executa o trabalho na faixa informada ou, se a faixa estiver acumulada, adia sua execução para segundo
+     * plano. Quando a fila de adiados estiver cheia o trabalho é descartado.
+     *
+     * @param lane  Faixa de prioridade.
+     * @param bytes Quantidade de bytes que o trabalho enviará.
+     * @param work  Trabalho a ser executado.
+     * @return false se o trabalho foi descartado, true caso contrário.
+     */
+    public boolean executeOrDefer(Lane lane, long bytes, Work<?> work) throws IOException {
+        return executeOrDefer(lane, bytes, work, () -> { });
+    }
+
+    /**
+     * Executa o trabalho na faixa informada ou, se a faixa estiver acumulada, adia sua execução para segundo
+     * plano. O trabalho descartado sem execução, por estar a fila de adiados cheia ou por ainda estar na fila ao fim
+     * do prazo de {@link #drain()}, é informado a {@code discarded}, que libera os recursos preparados para ele.
+     *
+     * @param lane      Faixa de prioridade.
+     * @param bytes     Quantidade de bytes que o trabalho enviará.
+     * @param work      Trabalho a ser executado.
+     * @param discarded Ação executada quando o trabalho é descartado sem execução.
+     * @return false se o trabalho foi descartado ao ser recebido, true caso contrário.
+     */
+    public boolean executeOrDefer(Lane lane, long bytes, Work<?> work, Runnable discarded) throws IOException {
+        if (!enabled || lanes.get(lane).waiting.get() < maxQueuedBulk) {
+            execute(lane, bytes, work);
+            return true;
+        }
+
+        try {
+            deferred.execute(new DeferredWork(lane, bytes, work, discarded));
+            ConnectorMetrics.increment("http.lanes." + lane.name().toLowerCase() + ".deferred");
+            return true;
+        } catch (RejectedExecutionException e) {
+            ConnectorMetrics.increment("http.lanes." + lane.name().toLowerCase() + ".shed");
+            logger.warn("Faixa {} sobrecarregada. Requisição descartada.", lane);
+            discarded.run();
+            return false;
+        }
+    }
+
+    /**
+     * Aguarda a conclusão dos trabalhos adiados por até {@code http.lanes.drainTimeoutSeconds}. Ao fim do prazo os
+     * trabalhos em execução são interrompidos e os ainda na fila são descartados.
+     */
+    public void drain() {
+        deferred.shutdown();
+        try {
+            if (!deferred.awaitTermination(drainTimeoutSeconds, TimeUnit.SECONDS)) {
+                List<Runnable> pending = deferred.shutdownNow();
+                logger.warn("Tempo esgotado aguardando as requisições adiadas. {} pendentes descartadas.",
+                        pending.size());
+                for (Runnable work : pending) {
+                    ((DeferredWork) work).discard();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Aguarda enquanto houver atualizações críticas na fila, limitado a {@code maxYieldMillis}. Após o limite o
+     * envio prossegue, disputando a vez com as demais faixas apenas pelos próprios limites.
+     */
+    private void yieldToCritical() throws InterruptedException {
+        LaneLimits critical = lanes.get(Lane.CRITICAL);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxYieldMillis);
+        while (critical.waiting.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                ConnectorMetrics.increment("http.lanes.bulk.yieldExpired");
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static class LaneLimits {
+
+        private final Semaphore concurrency;
+        private final Semaphore bytesInFlight;
+        private final int maxKilobytes;
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        private LaneLimits(int concurrency, int maxKilobytes) {
+            this.concurrency = new Semaphore(concurrency, true);
+            this.bytesInFlight = new Semaphore(maxKilobytes, true);
+            this.maxKilobytes = maxKilobytes;
+        }
+
+        /**
+         * Converte bytes em permissões (KB), limitando ao total da faixa para que um envio maior que o limite
+         * possa ser executado sozinho.
+         */
+        private int kilobytesFor(long bytes) {
+            return (int) Math.min(maxKilobytes, Math.max(0, (bytes + 1023) / 1024));
+        }
+    }
+
+    /**
+     * Trabalho adiado para execução em segundo plano.
+     */
+    private class DeferredWork implements Runnable {
+
+        private final Lane lane;
+        private final long bytes;
+        private final Work<?> work;
+        private final Runnable discarded;
+
+        private DeferredWork(Lane lane, long bytes, Work<?> work, Runnable discarded) {
+            this.lane = lane;
+            this.bytes = bytes;
+            this.work = work;
+            this.discarded = discarded;
+        }
+
+        @Override
+        public void run() {
+            try {
+                execute(lane, bytes, work);
+            } catch (IOException e) {
+                logger.error("Erro durante a execução de requisição adiada na faixa {}", lane, e);
+            }
+        }
+
+        private void discard() {
+            try {
+                discarded.run();
+            } catch (RuntimeException e) {
+                logger.error("Erro ao descartar requisição adiada na faixa {}", lane, e);
+            }
+        }
+    }
+
+    /**
+     * Trabalho executado dentro de uma faixa.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T call() throws IOException;
+    }
+}
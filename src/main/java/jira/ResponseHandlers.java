@@ -0,0 +1,214 @@
+package jira;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tratadores de resposta utilizados com {@code HttpClient.execute(request, handler)}, que sempre libera a conexão
+ * ao final do tratamento. Cada tratador lê apenas o que o chamador precisa: o código de status, alguns campos do
+ * JSON (lidos de forma incremental, encerrando a leitura assim que todos forem encontrados) ou o corpo em
+ * streaming.
+ */
+final class ResponseHandlers {
+
+    private ResponseHandlers() {
+    }
+
+    /**
+     * Tratador que devolve apenas o código de status, descartando o corpo da resposta.
+     *
+     * @return Tratador de resposta.
+     */
+    static ResponseHandler<Integer> statusOnly() {
+        return response -> {
+            EntityUtils.consume(response.getEntity());
+            return response.getStatusLine().getStatusCode();
+        };
+    }
+
+    /**
+     * Tratador que extrai os campos informados do JSON da resposta. Campos aninhados são informados com ponto
+     * (por exemplo, {@code fields.status.name}) e apenas valores primitivos são extraídos.
+     *
+     * @param paths Caminhos dos campos desejados.
+     * @return Tratador de resposta.
+     */
+    static ResponseHandler<JsonFields> jsonFields(String... paths) {
+        Set<String> wanted = new HashSet<>(Arrays.asList(paths));
+        return response -> {
+            int statusCode = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                return new JsonFields(statusCode, Collections.emptyMap());
+            }
+
+            Map<String, String> values = new HashMap<>();
+            try (JsonReader reader = new JsonReader(readerOf(entity))) {
+                if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    readObject(reader, "", wanted, values);
+                }
+            } catch (MalformedJsonException | IllegalStateException e) {
+                // Corpo que não é JSON (por exemplo, páginas de erro): apenas o código de status é devolvido
+                values.clear();
+            }
+            return new JsonFields(statusCode, values);
+        };
+    }
+
+    /**
+     * Tratador que entrega o corpo da resposta em streaming ao leitor informado.
+     *
+     * @param reader Leitor do corpo da resposta.
+     * @return Tratador de resposta.
+     */
+    static <T> ResponseHandler<T> stream(StreamReader<T> reader) {
+        return response -> {
+            HttpEntity entity = response.getEntity();
+            try (JsonReader json = entity == null ? null : new JsonReader(readerOf(entity))) {
+                return reader.read(response.getStatusLine().getStatusCode(), json);
+            }
+        };
+    }
+
+    /**
+     * Tratador que converte o corpo da resposta em um elemento JSON, lendo diretamente do stream quando o código
+     * de status for o esperado.
+     *
+     * @param expectedStatus Código de status esperado.
+     * @return Tratador de resposta; o elemento é null quando o código de status for diferente do esperado.
+     */
+    static ResponseHandler<JsonBody> json(int expectedStatus) {
+        return stream((statusCode, reader) -> new JsonBody(statusCode,
+                statusCode == expectedStatus && reader != null ? JsonParser.parseReader(reader) : null));
+    }
+
+    /**
+     * Lê o objeto atual, registrando os campos desejados. Retorna true quando todos já foram encontrados, de forma
+     * que o restante do corpo não seja interpretado.
+     */
+    private static boolean readObject(JsonReader reader, String prefix, Set<String> wanted,
+                                      Map<String, String> values) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String path = prefix + reader.nextName();
+            JsonToken token = reader.peek();
+            if (wanted.contains(path) && token != JsonToken.BEGIN_OBJECT && token != JsonToken.BEGIN_ARRAY) {
+                if (token == JsonToken.NULL) {
+                    reader.nextNull();
+                    values.put(path, null);
+                } else if (token == JsonToken.BOOLEAN) {
+                    values.put(path, String.valueOf(reader.nextBoolean()));
+                } else {
+                    values.put(path, reader.nextString());
+                }
+                if (values.size() == wanted.size()) {
+                    return true;
+                }
+            } else if (token == JsonToken.BEGIN_OBJECT && isParentOfWanted(path, wanted)) {
+                if (readObject(reader, path + ".", wanted, values)) {
+                    return true;
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return false;
+    }
+
+    private static boolean isParentOfWanted(String path, Set<String> wanted) {
+        String prefix = path + ".";
+        for (String candidate : wanted) {
+            if (candidate.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Reader readerOf(HttpEntity entity) throws IOException {
+        ContentType contentType = ContentType.get(entity);
+        Charset charset = contentType == null || contentType.getCharset() == null
+                ? StandardCharsets.UTF_8 : contentType.getCharset();
+        return new InputStreamReader(entity.getContent(), charset);
+    }
+
+    /**
+     * Leitura do corpo da resposta em streaming.
+     */
+    @FunctionalInterface
+    interface StreamReader<T> {
+
+        /**
+         * Lê o corpo da resposta.
+         *
+         * @param statusCode Código de status da resposta.
+         * @param reader     Leitor do JSON da resposta ou null quando não houver corpo.
+         * @return Resultado da leitura.
+         */
+        T read(int statusCode, JsonReader reader) throws IOException;
+    }
+
+    /**
+     * Código de status e campos extraídos da resposta.
+     */
+    static class JsonFields {
+
+        private final int statusCode;
+        private final Map<String, String> values;
+
+        JsonFields(int statusCode, Map<String, String> values) {
+            this.statusCode = statusCode;
+            this.values = values;
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        String get(String path) {
+            return values.get(path);
+        }
+    }
+
+    /**
+     * Código de status e corpo JSON da resposta.
+     */
+    static class JsonBody {
+
+        private final int statusCode;
+        private final JsonElement body;
+
+        JsonBody(int statusCode, JsonElement body) {
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        JsonElement getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Ponto único de publicação do resultado de um cenário. Recebe o resultado e as tags uma única vez e o envia a
+ * todos os destinos configurados (Jira, Zephyr e destinos adicionais) em paralelo, com timeout por destino, de
+ * forma que o tempo de reporte seja o do destino mais lento e não a soma de todos.
+ *
+ * <p>O pool deve comportar uma publicação por destino para cada thread de cenário ({@code reporting.threads}, por
+ * padrão 64 threads de cenário × 2 destinos). O timeout de cada destino é contado a partir do início da sua
+ * publicação, e não do envio ao pool: se o pool estiver ocupado, a espera na fila não esgota o timeout nem
+ * descarta resultados que ainda não começaram a ser publicados.</p>
+ */
+public class ResultPublisher {
+
+    private static final Logger logger = LogManager.getLogger(ResultPublisher.class);
+    private static final InternalPropertiesLoader pLoader = new InternalPropertiesLoader("configuration_core.properties");
+
+    private static final ResultPublisher instance = new ResultPublisher();
+
+    private final List<ResultSink> sinks = new CopyOnWriteArrayList<>();
+    private final long sinkTimeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private ResultPublisher() {
+        this(TimeUnit.SECONDS.toMillis(Long.parseLong(pLoader.getValue("reporting.sinkTimeoutSeconds", "60"))),
+                Integer.parseInt(pLoader.getValue("reporting.threads", "128")));
+        sinks.add(new ZephyrResultSink());
+        sinks.add(new JiraResultSink(
+                Boolean.parseBoolean(pLoader.getValue("reporting.jira.comment", "true")),
+                Boolean.parseBoolean(pLoader.getValue("reporting.jira.evidence", "true")),
+                pLoader.getValue("reporting.jira.passStatus"),
+                pLoader.getValue("reporting.jira.failStatus")));
+    }
+
+    /**
+     * Construtor do publicador, sem destinos registrados.
+     *
+     * @param sinkTimeoutMillis Tempo máximo de publicação em cada destino, a partir do seu início.
+     * @param threads           Quantidade de publicações em andamento ao mesmo tempo.
+     */
+    ResultPublisher(long sinkTimeoutMillis, int threads) {
+        this.sinkTimeoutMillis = sinkTimeoutMillis;
+        // As threads ociosas são encerradas, de forma que o pool só ocupa o necessário para os cenários em paralelo
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "result-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Obtém a única instância de ResultPublisher.
+     *
+     * @return Instância de ResultPublisher.
+     */
+    public static ResultPublisher getInstance() {
+        return instance;
+    }
+
+    /**
+     * Registra um destino adicional de publicação.
+     *
+     * @param sink Destino a ser registrado.
+     */
+    public void addSink(ResultSink sink) {
+        sinks.add(sink);
+    }
+
+    /**
+     * Publica o resultado do cenário em todos os destinos que o aceitam, em paralelo.
+     *
+     * @param result Resultado do cenário.
+     * @return true se todos os destinos publicaram com sucesso dentro do timeout, false caso contrário.
+     */
+    public boolean publish(ScenarioResult result) {
+        Map<ResultSink, SinkTask> pending = new LinkedHashMap<>();
+        for (ResultSink sink : sinks) {
+            if (sink.accepts(result)) {
+                SinkTask task = new SinkTask(sink, result);
+                pending.put(sink, task);
+                executor.execute(task);
+            }
+        }
+
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(sinkTimeoutMillis);
+        List<String> failed = new ArrayList<>();
+        for (Map.Entry<ResultSink, SinkTask> entry : pending.entrySet()) {
+            String sinkName = entry.getKey().getName();
+            SinkTask task = entry.getValue();
+            try {
+                task.started.await();
+                task.get(Math.max(0, task.startedAt + timeoutNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                failed.add(sinkName);
+                logger.error("Tempo esgotado publicando o cenário '{}' no {}.", result.getName(), sinkName);
+            } catch (ExecutionException e) {
+                failed.add(sinkName);
+                logger.error("Erro ao publicar o cenário '{}' no {}", result.getName(), sinkName, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.values().forEach(future -> future.cancel(true));
+                return false;
+            }
+        }
+        return failed.isEmpty();
+    }
+
+    /**
+     * Publicação em um destino, que registra o momento em que começou a ser executada.
+     */
+    private static class SinkTask extends FutureTask<Void> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile long startedAt;
+
+        private SinkTask(ResultSink sink, ScenarioResult result) {
+            super(() -> {
+                sink.publish(result);
+                return null;
+            });
+        }
+
+        @Override
+        public void run() {
+            startedAt = System.nanoTime();
+            started.countDown();
+            super.run();
+        }
+    }
+
+    /**
+     * Publica o resultado do cenário em todos os destinos configurados.
+     *
+     * @param result Resultado do cenário.
+     * @return true se todos os destinos publicaram com sucesso dentro do timeout, false caso contrário.
+     */
+    public static boolean publishResult(ScenarioResult result) {
+        return getInstance().publish(result);
+    }
+}
@@ -0,0 +1,29 @@
+package jira;
+
+/**
+ * Destino de publicação dos resultados de cenário.
+ */
+public interface ResultSink {
+
+    /**
+     * Nome do destino, utilizado nos logs.
+     *
+     * @return Nome do destino.
+     */
+    String getName();
+
+    /**
+     * Verifica se o resultado deve ser publicado neste destino (ex.: conector ativo e tags presentes).
+     *
+     * @param result Resultado do cenário.
+     * @return true se o resultado deve ser publicado.
+     */
+    boolean accepts(ScenarioResult result);
+
+    /**
+     * Publica o resultado no destino.
+     *
+     * @param result Resultado do cenário.
+     */
+    void publish(ScenarioResult result) throws Exception;
+}
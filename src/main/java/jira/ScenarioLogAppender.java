@@ -0,0 +1,137 @@
+package jira;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Appender do Log4j2 que mantém, para cada thread de cenário, os últimos eventos de log em um buffer circular de
+ * tamanho fixo, alocado uma única vez por thread. O final do log do cenário pode então ser anexado aos comentários
+ * de falha sem leitura de arquivos.
+ *
+ * <p>Configuração: {@code <ScenarioLog name="scenario" capacityKb="64"><PatternLayout pattern="..."/></ScenarioLog>}.
+ * Chame {@link #startScenario()} no início de cada cenário e {@link #tail(int)} na mesma thread ao final.</p>
+ */
+@Plugin(name = "ScenarioLog", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class ScenarioLogAppender extends AbstractAppender {
+
+    private static final String TRUNCATED = "[... log truncado ...]\n";
+
+    private static volatile int capacityBytes = 64 * 1024;
+    private static final ThreadLocal<LogRing> rings = ThreadLocal.withInitial(() -> new LogRing(capacityBytes));
+
+    private ScenarioLogAppender(String name, Filter filter, Layout<? extends Serializable> layout) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+    }
+
+    /**
+     * Cria o appender a partir da configuração do Log4j2.
+     *
+     * @param name       Nome do appender.
+     * @param capacityKb Tamanho do buffer de cada thread, em KB.
+     * @param layout     Layout dos eventos ou null para o padrão.
+     * @param filter     Filtro dos eventos ou null.
+     * @return Appender configurado.
+     */
+    @PluginFactory
+    public static ScenarioLogAppender createAppender(@PluginAttribute("name") String name,
+                                                     @PluginAttribute(value = "capacityKb", defaultInt = 64) int capacityKb,
+                                                     @PluginElement("Layout") Layout<? extends Serializable> layout,
+                                                     @PluginElement("Filter") Filter filter) {
+        capacityBytes = Math.max(1, capacityKb) * 1024;
+        return new ScenarioLogAppender(name == null ? "ScenarioLog" : name, filter,
+                layout == null ? PatternLayout.createDefaultLayout() : layout);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        rings.get().write(getLayout().toByteArray(event));
+    }
+
+    /**
+     * Descarta o log capturado na thread atual. Deve ser chamado no início de cada cenário.
+     */
+    public static void startScenario() {
+        rings.get().clear();
+    }
+
+    /**
+     * Obtém o final do log capturado na thread atual.
+     *
+     * @param maxBytes Quantidade máxima de bytes devolvidos.
+     * @return Final do log, iniciado por um aviso quando truncado, ou null se nada foi capturado.
+     */
+    public static String tail(int maxBytes) {
+        return rings.get().tail(maxBytes);
+    }
+
+    /**
+     * Buffer circular de bytes de uma thread.
+     */
+    private static class LogRing {
+
+        private final byte[] buffer;
+        private long written;
+
+        private LogRing(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void write(byte[] bytes) {
+            // Um evento maior que o buffer mantém apenas o seu final, gravado na posição que ocuparia no fluxo
+            int offset = Math.max(0, bytes.length - buffer.length);
+            int length = bytes.length - offset;
+            int position = (int) ((written + offset) % buffer.length);
+            int first = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, first);
+            System.arraycopy(bytes, offset + first, buffer, 0, length - first);
+            written += bytes.length;
+        }
+
+        private void clear() {
+            written = 0;
+        }
+
+        private String tail(int maxBytes) {
+            int length = (int) Math.min(Math.min(written, buffer.length), Math.max(0, maxBytes));
+            if (length == 0) {
+                return null;
+            }
+
+            byte[] bytes = new byte[length];
+            int start = (int) ((written - length) % buffer.length);
+            int first = Math.min(length, buffer.length - start);
+            System.arraycopy(buffer, start, bytes, 0, first);
+            System.arraycopy(buffer, 0, bytes, first, length - first);
+
+            if (written == length) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            // Truncado: descarta a linha incompleta do início (e, no mínimo, um caractere UTF-8 cortado)
+            int from = 0;
+            while (from < length && (bytes[from] & 0xC0) == 0x80) {
+                from++;
+            }
+            for (int i = from; i < length; i++) {
+                if (bytes[i] == '\n') {
+                    from = i + 1;
+                    break;
+                }
+            }
+            return TRUNCATED + new String(bytes, from, length - from, StandardCharsets.UTF_8);
+        }
+    }
+}
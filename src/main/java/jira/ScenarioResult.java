@@ -0,0 +1,77 @@
+package jira;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Resultado de um cenário a ser reportado pelo {@link ResultPublisher}.
+ */
+public class ScenarioResult {
+
+    private final String name;
+    private final boolean passed;
+    private final long durationMillis;
+    private final Set<String> tags;
+    private final String details;
+    private final String logTail;
+
+    /**
+     * Construtor do resultado do cenário.
+     *
+     * @param name           Nome do cenário.
+     * @param passed         true se o cenário PASSOU, false se FALHOU.
+     * @param durationMillis Tempo de execução em milissegundos.
+     * @param tags           Tags do cenário ({@code @Key_}, {@code @Zephyr_}, {@code @Jira_}).
+     * @param details        Detalhes adicionais (ex.: mensagem de erro) ou null.
+     */
+    public ScenarioResult(String name, boolean passed, long durationMillis, Collection<String> tags, String details) {
+        this(name, passed, durationMillis, tags, details, null);
+    }
+
+    /**
+     * Construtor do resultado do cenário com o final do log, anexado aos comentários de falha no Jira.
+     *
+     * @param name           Nome do cenário.
+     * @param passed         true se o cenário PASSOU, false se FALHOU.
+     * @param durationMillis Tempo de execução em milissegundos.
+     * @param tags           Tags do cenário ({@code @Key_}, {@code @Zephyr_}, {@code @Jira_}).
+     * @param details        Detalhes adicionais (ex.: mensagem de erro) ou null.
+     * @param logTail        Final do log do cenário, obtido com {@link ScenarioLogAppender#tail(int)} na thread do
+     *                       cenário, ou null.
+     */
+    public ScenarioResult(String name, boolean passed, long durationMillis, Collection<String> tags, String details,
+                          String logTail) {
+        this.name = name;
+        this.passed = passed;
+        this.durationMillis = durationMillis;
+        this.tags = Collections.unmodifiableSet(new LinkedHashSet<>(tags));
+        this.details = details;
+        this.logTail = logTail;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public String getLogTail() {
+        return logTail;
+    }
+}
@@ -0,0 +1,155 @@
+package jira;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolve transições do Jira pelo nome do status de destino, mantendo em cache os mapas de transição
+ * por projeto + tipo de tarefa + status atual e o último estado conhecido de cada tarefa.
+ */
+class TransitionResolver {
+
+    private final Cache<String, Map<String, Transition>> transitionsByState;
+    private final Cache<String, IssueState> issueStates;
+
+    /**
+     * Construtor do resolvedor de transições.
+     *
+     * @param maxEntries Quantidade máxima de entradas mantidas em cada cache.
+     */
+    TransitionResolver(long maxEntries) {
+        this.transitionsByState = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+        this.issueStates = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    /**
+     * Obtém o último estado conhecido da tarefa.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @return Estado da tarefa ou null se desconhecido.
+     */
+    IssueState getState(String taskKey) {
+        return issueStates.getIfPresent(taskKey);
+    }
+
+    /**
+     * Obtém a transição que leva ao status informado a partir do estado atual.
+     *
+     * @param state      Estado atual da tarefa.
+     * @param statusName Nome do status de destino ou da transição.
+     * @return Transição encontrada ou null se o mapa do estado não estiver em cache ou não possuir a transição.
+     */
+    Transition resolve(IssueState state, String statusName) {
+        Map<String, Transition> transitions = transitionsByState.getIfPresent(state.cacheKey());
+        return transitions == null ? null : transitions.get(normalize(statusName));
+    }
+
+    /**
+     * Registra o estado e as transições disponíveis a partir da resposta de
+     * {@code GET /issue/{key}?fields=project,issuetype,status&expand=transitions}.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     * @param issue   Corpo da resposta.
+     * @return Estado atual da tarefa.
+     */
+    IssueState register(String taskKey, JsonObject issue) {
+        JsonObject fields = issue.getAsJsonObject("fields");
+        IssueState state = new IssueState(
+                fields.getAsJsonObject("project").get("key").getAsString(),
+                fields.getAsJsonObject("issuetype").get("name").getAsString(),
+                fields.getAsJsonObject("status").get("name").getAsString());
+
+        Map<String, Transition> transitions = new HashMap<>();
+        JsonArray available = issue.getAsJsonArray("transitions");
+        if (available != null) {
+            for (JsonElement element : available) {
+                JsonObject transition = element.getAsJsonObject();
+                String toStatus = transition.getAsJsonObject("to").get("name").getAsString();
+                Transition resolved = new Transition(transition.get("id").getAsString(), toStatus);
+                transitions.putIfAbsent(normalize(transition.get("name").getAsString()), resolved);
+                transitions.put(normalize(toStatus), resolved);
+            }
+        }
+
+        transitionsByState.put(state.cacheKey(), transitions);
+        issueStates.put(taskKey, state);
+        return state;
+    }
+
+    /**
+     * Atualiza o estado conhecido da tarefa após uma transição bem-sucedida.
+     *
+     * @param taskKey    Chave da tarefa no Jira.
+     * @param state      Estado anterior da tarefa.
+     * @param transition Transição executada.
+     */
+    void moved(String taskKey, IssueState state, Transition transition) {
+        issueStates.put(taskKey, new IssueState(state.projectKey, state.issueType, transition.toStatus));
+    }
+
+    /**
+     * Descarta o estado conhecido da tarefa, forçando uma nova consulta na próxima transição.
+     *
+     * @param taskKey Chave da tarefa no Jira.
+     */
+    void invalidate(String taskKey) {
+        issueStates.invalidate(taskKey);
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Estado de uma tarefa utilizado como chave do mapa de transições.
+     */
+    static class IssueState {
+
+        private final String projectKey;
+        private final String issueType;
+        private final String status;
+
+        IssueState(String projectKey, String issueType, String status) {
+            this.projectKey = projectKey;
+            this.issueType = issueType;
+            this.status = status;
+        }
+
+        String getStatus() {
+            return status;
+        }
+
+        private String cacheKey() {
+            return projectKey + '|' + issueType + '|' + normalize(status);
+        }
+    }
+
+    /**
+     * Transição do workflow com o status de destino.
+     */
+    static class Transition {
+
+        private final String id;
+        private final String toStatus;
+
+        Transition(String id, String toStatus) {
+            this.id = id;
+            this.toStatus = toStatus;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        String getToStatus() {
+            return toStatus;
+        }
+    }
+}
@@ -3,11 +3,15 @@ package jira;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import data.InternalPropertiesLoader;
 import org.apache.http.HttpHeaders;
-import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
@@ -15,11 +19,11 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.google.common.base.Strings;
+import com.google.gson.Gson;
 
 
 /**
@@ -28,18 +32,51 @@ import com.google.common.base.Strings;
 public class ZephyrConnector {
 
     private static final Logger logger = LogManager.getLogger(ZephyrConnector.class);
-    private static boolean isActive;
-    private static String zephyrUrl = "https://api.zephyrscale.smartbear.com";
+    // Alterado também pela thread de aquecimento quando as credenciais são recusadas
+    private static volatile boolean isActive;
+    // Os demais campos são atribuídos apenas durante a inicialização da classe, que já garante a visibilidade
+    // para as threads que utilizam o conector
+    private static String zephyrUrl;
     private static String projectId;
     private static String zephyrKey;
     private static InternalPropertiesLoader pLoader = new InternalPropertiesLoader("configuration_core.properties");
-    private static final HttpClient httpClient = HttpClientBuilder.create().build();
-    private static final HttpClient httpClient1 = HttpClientBuilder.create().build();
+    private static final HttpClient httpClient = HttpClientFactory.createPooled(pLoader);
+    private static HttpResponseCache responseCache;
+    private static HedgedRequests hedgedRequests;
+    private static ZephyrKeyIndex keyIndex;
+    private static CycleStatusRollup cycleRollup;
+    private static ExecutionAggregator executionAggregator;
 
     private static final ZephyrConnector instance = new ZephyrConnector();
 
     private ZephyrConnector() {
         initializeFromProperties();
+        if (isActive && Boolean.parseBoolean(pLoader.getValue("zephyr.connector.prefetch.enabled"))
+                && !ReportingDaemonClient.getInstance().isEnabled()) {
+            prefetchKeyIndex();
+        }
+        if (isActive && Boolean.parseBoolean(pLoader.getValue("zephyr.connector.cycleRollup.enabled"))) {
+            cycleRollup = new CycleStatusRollup(TimeUnit.SECONDS.toMillis(
+                    Long.parseLong(pLoader.getValue("zephyr.connector.cycleRollup.intervalSeconds", "0"))),
+                    ZephyrConnector::postCycleStatus);
+            Runtime.getRuntime().addShutdownHook(new Thread(cycleRollup::shutdown, "zephyr-cycle-flush"));
+        }
+        if (isActive && Boolean.parseBoolean(pLoader.getValue("zephyr.connector.aggregation.enabled"))) {
+            executionAggregator = new ExecutionAggregator(TimeUnit.SECONDS.toMillis(
+                    Long.parseLong(pLoader.getValue("zephyr.connector.aggregation.windowSeconds", "300"))),
+                    ZephyrConnector::postExecution);
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(executionAggregator::shutdown, "zephyr-execution-flush"));
+        }
+        if (isActive && Boolean.parseBoolean(pLoader.getValue("zephyr.connector.warmup.enabled"))
+                && !ReportingDaemonClient.getInstance().isEnabled()) {
+            new ConnectionWarmup("Zephyr", httpClient, () -> {
+                HttpGet httpGet = new HttpGet(zephyrUrl + "/v2/projects/" + projectId);
+                setHeaders(httpGet);
+                return httpGet;
+            }, Integer.parseInt(pLoader.getValue("zephyr.connector.warmup.connections", "4")),
+                    () -> isActive = false).start();
+        }
     }
 
     /**
@@ -48,6 +85,10 @@ public class ZephyrConnector {
     private void initializeFromProperties() {
         try {
             isActive = Boolean.parseBoolean(pLoader.getValue("zephyr.connector.isActive"));
+            zephyrUrl = pLoader.getValue("zephyr.connector.url", "https://api.zephyrscale.smartbear.com")
+                    .replaceAll("/+$", "");
+            responseCache = HttpResponseCache.fromProperties(pLoader);
+            hedgedRequests = HedgedRequests.fromProperties(pLoader);
 
             if (isActive) {
                 zephyrKey = pLoader.getValue("zephyr.connector.zephyrKey");
@@ -63,6 +104,71 @@ public class ZephyrConnector {
         }
     }
 
+    /**
+     * Carrega as chaves dos casos e ciclos de teste do projeto, utilizando o índice persistido quando ainda estiver
+     * dentro da validade. Caso a consulta falhe, as validações voltam a ser feitas diretamente no Zephyr.
+     */
+    private static void prefetchKeyIndex() {
+        ZephyrKeyIndex index = new ZephyrKeyIndex(projectId,
+                Paths.get(pLoader.getValue("zephyr.connector.prefetch.path", "target/zephyr-index"), projectId + ".idx"));
+        index.load();
+
+        long maxAge = TimeUnit.MINUTES.toMillis(
+                Long.parseLong(pLoader.getValue("zephyr.connector.prefetch.maxAgeMinutes", "60")));
+        if (index.isFresh(maxAge)) {
+            keyIndex = index;
+            return;
+        }
+
+        int threads = Integer.parseInt(pLoader.getValue("zephyr.connector.prefetch.threads", "4"));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "zephyr-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ZephyrKeyFetcher fetcher = new ZephyrKeyFetcher(httpClient, zephyrUrl, projectId, zephyrKey,
+                Integer.parseInt(pLoader.getValue("zephyr.connector.prefetch.pageSize", "1000")), executor);
+        long start = System.currentTimeMillis();
+        try {
+            Set<String> testCases = fetcher.fetchAll("/v2/testcases");
+            Set<String> testCycles = fetcher.fetchAll("/v2/testcycles");
+            index.replace(testCases, testCycles, start);
+            keyIndex = index;
+            logger.info("Índice do Zephyr carregado em {} ms: {} casos e {} ciclos de teste.",
+                    System.currentTimeMillis() - start, index.testCaseCount(), index.testCycleCount());
+            index.save();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Falha ao carregar as chaves do Zephyr. As validações serão feitas sob demanda.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifica, pelo índice carregado no início da execução, se as chaves do caso e do ciclo de teste existem. Uma
+     * chave ausente do índice, como a de um caso criado após a consulta, é confirmada diretamente no Zephyr.
+     *
+     * @param testCaseKey  Chave do caso de teste.
+     * @param testCycleKey Chave do ciclo de teste.
+     * @return true se as chaves forem válidas ou se o índice não estiver disponível.
+     */
+    private static boolean isKnown(String testCaseKey, String testCycleKey) {
+        if (keyIndex == null) {
+            return true;
+        }
+        if (!testCaseExists(testCaseKey)) {
+            logger.error("Caso de teste '{}' não encontrado no projeto {} do Zephyr. Verifique a tag @Key_.",
+                    testCaseKey, projectId);
+            return false;
+        }
+        if (testCycleKey != null && !testCycleExists(testCycleKey)) {
+            logger.error("Ciclo de teste '{}' não encontrado no projeto {} do Zephyr. Verifique a tag @Zephyr_.",
+                    testCycleKey, projectId);
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Obtém a única instância de jira.ZephyrConnector.
      *
@@ -89,53 +195,186 @@ public class ZephyrConnector {
      * @param executionTime  Tempo de execução.
      */
     public static void createExecutionTest(Collection<String> tags, boolean scenarioStatus, long executionTime) {
-        String projectKey = projectId;
+        createExecutionTest(null, tags, scenarioStatus, executionTime);
+    }
+
+    /**
+     * Cria uma execução de teste no Zephyr usando os parâmetros fornecidos. Quando o controle de idempotência
+     * estiver ativo e o cenário for informado, execuções já confirmadas em uma tentativa anterior da mesma execução
+     * de CI são ignoradas.
+     * Com a agregação de execuções ativa, a execução é apenas registrada localmente e o Zephyr recebe uma
+     * execução resumida por caso de teste a cada janela.
+     *
+     * @param scenarioName   Nome do cenário, utilizado na identificação da execução (ou null).
+     * @param tags           Lista de tags associadas à tarefa.
+     * @param scenarioStatus Status do cenário (true se PASSADO, false se FALHADO).
+     * @param executionTime  Tempo de execução.
+     */
+    public static void createExecutionTest(String scenarioName, Collection<String> tags, boolean scenarioStatus,
+                                           long executionTime) {
         String testCaseKey = getTestCaseKeyByTags(tags);
         String testCycleKey = getCycleCaseKeyByTags(tags);
         String statusName = scenarioStatus ? "Pass" : "Fail";
+        String target = testCaseKey + "@" + testCycleKey;
+        String operation = "zephyr.execution." + statusName;
+        IdempotencyGuard.Ticket ticket = IdempotencyGuard.getInstance().open(scenarioName, target, operation);
+        if (!isActive()) {
+            return;
+        }
+        if (ticket.isAcknowledged()) {
+            logger.info("Execução do teste {} já registrada em uma tentativa anterior. Envio ignorado.", testCaseKey);
+            return;
+        }
+        // O daemon de reporte não controla a idempotência: a confirmação é registrada por este processo
+        ReportingDaemonClient.Outcome outcome = ReportingDaemonClient.forwardIfEnabled(
+                () -> new ReportingFrame(ReportingFrame.EXECUTION)
+                        .putStrings(tags).putBoolean(scenarioStatus).putLong(executionTime));
+        if (outcome.isHandled()) {
+            if (outcome == ReportingDaemonClient.Outcome.SUCCEEDED) {
+                ticket.acknowledge();
+            }
+            return;
+        }
+        reportExecution(tags, scenarioStatus, executionTime, ticket);
+    }
+
+    /**
+     * Envia a execução de teste ao Zephyr ou a registra na agregação de execuções, sem consultar o controle de
+     * idempotência. O ticket é confirmado quando a execução é criada ou, com a agregação ativa, quando a janela que
+     * a contém for publicada.
+     *
+     * @param tags           Lista de tags associadas à tarefa.
+     * @param scenarioStatus Status do cenário (true se PASSADO, false se FALHADO).
+     * @param executionTime  Tempo de execução.
+     * @param ticket         Ticket da operação no controle de idempotência.
+     * @return true se a execução foi criada ou registrada na agregação, false caso contrário.
+     */
+    static boolean reportExecution(Collection<String> tags, boolean scenarioStatus, long executionTime,
+                                   IdempotencyGuard.Ticket ticket) {
+        String testCaseKey = getTestCaseKeyByTags(tags);
+        String testCycleKey = getCycleCaseKeyByTags(tags);
+        if (!isActive() || !isKnown(testCaseKey, testCycleKey)) {
+            return false;
+        }
+
+        ExecutionAggregator aggregator = executionAggregator;
+        if (aggregator != null && testCaseKey != null && testCycleKey != null) {
+            aggregator.record(testCaseKey, testCycleKey, scenarioStatus, executionTime, ticket);
+            return true;
+        }
+        if (postExecution(testCaseKey, testCycleKey, scenarioStatus ? "Pass" : "Fail", executionTime, null)) {
+            ticket.acknowledge();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Envia uma execução de teste ao Zephyr.
+     *
+     * @param testCaseKey   Chave do caso de teste.
+     * @param testCycleKey  Chave do ciclo de teste.
+     * @param statusName    Status da execução.
+     * @param executionTime Tempo de execução.
+     * @param comment       Comentário da execução ou null.
+     * @return true se a execução foi criada, false caso contrário.
+     */
+    private static boolean postExecution(String testCaseKey, String testCycleKey, String statusName,
+                                         long executionTime, String comment) {
+        String projectKey = projectId;
         String zephyrApiUrl = zephyrUrl + "/v2/testexecutions";
-        if (isActive()) {
-            try {
-                validateUrl(zephyrApiUrl);
+        try {
+            validateUrl(zephyrApiUrl);
 
-                // Cria uma requisição HTTP POST
-                HttpPost httpPost = new HttpPost(new URI(zephyrApiUrl));
-                setHeaders(httpPost);
+            // Cria uma requisição HTTP POST
+            HttpPost httpPost = new HttpPost(new URI(zephyrApiUrl));
+            setHeaders(httpPost);
 
-                // Constrói o corpo da requisição JSON
-                String requestBody = String.format(
-                        "{ \"projectKey\": \"%s\", \"testCaseKey\": \"%s\", \"testCycleKey\": \"%s\", "
-                                + "\"statusName\": \"%s\", \"executionTime\": %d }",
-                        projectKey, testCaseKey, testCycleKey, statusName, executionTime);
+            // Constrói o corpo da requisição JSON
+            String requestBody = String.format(
+                    "{ \"projectKey\": \"%s\", \"testCaseKey\": \"%s\", \"testCycleKey\": \"%s\", "
+                            + "\"statusName\": \"%s\", \"executionTime\": %d%s }",
+                    projectKey, testCaseKey, testCycleKey, statusName, executionTime,
+                    comment == null ? "" : ", \"comment\": " + new Gson().toJson(comment));
 
-                // Adiciona o corpo à requisição POST
-                httpPost.setEntity(new StringEntity(requestBody, ContentType.APPLICATION_JSON));
+            // Adiciona o corpo à requisição POST
+            httpPost.setEntity(new StringEntity(requestBody, ContentType.APPLICATION_JSON));
 
-                // Executa a requisição POST
-                HttpResponse response = httpClient1.execute(httpPost);
+            // Executa a requisição POST
+            int statusCode = RequestScheduler.getInstance().execute(RequestScheduler.Lane.CRITICAL,
+                    requestBody.length(), () -> httpClient.execute(httpPost, ResponseHandlers.statusOnly()));
 
-                if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) {
-                    logger.info("Criação da execução de teste realizada com sucesso.");
-                    // Lógica adicional conforme necessário
-                }
-            } catch (IOException | URISyntaxException e) {
-                logger.error("Erro durante a criação da execução de teste", e);
+            if (statusCode == HttpStatus.SC_CREATED) {
+                logger.info("Criação da execução de teste realizada com sucesso.");
+                return true;
             }
+            logger.error("Falha ao criar a execução do teste {}. Código de status: {}", testCaseKey, statusCode);
+        } catch (IOException | URISyntaxException e) {
+            logger.error("Erro durante a criação da execução de teste", e);
         }
+        return false;
     }
 
     /**
-     * Atualiza o status do ciclo de teste.
+     * Atualiza o status do caso de teste no ciclo. Com a consolidação por ciclo ativa, o status é apenas registrado
+     * localmente e o Zephyr recebe uma única execução por caso de teste em cada ciclo (periodicamente ou ao final da
+     * execução), com o status consolidado dos cenários do caso.
      *
      * @param tags      Lista de tags associadas à tarefa.
      * @param newStatus Novo status a ser definido.
      */
     public static void updateCycleStatus(Collection<String> tags, String newStatus) {
-        String projectKey = projectId;
         String testCaseKey = getTestCaseKeyByTags(tags);
         String testCycleKey = getCycleCaseKeyByTags(tags);
-        String zephyrApiUrl = zephyrUrl + "/v2/testexecutions";
+        if (!isActive() || ReportingDaemonClient.forwardIfEnabled(() -> new ReportingFrame(ReportingFrame.CYCLE_STATUS)
+                .putStrings(tags).putString(newStatus)).isHandled()) {
+            return;
+        }
+        if (!isKnown(testCaseKey, testCycleKey)) {
+            return;
+        }
+
+        CycleStatusRollup rollup = cycleRollup;
+        if (rollup != null && testCycleKey != null) {
+            rollup.record(testCaseKey, testCycleKey, newStatus);
+        } else {
+            postCycleStatus(testCaseKey, testCycleKey, newStatus);
+        }
+    }
+
+    /**
+     * Publica imediatamente o status consolidado dos casos nos ciclos de teste. Deve ser chamado ao final da execução
+     * quando a consolidação por ciclo estiver ativa.
+     */
+    public static void flushCycleStatus() {
+        CycleStatusRollup rollup = cycleRollup;
+        if (rollup != null) {
+            rollup.flush();
+        }
+    }
 
+    /**
+     * Publica imediatamente as execuções agregadas pendentes. Deve ser chamado ao final da execução quando a
+     * agregação de execuções estiver ativa.
+     */
+    public static void flushExecutions() {
+        ExecutionAggregator aggregator = executionAggregator;
+        if (aggregator != null) {
+            aggregator.flush();
+        }
+    }
+
+    /**
+     * Envia ao Zephyr o status do caso de teste no ciclo, como uma execução do caso.
+     *
+     * @param testCaseKey  Chave do caso de teste.
+     * @param testCycleKey Chave do ciclo de teste.
+     * @param newStatus    Status a ser definido.
+     * @return true se o status foi aceito, false caso contrário.
+     */
+    private static boolean postCycleStatus(String testCaseKey, String testCycleKey, String newStatus) {
+        String projectKey = projectId;
+        String zephyrApiUrl = zephyrUrl + "/v2/testexecutions";
         try {
             // Constrói a URL da API do Zephyr
             validateUrl(zephyrApiUrl);
@@ -154,40 +393,87 @@ public class ZephyrConnector {
             httpPost.setEntity(new StringEntity(requestBody, ContentType.APPLICATION_JSON));
 
             // Executa a requisição POST
-            HttpResponse response = httpClient.execute(httpPost);
+            int statusCode = RequestScheduler.getInstance().execute(RequestScheduler.Lane.CRITICAL,
+                    requestBody.length(), () -> httpClient.execute(httpPost, ResponseHandlers.statusOnly()));
 
-            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) {
+            if (statusCode == HttpStatus.SC_CREATED) {
                 logger.info("Ciclo de teste atualizado para '{}' para o {}.", newStatus, testCycleKey);
-                // Lógica adicional conforme necessário
+                return true;
             }
+            logger.error("Falha ao atualizar o ciclo de teste {}. Código de status: {}", testCycleKey, statusCode);
         } catch (IOException | URISyntaxException e) {
             logger.error("Erro durante a atualização do status do ciclo de teste", e);
         }
+        return false;
     }
 
     /**
-     * Verifica se um ciclo de teste existe no Zephyr.
+     * Verifica se um ciclo de teste existe no Zephyr, consultando o índice carregado no início da execução. Um ciclo
+     * ausente do índice é consultado diretamente e, se existir, incluído no índice.
      *
      * @param testCycleKey Chave do ciclo de teste.
      * @return true se o ciclo existe, false caso contrário.
      */
     public static boolean testCycleExists(String testCycleKey) {
+        ZephyrKeyIndex index = keyIndex;
+        if (index != null && index.containsTestCycle(testCycleKey)) {
+            return true;
+        }
+        if (testCycleKey == null || !exists("testcycles", testCycleKey)) {
+            return false;
+        }
+        if (index != null) {
+            index.addTestCycle(testCycleKey);
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se um caso de teste existe no Zephyr, consultando o índice carregado no início da execução. Um caso
+     * ausente do índice é consultado diretamente e, se existir, incluído no índice.
+     *
+     * @param testCaseKey Chave do caso de teste.
+     * @return true se o caso existe, false caso contrário.
+     */
+    public static boolean testCaseExists(String testCaseKey) {
+        ZephyrKeyIndex index = keyIndex;
+        if (index != null && index.containsTestCase(testCaseKey)) {
+            return true;
+        }
+        if (testCaseKey == null || !exists("testcases", testCaseKey)) {
+            return false;
+        }
+        if (index != null) {
+            index.addTestCase(testCaseKey);
+        }
+        return true;
+    }
+
+    /**
+     * Consulta diretamente no Zephyr a existência de um recurso.
+     *
+     * @param resource Recurso da API, como {@code testcycles} ou {@code testcases}.
+     * @param key      Chave do recurso.
+     * @return true se o recurso existe, false caso contrário ou em caso de erro.
+     */
+    private static boolean exists(String resource, String key) {
         try {
             // Constrói a URL da API do Zephyr
-            String zephyrApiUrl = zephyrUrl + "/v2/testcycles/" + testCycleKey;
+            String zephyrApiUrl = zephyrUrl + "/v2/" + resource + "/" + key;
             validateUrl(zephyrApiUrl);
 
-            // Cria uma requisição HTTP GET
-            HttpGet httpGet = new HttpGet(zephyrApiUrl);
-            setHeaders(httpGet);
-
-            // Executa a requisição GET
-            HttpResponse response = httpClient.execute(httpGet);
+            // Executa a requisição GET, revalidando a resposta em cache quando existir. Cada tentativa
+            // (original ou duplicada pelo hedging) utiliza uma nova requisição
+            int statusCode = hedgedRequests.execute("zephyr." + resource, () -> {
+                HttpGet httpGet = new HttpGet(zephyrApiUrl);
+                setHeaders(httpGet);
+                return httpGet;
+            }, httpGet -> responseCache.status(httpClient, httpGet, zephyrApiUrl));
 
             // Retorna true se o código de status for OK (200)
-            return response.getStatusLine().getStatusCode() == HttpStatus.SC_OK;
+            return statusCode == HttpStatus.SC_OK;
         } catch (Exception e) {
-            logger.error("Erro ao verificar a existência do ciclo de teste", e);
+            logger.error("Erro ao verificar a existência de '{}' no Zephyr", key, e);
             return false;
         }
     }
@@ -0,0 +1,168 @@
+package jira;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.entity.ContentType;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Consulta as chaves das listagens paginadas de um projeto do Zephyr para o {@link ZephyrKeyIndex}.
+ *
+ * <p>A consulta é feita durante a inicialização do {@link ZephyrConnector}. Como as páginas seguintes são
+ * consultadas por outras threads, esta classe recebe toda a configuração no construtor e não utiliza membros
+ * estáticos do conector: essas threads ficariam bloqueadas até o fim da inicialização da classe, que por sua vez
+ * aguarda as páginas.</p>
+ */
+class ZephyrKeyFetcher {
+
+    private final HttpClient httpClient;
+    private final String zephyrUrl;
+    private final String projectKey;
+    private final String zephyrKey;
+    private final int pageSize;
+    private final ExecutorService executor;
+
+    /**
+     * Construtor da consulta.
+     *
+     * @param httpClient Cliente HTTP das consultas.
+     * @param zephyrUrl  URL base da API do Zephyr.
+     * @param projectKey Chave do projeto no Zephyr.
+     * @param zephyrKey  Token de acesso ao Zephyr.
+     * @param pageSize   Quantidade de registros por página.
+     * @param executor   Executor das consultas de página.
+     */
+    ZephyrKeyFetcher(HttpClient httpClient, String zephyrUrl, String projectKey, String zephyrKey, int pageSize,
+                     ExecutorService executor) {
+        this.httpClient = httpClient;
+        this.zephyrUrl = zephyrUrl;
+        this.projectKey = projectKey;
+        this.zephyrKey = zephyrKey;
+        this.pageSize = Math.max(1, pageSize);
+        this.executor = executor;
+    }
+
+    /**
+     * Consulta todas as chaves de uma listagem paginada do projeto. A primeira página informa o total de registros
+     * e as demais são consultadas em paralelo.
+     *
+     * @param path Caminho da listagem na API do Zephyr.
+     * @return Chaves encontradas.
+     */
+    Set<String> fetchAll(String path) throws IOException {
+        Set<String> keys = ConcurrentHashMap.newKeySet();
+
+        KeyPage first = fetchPage(path, 0, keys);
+        if (first.total < 0) {
+            // Listagem sem total: as páginas seguintes são consultadas em sequência
+            KeyPage page = first;
+            int startAt = 0;
+            while (page.count > 0 && !page.last) {
+                startAt += page.count;
+                page = fetchPage(path, startAt, keys);
+            }
+            return keys;
+        }
+
+        List<Future<KeyPage>> pages = new ArrayList<>();
+        for (int startAt = pageSize; startAt < first.total; startAt += pageSize) {
+            int offset = startAt;
+            pages.add(executor.submit(() -> fetchPage(path, offset, keys)));
+        }
+        for (Future<KeyPage> page : pages) {
+            try {
+                page.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Consulta interrompida: " + path);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Consulta uma página da listagem, incluindo as chaves no conjunto à medida que a resposta é lida.
+     */
+    private KeyPage fetchPage(String path, int startAt, Set<String> keys) throws IOException {
+        HttpGet httpGet;
+        try {
+            httpGet = new HttpGet(new URIBuilder(zephyrUrl + path)
+                    .addParameter("projectKey", projectKey)
+                    .addParameter("startAt", String.valueOf(startAt))
+                    .addParameter("maxResults", String.valueOf(pageSize))
+                    .build());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+        httpGet.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + zephyrKey);
+        httpGet.setHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.getMimeType());
+
+        return httpClient.execute(httpGet, ResponseHandlers.stream((statusCode, reader) -> {
+            if (statusCode != HttpStatus.SC_OK || reader == null) {
+                throw new IOException("Falha ao consultar " + path + ". Código de status: " + statusCode);
+            }
+            return readKeyPage(reader, keys);
+        }));
+    }
+
+    private static KeyPage readKeyPage(JsonReader reader, Set<String> keys) throws IOException {
+        KeyPage page = new KeyPage();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "total":
+                    page.total = reader.nextInt();
+                    break;
+                case "isLast":
+                    page.last = reader.nextBoolean();
+                    break;
+                case "values":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            if ("key".equals(reader.nextName())) {
+                                keys.add(reader.nextString());
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        page.count++;
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return page;
+    }
+
+    /**
+     * Resultado da leitura de uma página da listagem de chaves.
+     */
+    private static class KeyPage {
+        private int total = -1;
+        private int count;
+        private boolean last;
+    }
+}
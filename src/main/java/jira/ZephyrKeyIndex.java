@@ -0,0 +1,170 @@
+package jira;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice local das chaves de casos de teste e ciclos de teste de um projeto do Zephyr, carregado no início da
+ * execução e persistido entre execuções com a data da última consulta.
+ *
+ * <p>Formato: {@code int magic, int version, long fetchedAt, int caseCount, cases..., int cycleCount,
+ * cycles...}, com as chaves gravadas por {@link DataOutputStream#writeUTF(String)}.</p>
+ */
+class ZephyrKeyIndex {
+
+    private static final Logger logger = LogManager.getLogger(ZephyrKeyIndex.class);
+    private static final int MAGIC = 0x5A4B4931;
+    private static final int VERSION = 1;
+
+    private final String projectKey;
+    private final Path file;
+    private volatile Set<String> testCases = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> testCycles = ConcurrentHashMap.newKeySet();
+    private volatile long fetchedAt;
+
+    /**
+     * Construtor do índice.
+     *
+     * @param projectKey Chave do projeto no Zephyr.
+     * @param file       Arquivo onde o índice é persistido.
+     */
+    ZephyrKeyIndex(String projectKey, Path file) {
+        this.projectKey = projectKey;
+        this.file = file;
+    }
+
+    /**
+     * Carrega o índice do disco, caso exista. Um arquivo inválido é descartado e o índice é consultado novamente.
+     */
+    void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.warn("Índice local do Zephyr '{}' em formato desconhecido. Será reconstruído.", file);
+                return;
+            }
+            long savedAt = in.readLong();
+            Set<String> cases = readKeys(in);
+            Set<String> cycles = readKeys(in);
+            replace(cases, cycles, savedAt);
+            logger.info("Índice local do Zephyr do projeto {} carregado com {} casos e {} ciclos de teste.",
+                    projectKey, cases.size(), cycles.size());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Falha ao carregar o índice local do Zephyr '{}'. Será reconstruído.", file, e);
+        }
+    }
+
+    /**
+     * Grava o índice no disco de forma atômica.
+     */
+    synchronized void save() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fetchedAt);
+            writeKeys(out, testCases);
+            writeKeys(out, testCycles);
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Substitui o conteúdo do índice pelas chaves consultadas.
+     *
+     * @param cases     Chaves dos casos de teste.
+     * @param cycles    Chaves dos ciclos de teste.
+     * @param fetchedAt Momento da consulta.
+     */
+    void replace(Collection<String> cases, Collection<String> cycles, long fetchedAt) {
+        Set<String> newCases = ConcurrentHashMap.newKeySet(cases.size());
+        newCases.addAll(cases);
+        Set<String> newCycles = ConcurrentHashMap.newKeySet(cycles.size());
+        newCycles.addAll(cycles);
+        this.testCases = newCases;
+        this.testCycles = newCycles;
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * Inclui no índice um caso de teste confirmado diretamente no Zephyr após a consulta do índice.
+     *
+     * @param testCaseKey Chave do caso de teste.
+     */
+    void addTestCase(String testCaseKey) {
+        testCases.add(testCaseKey);
+    }
+
+    /**
+     * Inclui no índice um ciclo de teste confirmado diretamente no Zephyr após a consulta do índice.
+     *
+     * @param testCycleKey Chave do ciclo de teste.
+     */
+    void addTestCycle(String testCycleKey) {
+        testCycles.add(testCycleKey);
+    }
+
+    /**
+     * Verifica se o índice foi consultado há menos tempo que o informado.
+     *
+     * @param maxAgeMillis Idade máxima do índice.
+     * @return true se o índice puder ser utilizado sem nova consulta.
+     */
+    boolean isFresh(long maxAgeMillis) {
+        return fetchedAt > 0 && System.currentTimeMillis() - fetchedAt < maxAgeMillis;
+    }
+
+    boolean containsTestCase(String testCaseKey) {
+        return testCaseKey != null && testCases.contains(testCaseKey);
+    }
+
+    boolean containsTestCycle(String testCycleKey) {
+        return testCycleKey != null && testCycles.contains(testCycleKey);
+    }
+
+    int testCaseCount() {
+        return testCases.size();
+    }
+
+    int testCycleCount() {
+        return testCycles.size();
+    }
+
+    private static Set<String> readKeys(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Set<String> keys = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            keys.add(in.readUTF());
+        }
+        return keys;
+    }
+
+    private static void writeKeys(DataOutputStream out, Set<String> keys) throws IOException {
+        List<String> snapshot = new ArrayList<>(keys);
+        out.writeInt(snapshot.size());
+        for (String key : snapshot) {
+            out.writeUTF(key);
+        }
+    }
+}
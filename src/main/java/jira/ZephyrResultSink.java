@@ -0,0 +1,23 @@
+package jira;
+
+/**
+ * Publica o resultado do cenário como uma execução de teste no Zephyr ({@code @Key_} e {@code @Zephyr_}).
+ */
+class ZephyrResultSink implements ResultSink {
+
+    @Override
+    public String getName() {
+        return "Zephyr";
+    }
+
+    @Override
+    public boolean accepts(ScenarioResult result) {
+        return ZephyrConnector.isActive() && ZephyrConnector.getTestCaseKeyByTags(result.getTags()) != null;
+    }
+
+    @Override
+    public void publish(ScenarioResult result) {
+        ZephyrConnector.createExecutionTest(result.getName(), result.getTags(), result.isPassed(),
+                result.getDurationMillis());
+    }
+}
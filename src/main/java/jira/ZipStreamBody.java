@@ -0,0 +1,199 @@
+package jira;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Parte multipart que compacta um conjunto de arquivos em um único ZIP durante o envio, sem gerar arquivo
+ * temporário. Arquivos já compactados (imagens, PDF, ZIP) são armazenados sem nova compressão.
+ */
+class ZipStreamBody extends AbstractContentBody {
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "zip", "gz", "pdf",
+            "mp4", "webm");
+
+    private final String filename;
+    private final List<Entry> entries;
+    private final BufferPool bufferPool;
+
+    /**
+     * Construtor da parte multipart compactada.
+     *
+     * @param filename   Nome do arquivo ZIP.
+     * @param entries    Arquivos incluídos no ZIP.
+     * @param bufferPool Pool de buffers utilizado na leitura dos arquivos.
+     */
+    ZipStreamBody(String filename, List<Entry> entries, BufferPool bufferPool) {
+        super(ContentType.create("application/zip"));
+        this.filename = filename;
+        this.entries = entries;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getTransferEncoding() {
+        return "binary";
+    }
+
+    @Override
+    public long getContentLength() {
+        // Tamanho conhecido apenas ao final da compactação; o envio é feito em chunks
+        return -1;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long read = 0;
+        CountingOutputStream counter = new CountingOutputStream(out);
+        ZipOutputStream zip = new ZipOutputStream(counter);
+        byte[] chunk = null;
+
+        try {
+            for (Entry entry : entries) {
+                File file = entry.resolve();
+                zip.setLevel(isCompressed(file) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                ZipEntry zipEntry = new ZipEntry(entry.name(file));
+                zipEntry.setTime(file.lastModified());
+                zip.putNextEntry(zipEntry);
+
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    // Um buffer por bloco, devolvido assim que o bloco é entregue ao ZIP
+                    while (true) {
+                        ByteBuffer buffer = bufferPool.acquire();
+                        try {
+                            if (channel.read(buffer) == -1) {
+                                break;
+                            }
+                            buffer.flip();
+                            int length = buffer.remaining();
+                            if (buffer.hasArray()) {
+                                zip.write(buffer.array(), buffer.arrayOffset(), length);
+                            } else {
+                                if (chunk == null) {
+                                    chunk = new byte[buffer.capacity()];
+                                }
+                                buffer.get(chunk, 0, length);
+                                zip.write(chunk, 0, length);
+                            }
+                            read += length;
+                        } finally {
+                            bufferPool.release(buffer);
+                        }
+                    }
+                }
+                zip.closeEntry();
+            }
+            // Finaliza o ZIP sem fechar o stream da requisição
+            zip.finish();
+            zip.flush();
+        } finally {
+            ConnectorMetrics.add("evidence.bundle.sourceBytes", read);
+            ConnectorMetrics.add("evidence.upload.bytes", counter.count);
+            ConnectorMetrics.add("evidence.upload.micros", (System.nanoTime() - start) / 1000);
+        }
+    }
+
+    private static boolean isCompressed(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Arquivo incluído no ZIP e o nome da entrada correspondente. O arquivo pode ainda estar em preparação (por
+     * exemplo, uma imagem sendo reduzida); a compactação aguarda apenas quando chega a vez desta entrada.
+     */
+    static class Entry {
+
+        private final String sourceName;
+        private final CompletableFuture<File> file;
+
+        Entry(String sourceName, CompletableFuture<File> file) {
+            this.sourceName = sourceName;
+            this.file = file;
+        }
+
+        String getSourceName() {
+            return sourceName;
+        }
+
+        CompletableFuture<File> getFile() {
+            return file;
+        }
+
+        private File resolve() throws IOException {
+            try {
+                return file.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrompido aguardando o arquivo " + sourceName);
+            } catch (ExecutionException e) {
+                throw new IOException("Falha ao preparar o arquivo " + sourceName, e.getCause());
+            }
+        }
+
+        /**
+         * Nome da entrada no ZIP, ajustando a extensão quando o arquivo preparado foi recodificado.
+         */
+        private String name(File prepared) {
+            int dot = sourceName.lastIndexOf('.');
+            int preparedDot = prepared.getName().lastIndexOf('.');
+            if (dot < 0 || preparedDot < 0) {
+                return sourceName;
+            }
+            return sourceName.substring(0, dot) + prepared.getName().substring(preparedDot);
+        }
+    }
+
+    /**
+     * Conta os bytes gravados sem repassar o {@code close()} ao stream da requisição.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
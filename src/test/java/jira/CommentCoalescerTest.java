@@ -0,0 +1,106 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommentCoalescerTest {
+
+    private static final String SEPARATOR = "\n\n----\n\n";
+
+    @Test
+    void concurrentAddsNeitherExceedLimitNorLoseOrDuplicateComments() throws Exception {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        int maxChars = 200;
+        CommentCoalescer coalescer = new CommentCoalescer(60_000, 1_000, maxChars, (key, text) -> sent.add(text));
+
+        int threads = 16;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                await(start);
+                for (int i = 0; i < perThread; i++) {
+                    coalescer.add("ABC-1", "t" + thread + "-c" + i + "-xxxxxxxxxxxxxxxxxxxx");
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        coalescer.shutdown();
+
+        int comments = 0;
+        for (String text : sent) {
+            assertTrue(text.length() <= maxChars, "grupo acima do limite: " + text.length());
+            comments += text.split(SEPARATOR, -1).length;
+        }
+        assertEquals(threads * perThread, comments);
+        assertEquals(threads * perThread, sent.stream()
+                .flatMap(text -> List.of(text.split(SEPARATOR, -1)).stream()).distinct().count());
+    }
+
+    @Test
+    void expiredWindowSendsPendingComments() throws Exception {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        CommentCoalescer coalescer = new CommentCoalescer(20, 100, 10_000, (key, text) -> sent.add(key + ":" + text));
+
+        coalescer.add("ABC-2", "a");
+        coalescer.add("ABC-2", "b");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sent.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(List.of("ABC-2:a" + SEPARATOR + "b"), sent);
+        coalescer.shutdown();
+    }
+
+    @Test
+    void flushAllWaitsForExpiredWindowBeingSent() throws Exception {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CommentCoalescer coalescer = new CommentCoalescer(10, 100, 10_000, (key, text) -> {
+            sending.countDown();
+            await(release);
+            sent.add(text);
+        });
+
+        coalescer.add("ABC-3", "a");
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> flush = executor.submit(coalescer::flushAll);
+            assertThrows(TimeoutException.class, () -> flush.get(100, TimeUnit.MILLISECONDS));
+            release.countDown();
+            flush.get(5, TimeUnit.SECONDS);
+            assertEquals(List.of("a"), sent);
+        } finally {
+            executor.shutdownNow();
+            coalescer.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
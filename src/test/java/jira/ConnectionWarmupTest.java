@@ -0,0 +1,103 @@
+package jira;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Verifica o aquecimento das conexões contra um servidor local: credenciais recusadas desativam o conector e
+ * credenciais aceitas deixam a quantidade configurada de conexões aberta no pool.
+ */
+class ConnectionWarmupTest {
+
+    private static final int CONNECTIONS = 4;
+
+    private static StubHttpServer server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new StubHttpServer()
+                .on("GET", "/unauthorized", 401, "{}")
+                .on("GET", "/forbidden", 403, "{}")
+                .on("GET", "/myself", request -> {
+                    // Respostas lentas o bastante para que as requisições do aquecimento sejam simultâneas
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new StubHttpServer.Response(200, "{\"name\":\"automacao\"}");
+                })
+                .on("GET", "/v2/projects/", 401, "{}");
+
+        previousLoader = ConnectorTestConfiguration.install(Map.of(
+                "zephyr.connector.isActive", "true",
+                "zephyr.connector.url", server.baseUrl(),
+                "zephyr.connector.zephyrKey", "token-revogado",
+                "zephyr.connector.projectId", "PROJ",
+                "zephyr.connector.warmup.enabled", "true"));
+    }
+
+    @AfterAll
+    static void stopServer() {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void rejectedCredentialsDisableTheConnector() throws Exception {
+        for (String path : new String[]{"/unauthorized", "/forbidden"}) {
+            PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager();
+            try (CloseableHttpClient client = HttpClients.custom().setConnectionManager(pool).build()) {
+                AtomicInteger disabled = new AtomicInteger();
+                new ConnectionWarmup("Teste", client, () -> new HttpGet(server.baseUrl() + path), CONNECTIONS,
+                        disabled::incrementAndGet).run();
+
+                assertEquals(1, disabled.get(), path);
+                // Nenhuma conexão adicional é aberta com credenciais recusadas
+                assertEquals(1, server.count("GET", path), path);
+                assertEquals(1, pool.getTotalStats().getAvailable(), path);
+            }
+        }
+    }
+
+    @Test
+    void acceptedCredentialsOpenTheConfiguredConnections() throws Exception {
+        PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager();
+        pool.setDefaultMaxPerRoute(CONNECTIONS * 2);
+        try (CloseableHttpClient client = HttpClients.custom().setConnectionManager(pool).build()) {
+            AtomicInteger disabled = new AtomicInteger();
+            new ConnectionWarmup("Teste", client, () -> new HttpGet(server.baseUrl() + "/myself"), CONNECTIONS,
+                    disabled::incrementAndGet).run();
+
+            assertEquals(0, disabled.get());
+            assertEquals(CONNECTIONS, pool.getTotalStats().getAvailable());
+            assertEquals(0, pool.getTotalStats().getLeased());
+        }
+    }
+
+    @Test
+    void connectorIsDisabledWhenTheWarmupIsRejected() throws Exception {
+        assertNotNull(ZephyrConnector.getInstance());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ZephyrConnector.isActive() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertFalse(ZephyrConnector.isActive());
+        assertEquals(1, server.count("GET", "/v2/projects/PROJ"));
+    }
+}
@@ -0,0 +1,19 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectorMetricsTest {
+
+    @Test
+    void registeredRatioFollowsCounters() {
+        ConnectorMetrics.registerRatio("test.ratio", "test.ratio.hits", "test.ratio.requests");
+        assertEquals(0.0, ConnectorMetrics.ratioSnapshot().get("test.ratio"));
+
+        ConnectorMetrics.add("test.ratio.requests", 4);
+        ConnectorMetrics.increment("test.ratio.hits");
+
+        assertEquals(0.25, ConnectorMetrics.ratioSnapshot().get("test.ratio"));
+    }
+}
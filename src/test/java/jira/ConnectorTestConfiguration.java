@@ -0,0 +1,54 @@
+package jira;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Substitui o {@code configuration_core.properties} lido pelos conectores, permitindo apontá-los para o
+ * {@link StubHttpServer}. Os conectores leem a configuração na carga da classe pelo class loader de contexto da
+ * thread; por isso a configuração deve ser instalada antes do primeiro uso de qualquer conector, e cada classe de
+ * teste que a utiliza roda em uma JVM própria ({@code reuseForks=false}).
+ */
+final class ConnectorTestConfiguration {
+
+    private static final String FILE_NAME = "configuration_core.properties";
+
+    private ConnectorTestConfiguration() {
+    }
+
+    /**
+     * Instala a configuração na thread atual, sobrepondo as propriedades informadas às de
+     * {@code src/test/resources}. As threads criadas a partir desta herdam a configuração.
+     *
+     * @param overrides Propriedades a sobrepor.
+     * @return Class loader de contexto anterior, a ser restaurado ao final do teste.
+     */
+    static ClassLoader install(Map<String, String> overrides) {
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        Properties properties = new Properties();
+        try (InputStream in = previous.getResourceAsStream(FILE_NAME)) {
+            if (in != null) {
+                properties.load(in);
+            }
+            properties.putAll(overrides);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            properties.store(out, null);
+            byte[] content = out.toByteArray();
+
+            Thread.currentThread().setContextClassLoader(new ClassLoader(previous) {
+                @Override
+                public InputStream getResourceAsStream(String name) {
+                    return FILE_NAME.equals(name) ? new ByteArrayInputStream(content) : super.getResourceAsStream(name);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,92 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CucumberReportImporterTest {
+
+    private static final String TAG = "@ImporterTest";
+    private static final int SCENARIOS = 120;
+    private static final int FAILING = 37;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void failedScenariosAreRepublishedOnResume() throws Exception {
+        Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        Set<String> failOnce = ConcurrentHashMap.newKeySet();
+        failOnce.add("cenario-" + FAILING);
+        ResultPublisher.getInstance().addSink(new ResultSink() {
+            @Override
+            public String getName() {
+                return "teste";
+            }
+
+            @Override
+            public boolean accepts(ScenarioResult result) {
+                return result.getTags().contains(TAG);
+            }
+
+            @Override
+            public void publish(ScenarioResult result) {
+                attempts.computeIfAbsent(result.getName(), name -> new AtomicInteger()).incrementAndGet();
+                if (failOnce.remove(result.getName())) {
+                    throw new IllegalStateException("falha simulada");
+                }
+            }
+        });
+
+        Path report = writeReport();
+        Path checkpoint = dir.resolve("checkpoint.tsv");
+
+        assertFalse(new CucumberReportImporter(8, checkpoint).importReports(List.of(report)));
+        assertEquals("0-" + (FAILING - 1) + "," + (FAILING + 1) + "-" + (SCENARIOS - 1), checkpointIndices(checkpoint));
+
+        assertTrue(new CucumberReportImporter(8, checkpoint).importReports(List.of(report)));
+        assertEquals("0-" + (SCENARIOS - 1), checkpointIndices(checkpoint));
+        assertEquals(2, attempts.get("cenario-" + FAILING).get());
+        // Os cenários publicados antes e depois do que falhou não são publicados novamente
+        for (int i = 0; i < SCENARIOS; i++) {
+            if (i != FAILING) {
+                assertEquals(1, attempts.get("cenario-" + i).get(), "cenario-" + i);
+            }
+        }
+
+        // Uma nova retomada não publica nada
+        assertTrue(new CucumberReportImporter(8, checkpoint).importReports(List.of(report)));
+        assertEquals(SCENARIOS + 1, attempts.values().stream().mapToInt(AtomicInteger::get).sum());
+    }
+
+    private Path writeReport() throws Exception {
+        StringBuilder json = new StringBuilder("[{\"name\":\"feature\",\"elements\":[");
+        for (int i = 0; i < SCENARIOS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"cenario-").append(i).append("\",\"type\":\"scenario\",")
+                    .append("\"tags\":[{\"name\":\"").append(TAG).append("\"}],")
+                    .append("\"steps\":[{\"result\":{\"status\":\"passed\",\"duration\":1000000}}]}");
+        }
+        json.append("]}]");
+        return Files.writeString(dir.resolve("report.json"), json, StandardCharsets.UTF_8);
+    }
+
+    private static String checkpointIndices(Path checkpoint) throws Exception {
+        String line = Files.readAllLines(checkpoint, StandardCharsets.UTF_8).get(0);
+        return line.substring(line.lastIndexOf('\t') + 1);
+    }
+}
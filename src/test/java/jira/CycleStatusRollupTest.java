@@ -0,0 +1,115 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CycleStatusRollupTest {
+
+    private final Map<String, String> published = new ConcurrentHashMap<>();
+    private final List<String> calls = new ArrayList<>();
+
+    private boolean publish(String testCaseKey, String testCycleKey, String status) {
+        synchronized (calls) {
+            calls.add(testCaseKey + "@" + testCycleKey);
+        }
+        published.put(testCaseKey + "@" + testCycleKey, status);
+        return true;
+    }
+
+    @Test
+    void eachCaseKeepsItsOwnExecutionInTheCycle() {
+        CycleStatusRollup rollup = new CycleStatusRollup(0, this::publish);
+        rollup.record("PROJ-T1", "PROJ-R1", "Pass");
+        rollup.record("PROJ-T1", "PROJ-R1", "Fail");
+        rollup.record("PROJ-T1", "PROJ-R1", "Pass");
+        rollup.record("PROJ-T2", "PROJ-R1", "Pass");
+        rollup.record("PROJ-T3", "PROJ-R1", "Blocked");
+        rollup.record("PROJ-T3", "PROJ-R1", "Pass");
+        rollup.record("PROJ-T4", "PROJ-R1", "Done");
+        rollup.record("PROJ-T1", "PROJ-R2", "Pass");
+        rollup.flush();
+
+        assertEquals(Map.of(
+                "PROJ-T1@PROJ-R1", "Fail",
+                "PROJ-T2@PROJ-R1", "Pass",
+                "PROJ-T3@PROJ-R1", "Blocked",
+                "PROJ-T4@PROJ-R1", "Done",
+                "PROJ-T1@PROJ-R2", "Pass"), published);
+        assertEquals(5, calls.size());
+    }
+
+    @Test
+    void unchangedStatusIsNotPublishedAgain() {
+        CycleStatusRollup rollup = new CycleStatusRollup(0, this::publish);
+        rollup.record("PROJ-T1", "PROJ-R1", "Pass");
+        rollup.flush();
+        rollup.record("PROJ-T1", "PROJ-R1", "Pass");
+        rollup.flush();
+        rollup.flush();
+        assertEquals(1, calls.size());
+
+        rollup.record("PROJ-T1", "PROJ-R1", "Fail");
+        rollup.flush();
+        assertEquals(2, calls.size());
+        assertEquals("Fail", published.get("PROJ-T1@PROJ-R1"));
+    }
+
+    @Test
+    void rejectedPublicationIsRetriedOnTheNextFlush() {
+        AtomicBoolean accept = new AtomicBoolean(false);
+        CycleStatusRollup rollup = new CycleStatusRollup(0,
+                (testCaseKey, testCycleKey, status) -> accept.get() && publish(testCaseKey, testCycleKey, status));
+        rollup.record("PROJ-T1", "PROJ-R1", "Pass");
+        rollup.flush();
+        assertTrue(published.isEmpty());
+
+        accept.set(true);
+        rollup.flush();
+        assertEquals("Pass", published.get("PROJ-T1@PROJ-R1"));
+    }
+
+    @Test
+    void concurrentRecordsArePublishedOncePerCase() throws Exception {
+        CycleStatusRollup rollup = new CycleStatusRollup(0, this::publish);
+        int threads = 16;
+        int perThread = 1000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        // Apenas o caso PROJ-T4 recebe uma falha
+                        String status = thread == 3 && i == 500 ? "Fail" : "Pass";
+                        rollup.record("PROJ-T" + (i % 8), "PROJ-R1", status);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        rollup.shutdown();
+
+        assertEquals(8, calls.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i == 4 ? "Fail" : "Pass", published.get("PROJ-T" + i + "@PROJ-R1"));
+        }
+    }
+}
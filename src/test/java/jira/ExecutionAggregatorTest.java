@@ -0,0 +1,155 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionAggregatorTest {
+
+    private static final Pattern TOTALS = Pattern.compile("Execuções agregadas: (\\d+)");
+    private static final Pattern MIN_MAX = Pattern.compile("min (\\d+) .* max (\\d+)");
+
+    @TempDir
+    Path dir;
+
+    private final List<String> comments = new CopyOnWriteArrayList<>();
+
+    @Test
+    void executionsRecordedDuringPublicationKeepTheirTimes() {
+        List<Runnable> duringPublish = new ArrayList<>();
+        ExecutionAggregator aggregator = new ExecutionAggregator(0, (testCase, testCycle, status, time, comment) -> {
+            comments.add(comment);
+            duringPublish.forEach(Runnable::run);
+            duringPublish.clear();
+            return true;
+        });
+
+        aggregator.record("PROJ-T1", "PROJ-R1", true, 100, IdempotencyGuard.Ticket.untracked());
+        aggregator.record("PROJ-T1", "PROJ-R1", true, 300, IdempotencyGuard.Ticket.untracked());
+        // Registradas enquanto a primeira janela é publicada
+        duringPublish.add(() -> aggregator.record("PROJ-T1", "PROJ-R1", true, 7, IdempotencyGuard.Ticket.untracked()));
+        duringPublish.add(() -> aggregator.record("PROJ-T1", "PROJ-R1", false, 900, IdempotencyGuard.Ticket.untracked()));
+        aggregator.flush();
+        aggregator.flush();
+
+        assertEquals(2, comments.size());
+        assertWindow(comments.get(0), 2, 100, 300);
+        assertWindow(comments.get(1), 2, 7, 900);
+    }
+
+    @Test
+    void rejectedWindowIsPublishedWithTheNextOne() {
+        AtomicBoolean accept = new AtomicBoolean(false);
+        ExecutionAggregator aggregator = new ExecutionAggregator(0, (testCase, testCycle, status, time, comment) -> {
+            comments.add(comment);
+            return accept.get();
+        });
+
+        aggregator.record("PROJ-T1", "PROJ-R1", true, 5, IdempotencyGuard.Ticket.untracked());
+        aggregator.flush();
+        accept.set(true);
+        aggregator.record("PROJ-T1", "PROJ-R1", true, 50, IdempotencyGuard.Ticket.untracked());
+        aggregator.flush();
+        aggregator.flush();
+
+        assertEquals(2, comments.size());
+        assertWindow(comments.get(1), 2, 5, 50);
+    }
+
+    @Test
+    void ticketsAreAcknowledgedOnlyWhenTheirWindowIsPublished() {
+        AtomicBoolean accept = new AtomicBoolean(false);
+        IdempotencyGuard guard = new IdempotencyGuard("run-1", dir, 100);
+        ExecutionAggregator aggregator = new ExecutionAggregator(0,
+                (testCase, testCycle, status, time, comment) -> accept.get());
+
+        aggregator.record("PROJ-T1", "PROJ-R1", true, 10, guard.open("Cenário 1", "PROJ-T1@PROJ-R1", "execução"));
+        aggregator.record("PROJ-T1", "PROJ-R1", true, 10, guard.open("Cenário 2", "PROJ-T1@PROJ-R1", "execução"));
+        aggregator.flush();
+        IdempotencyGuard retry = new IdempotencyGuard("run-1", dir, 100);
+        assertFalse(retry.open("Cenário 1", "PROJ-T1@PROJ-R1", "execução").isAcknowledged());
+
+        accept.set(true);
+        aggregator.flush();
+        retry = new IdempotencyGuard("run-1", dir, 100);
+        assertTrue(retry.open("Cenário 1", "PROJ-T1@PROJ-R1", "execução").isAcknowledged());
+        assertTrue(retry.open("Cenário 2", "PROJ-T1@PROJ-R1", "execução").isAcknowledged());
+    }
+
+    @Test
+    void concurrentRecordsAreAllPublished() throws Exception {
+        ExecutionAggregator aggregator = new ExecutionAggregator(0, (testCase, testCycle, status, time, comment) -> {
+            comments.add(comment);
+            return true;
+        });
+        int threads = 8;
+        int perThread = 5000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        // Os extremos são registrados no meio das publicações
+                        long time = thread == 0 && i == perThread / 2 ? 1 : thread == 1 && i == perThread / 2
+                                ? 100_000 : 10 + i % 50;
+                        aggregator.record("PROJ-T1", "PROJ-R1", true, time, IdempotencyGuard.Ticket.untracked());
+                    }
+                }));
+            }
+            Future<?> flusher = executor.submit(() -> {
+                while (futures.stream().anyMatch(future -> !future.isDone())) {
+                    aggregator.flush();
+                }
+            });
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            flusher.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        aggregator.flush();
+
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (String comment : comments) {
+            Matcher totals = TOTALS.matcher(comment);
+            Matcher minMax = MIN_MAX.matcher(comment);
+            assertTrue(totals.find() && minMax.find(), comment);
+            total += Long.parseLong(totals.group(1));
+            min = Math.min(min, Long.parseLong(minMax.group(1)));
+            max = Math.max(max, Long.parseLong(minMax.group(2)));
+        }
+        assertEquals((long) threads * perThread, total);
+        assertEquals(1, min);
+        assertEquals(100_000, max);
+    }
+
+    private static void assertWindow(String comment, long total, long min, long max) {
+        Matcher totals = TOTALS.matcher(comment);
+        Matcher minMax = MIN_MAX.matcher(comment);
+        assertTrue(totals.find() && minMax.find(), comment);
+        assertEquals(total, Long.parseLong(totals.group(1)), comment);
+        assertEquals(min, Long.parseLong(minMax.group(1)), comment);
+        assertEquals(max, Long.parseLong(minMax.group(2)), comment);
+    }
+}
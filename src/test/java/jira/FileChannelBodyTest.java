@@ -0,0 +1,162 @@
+package jira;
+
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileChannelBodyTest {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void uploadsShareASingleBufferChunkByChunk() throws Exception {
+        BufferPool pool = new BufferPool(BUFFER_SIZE, 1, false);
+        File first = createFile("first.bin", BUFFER_SIZE * 4);
+        File second = createFile("second.bin", BUFFER_SIZE * 4);
+        CountDownLatch secondWrote = new CountDownLatch(1);
+        long waitsBefore = ConnectorMetrics.get("evidence.upload.bufferWaits");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ByteArrayOutputStream firstOut = new ByteArrayOutputStream();
+            ByteArrayOutputStream secondOut = new ByteArrayOutputStream();
+            AtomicInteger firstChunks = new AtomicInteger();
+
+            // O primeiro envio só continua após o segundo ter escrito um bloco com o mesmo e único buffer
+            Future<?> firstUpload = executor.submit(() -> {
+                new FileChannelBody(first, ContentType.DEFAULT_BINARY, pool).writeTo(new OutputStream() {
+                    @Override
+                    public void write(int b) {
+                        firstOut.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        if (firstChunks.incrementAndGet() == 1) {
+                            executor.submit(() -> {
+                                new FileChannelBody(second, ContentType.DEFAULT_BINARY, pool)
+                                        .writeTo(new OutputStream() {
+                                            @Override
+                                            public void write(int b) {
+                                                secondOut.write(b);
+                                            }
+
+                                            @Override
+                                            public void write(byte[] b, int off, int len) {
+                                                secondOut.write(b, off, len);
+                                                secondWrote.countDown();
+                                            }
+                                        });
+                                return null;
+                            });
+                            awaitWaiter(waitsBefore);
+                        } else {
+                            try {
+                                assertTrue(secondWrote.await(5, TimeUnit.SECONDS),
+                                        "O segundo envio não obteve o buffer entre os blocos do primeiro");
+                            } catch (InterruptedException e) {
+                                throw new IOException(e);
+                            }
+                        }
+                        firstOut.write(b, off, len);
+                    }
+                });
+                return null;
+            });
+
+            firstUpload.get(10, TimeUnit.SECONDS);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertArrayEquals(Files.readAllBytes(first.toPath()), firstOut.toByteArray());
+            assertArrayEquals(Files.readAllBytes(second.toPath()), secondOut.toByteArray());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentUploadsNeverExceedTheBufferLimit() throws Exception {
+        int maxBuffers = 3;
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        BufferPool pool = new BufferPool(BUFFER_SIZE, maxBuffers, false);
+        File file = createFile("shared.bin", BUFFER_SIZE * 8 + 17);
+        byte[] expected = Files.readAllBytes(file.toPath());
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            Future<?>[] uploads = new Future<?>[64];
+            for (int i = 0; i < uploads.length; i++) {
+                uploads[i] = executor.submit(() -> {
+                    ByteArrayOutputStream sink = new ByteArrayOutputStream();
+                    new FileChannelBody(file, ContentType.DEFAULT_BINARY, pool).writeTo(new OutputStream() {
+                        @Override
+                        public void write(int b) {
+                            sink.write(b);
+                        }
+
+                        @Override
+                        public void write(byte[] b, int off, int len) {
+                            // Durante a escrita o bloco ainda ocupa o buffer obtido do pool
+                            peak.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                            Thread.yield();
+                            sink.write(b, off, len);
+                            inUse.decrementAndGet();
+                        }
+                    });
+                    assertArrayEquals(expected, sink.toByteArray());
+                    return null;
+                });
+            }
+            for (Future<?> upload : uploads) {
+                upload.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(peak.get() <= maxBuffers, "Blocos simultâneos acima do limite: " + peak.get());
+    }
+
+    private static void awaitWaiter(long waitsBefore) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ConnectorMetrics.get("evidence.upload.bufferWaits") == waitsBefore) {
+            if (System.nanoTime() > deadline) {
+                throw new IOException("O segundo envio não aguardou o buffer");
+            }
+            Thread.onSpinWait();
+        }
+        try {
+            // A métrica é registrada logo antes de a thread entrar na fila do pool
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private File createFile(String name, int size) throws IOException {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return Files.write(dir.resolve(name), content).toFile();
+    }
+}
@@ -0,0 +1,133 @@
+package jira;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgedRequestsTest {
+
+    @Test
+    void adaptiveTimeoutRecoversAfterSlowdown() throws Exception {
+        AtomicLong delay = new AtomicLong();
+        try (StubHttpServer server = new StubHttpServer();
+             CloseableHttpClient client = HttpClients.createDefault()) {
+            server.on("GET", "/slow", request -> {
+                sleep(delay.get());
+                return new StubHttpServer.Response(200, "{}");
+            });
+            HedgedRequests reads = new HedgedRequests(false, 0, true, 2, 50, 5_000);
+
+            // Mais leituras que o tamanho da janela, descartando a latência inicial de aquecimento
+            for (int i = 0; i < 300; i++) {
+                assertEquals(200, read(reads, client, server));
+            }
+            assertTrue(reads.timeoutFor("slow") < 300);
+
+            // Lentidão acima do timeout atual: as falhas elevam o timeout até as leituras voltarem a passar
+            delay.set(300);
+            int failures = 0;
+            boolean recovered = false;
+            for (int i = 0; i < 20 && !recovered; i++) {
+                try {
+                    recovered = read(reads, client, server) == 200;
+                } catch (IOException e) {
+                    failures++;
+                }
+            }
+
+            assertTrue(failures > 0);
+            assertTrue(recovered, "timeout permaneceu em " + reads.timeoutFor("slow") + " ms");
+            assertTrue(reads.timeoutFor("slow") > 300);
+        }
+    }
+
+    @Test
+    void hedgeAfterP95WinsAndAbortsTheSlowerAttempt() throws Exception {
+        AtomicBoolean slowNext = new AtomicBoolean();
+        try (StubHttpServer server = new StubHttpServer();
+             CloseableHttpClient client = HttpClients.createDefault()) {
+            server.on("GET", "/slow", request -> {
+                if (slowNext.compareAndSet(true, false)) {
+                    sleep(5_000);
+                    return new StubHttpServer.Response(200, "lenta");
+                }
+                return new StubHttpServer.Response(200, "rápida");
+            });
+            HedgedRequests reads = new HedgedRequests(true, 100, false, 2, 50, 10_000);
+            for (int i = 0; i < 30; i++) {
+                read(reads, client, server);
+            }
+
+            slowNext.set(true);
+            long requests = server.count("GET", "/slow");
+            List<HttpGet> attempts = new CopyOnWriteArrayList<>();
+            long start = System.nanoTime();
+            String body = reads.execute("slow", () -> {
+                HttpGet httpGet = new HttpGet(server.baseUrl() + "/slow");
+                attempts.add(httpGet);
+                return httpGet;
+            }, httpGet -> client.execute(httpGet, response -> EntityUtils.toString(response.getEntity())));
+
+            assertEquals("rápida", body);
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+            assertEquals(requests + 2, server.count("GET", "/slow"));
+            assertEquals(2, attempts.size());
+            assertTrue(attempts.get(0).isAborted(), "tentativa mais lenta não foi cancelada");
+            assertFalse(slowNext.get());
+        }
+    }
+
+    @Test
+    void hedgesAreLimitedByTheBudget() throws Exception {
+        AtomicLong delay = new AtomicLong();
+        try (StubHttpServer server = new StubHttpServer();
+             CloseableHttpClient client = HttpClients.createDefault()) {
+            server.on("GET", "/slow", request -> {
+                sleep(delay.get());
+                return new StubHttpServer.Response(200, "{}");
+            });
+            // Sem orçamento proporcional: apenas a margem inicial de duplicações é permitida
+            HedgedRequests reads = new HedgedRequests(true, 0, false, 2, 50, 10_000);
+            int total = 0;
+            for (; total < 250; total++) {
+                read(reads, client, server);
+            }
+
+            // Leituras lentas o bastante para disparar a duplicação, poucas para alterar o p95 da janela
+            delay.set(100);
+            for (int i = 0; i < 10; i++, total++) {
+                read(reads, client, server);
+            }
+
+            assertTrue(server.count("GET", "/slow") <= total + 2,
+                    (server.count("GET", "/slow") - total) + " duplicações");
+        }
+    }
+
+    private static int read(HedgedRequests reads, CloseableHttpClient client, StubHttpServer server)
+            throws IOException {
+        return reads.execute("slow", () -> new HttpGet(server.baseUrl() + "/slow"),
+                httpGet -> client.execute(httpGet, ResponseHandlers.statusOnly()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
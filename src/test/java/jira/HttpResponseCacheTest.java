@@ -0,0 +1,51 @@
+package jira;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpResponseCacheTest {
+
+    @Test
+    void statusOnlyCheckReleasesConnectionWhenCacheIsDisabled() throws Exception {
+        PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager();
+        pool.setMaxTotal(1);
+        pool.setDefaultMaxPerRoute(1);
+        try (StubHttpServer server = new StubHttpServer().on("GET", "/project", 200, "x".repeat(1 << 20));
+             CloseableHttpClient client = HttpClients.custom().setConnectionManager(pool).build()) {
+            HttpResponseCache cache = new HttpResponseCache(false, 1024, 0, null);
+
+            // Com uma única conexão no pool, uma resposta não liberada bloquearia a segunda requisição
+            for (int i = 0; i < 3; i++) {
+                HttpGet httpGet = new HttpGet(server.baseUrl() + "/project");
+                assertEquals(200, cache.status(client, httpGet, "/project"));
+            }
+            assertEquals(0, pool.getTotalStats().getLeased());
+        }
+    }
+
+    @Test
+    void cachedResponseIsRevalidatedWithEtag() throws Exception {
+        try (StubHttpServer server = new StubHttpServer();
+             CloseableHttpClient client = HttpClients.createDefault()) {
+            server.on("GET", "/issue", request -> "\"v1\"".equals(request.ifNoneMatch)
+                    ? new StubHttpServer.Response(304, "")
+                    : new StubHttpServer.Response(200, "{\"key\":\"ABC-1\"}").header("ETag", "\"v1\""));
+            HttpResponseCache cache = new HttpResponseCache(true, 1024 * 1024, 0, null);
+
+            HttpResponseCache.CachedResponse first = cache.get(client, new HttpGet(server.baseUrl() + "/issue"),
+                    "/issue");
+            HttpResponseCache.CachedResponse second = cache.get(client, new HttpGet(server.baseUrl() + "/issue"),
+                    "/issue");
+
+            assertEquals("{\"key\":\"ABC-1\"}", first.getBody());
+            assertEquals(first.getBody(), second.getBody());
+            assertEquals(200, second.getStatusCode());
+            assertEquals("\"v1\"", server.requests().get(1).ifNoneMatch);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyGuardTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void currentAttemptNeverSuppressesItsOwnOperations() {
+        IdempotencyGuard guard = new IdempotencyGuard("run-1", dir, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            IdempotencyGuard.Ticket ticket = guard.open("Cenário", "CASE-1@CYCLE-1", "zephyr.execution.Pass");
+            assertFalse(ticket.isAcknowledged());
+            ticket.acknowledge();
+        }
+    }
+
+    @Test
+    void retrySkipsOnlyOccurrencesConfirmedByThePreviousAttempt() {
+        IdempotencyGuard first = new IdempotencyGuard("run-2", dir, 1000);
+        first.open("Cenário", "PROJ-1", "jira.comment").acknowledge();
+        first.open("Cenário", "PROJ-1", "jira.comment").acknowledge();
+        // A terceira ocorrência falhou e não foi confirmada
+        first.open("Cenário", "PROJ-1", "jira.comment");
+
+        IdempotencyGuard retry = new IdempotencyGuard("run-2", dir, 1000);
+        assertTrue(retry.open("Cenário", "PROJ-1", "jira.comment").isAcknowledged());
+        assertTrue(retry.open("Cenário", "PROJ-1", "jira.comment").isAcknowledged());
+        assertFalse(retry.open("Cenário", "PROJ-1", "jira.comment").isAcknowledged());
+        assertFalse(retry.open("Outro cenário", "PROJ-1", "jira.comment").isAcknowledged());
+
+        IdempotencyGuard otherRun = new IdempotencyGuard("run-3", dir, 1000);
+        assertFalse(otherRun.open("Cenário", "PROJ-1", "jira.comment").isAcknowledged());
+    }
+
+    @Test
+    void operationsWithoutScenarioAreNotTracked() {
+        IdempotencyGuard first = new IdempotencyGuard("run-4", dir, 1000);
+        first.open(null, "CASE-1@CYCLE-1", "zephyr.execution.Pass").acknowledge();
+
+        IdempotencyGuard retry = new IdempotencyGuard("run-4", dir, 1000);
+        assertFalse(retry.open(null, "CASE-1@CYCLE-1", "zephyr.execution.Pass").isAcknowledged());
+    }
+
+    @Test
+    void concurrentAcknowledgementsAreAllJournaled() throws Exception {
+        int threads = 16;
+        int perThread = 500;
+        IdempotencyGuard first = new IdempotencyGuard("run-5", dir, threads * perThread);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        first.open("Cenário " + i, "PROJ-1", "jira.comment").acknowledge();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Cada cenário foi confirmado uma vez por thread: todas as ocorrências são ignoradas na nova tentativa
+        IdempotencyGuard retry = new IdempotencyGuard("run-5", dir, threads * perThread);
+        int skipped = 0;
+        for (int i = 0; i < perThread; i++) {
+            for (int t = 0; t <= threads; t++) {
+                if (retry.open("Cenário " + i, "PROJ-1", "jira.comment").isAcknowledged()) {
+                    skipped++;
+                }
+            }
+        }
+        assertEquals(threads * perThread, skipped);
+    }
+}
@@ -0,0 +1,65 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IssueIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void savedIndexIsLoadedWithSyncTimestamps() throws Exception {
+        IssueIndex index = new IssueIndex("ABC", dir.resolve("ABC.idx"));
+        index.put(new IssueIndex.IssueEntry("ABC-1", 10, "Task", "To Do", List.of("smoke"), 1_000));
+        index.put(new IssueIndex.IssueEntry("ABC-2", 11, "Bug", "Done", List.of(), 2_000));
+        index.completeSync(5_000, true);
+        index.save();
+
+        IssueIndex loaded = new IssueIndex("ABC", dir.resolve("ABC.idx"));
+        loaded.load();
+
+        assertEquals(2, loaded.size());
+        assertEquals(5_000, loaded.getLastSync());
+        assertEquals("Done", loaded.get("ABC-2").getStatus());
+        assertEquals("Bug", loaded.get("ABC-2").getIssueType());
+        assertEquals(List.of("smoke"), loaded.get("ABC-1").getLabels());
+        // A sincronização concluída em outro processo não dispensa a sincronização deste
+        assertTrue(loaded.needsSync(60_000));
+    }
+
+    @Test
+    void fullSyncRemovesIssuesThatWereNotReturned() {
+        IssueIndex index = new IssueIndex("ABC", dir.resolve("ABC.idx"));
+        index.put(new IssueIndex.IssueEntry("ABC-1", 10, "Task", "To Do", List.of(), 0));
+        index.put(new IssueIndex.IssueEntry("ABC-2", 11, "Task", "To Do", List.of(), 0));
+
+        assertEquals(1, index.retainOnly(Set.of("ABC-1")));
+        assertNotNull(index.get("ABC-1"));
+        assertNull(index.get("ABC-2"));
+    }
+
+    @Test
+    void onlyCompletedSyncsCountTowardsTheInterval() {
+        IssueIndex index = new IssueIndex("ABC", dir.resolve("ABC.idx"));
+        assertTrue(index.needsSync(60_000));
+        assertTrue(index.needsFullSync(60_000));
+
+        index.completeSync(System.currentTimeMillis(), false);
+        assertFalse(index.needsSync(60_000));
+        assertTrue(index.needsFullSync(60_000));
+
+        index.completeSync(System.currentTimeMillis(), true);
+        assertFalse(index.needsFullSync(60_000));
+    }
+}
@@ -0,0 +1,135 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IssueLookupBatcherTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    /**
+     * Consulta simulada: apenas as tarefas de número par existem.
+     */
+    private Set<String> load(Collection<String> taskKeys) {
+        batches.add(new ArrayList<>(taskKeys));
+        Set<String> found = new HashSet<>();
+        for (String key : taskKeys) {
+            if (Integer.parseInt(key.substring(key.indexOf('-') + 1)) % 2 == 0) {
+                found.add(key);
+            }
+        }
+        return found;
+    }
+
+    @Test
+    void keysRequestedInTheSameWindowShareOneLookup() throws Exception {
+        IssueLookupBatcher batcher = new IssueLookupBatcher(50, 100, 1, this::load);
+
+        CompletableFuture<Boolean> first = batcher.exists("PROJ-1");
+        CompletableFuture<Boolean> second = batcher.exists("PROJ-2");
+        CompletableFuture<Boolean> repeated = batcher.exists("PROJ-1");
+
+        assertSame(first, repeated);
+        assertFalse(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("PROJ-1", "PROJ-2")), batches);
+    }
+
+    @Test
+    void fullBatchIsLoadedWithoutWaitingForTheWindow() throws Exception {
+        IssueLookupBatcher batcher = new IssueLookupBatcher(TimeUnit.MINUTES.toMillis(10), 3, 1, this::load);
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(batcher.exists("PROJ-" + i));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i % 2 == 0, futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, batches.size());
+
+        // A chave seguinte inicia uma nova janela
+        CompletableFuture<Boolean> next = batcher.exists("PROJ-4");
+        Thread.sleep(100);
+        assertFalse(next.isDone());
+    }
+
+    @Test
+    void failedLookupFailsOnlyItsOwnBatch() throws Exception {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        IssueLookupBatcher batcher = new IssueLookupBatcher(10, 100, 1, taskKeys -> {
+            if (fail.getAndSet(false)) {
+                throw new IOException("Jira indisponível");
+            }
+            return load(taskKeys);
+        });
+
+        CompletableFuture<Boolean> failed = batcher.exists("PROJ-2");
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, error.getCause());
+
+        assertTrue(batcher.exists("PROJ-2").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void concurrentCallersReceiveTheAnswerForTheirOwnKey() throws Exception {
+        int maxKeys = 8;
+        IssueLookupBatcher batcher = new IssueLookupBatcher(2, maxKeys, 4, this::load);
+        int threads = 32;
+        int perThread = 200;
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    int wrong = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        int task = (thread * 7 + i) % 50;
+                        if (batcher.exists("PROJ-" + task).get(10, TimeUnit.SECONDS) != (task % 2 == 0)) {
+                            wrong++;
+                        }
+                    }
+                    return wrong;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> worker : workers) {
+                assertEquals(0, worker.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (List<String> batch : batches) {
+            assertTrue(batch.size() <= maxKeys, "grupo acima do limite: " + batch.size());
+            assertEquals(batch.size(), new HashSet<>(batch).size(), "chave repetida no grupo: " + batch);
+        }
+        assertTrue(batches.size() < threads * perThread, "consultas não agrupadas");
+    }
+}
@@ -0,0 +1,265 @@
+package jira;
+
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Executa as operações públicas do {@link JiraConnector} a partir de várias threads contra um servidor local, com
+ * agrupamento de comentários e de consultas ativos, verificando comentários, atualizações, tarefas criadas e
+ * evidências perdidos ou duplicados, respostas trocadas entre threads e conexões não devolvidas ao pool.
+ */
+class JiraConnectorStressTest {
+
+    private static final int THREADS = 64;
+    private static final int ITERATIONS = 30;
+    private static final int TASKS = 16;
+    private static final int POOL_SIZE = 4;
+    private static final Pattern MARKER = Pattern.compile("\\[c-\\d+-\\d+]");
+    private static final Pattern JQL_KEY = Pattern.compile("\"([A-Z]+-\\d+)\"");
+    private static final Pattern UPDATE_MARKER = Pattern.compile("u-(\\d+)-(\\d+)");
+    private static final Pattern NEW_TASK_MARKER = Pattern.compile("\\[n-\\d+-\\d+]");
+
+    private static StubHttpServer server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new StubHttpServer()
+                .on("POST", "/rest/api/2/issue/", request -> {
+                    pause();
+                    return request.path.endsWith("/comment")
+                            ? new StubHttpServer.Response(201, "{}")
+                            : new StubHttpServer.Response(204, "");
+                })
+                .on("GET", "/rest/api/2/issue/", request -> {
+                    pause();
+                    return new StubHttpServer.Response(200, "{\"fields\":{\"project\":{\"key\":\"PROJ\"},"
+                            + "\"issuetype\":{\"name\":\"Task\"},\"status\":{\"name\":\"To Do\"}},"
+                            + "\"transitions\":[{\"id\":\"31\",\"name\":\"Concluir\",\"to\":{\"name\":\"Done\"}}]}");
+                })
+                .on("POST", "/rest/api/2/issue", request -> {
+                    pause();
+                    return new StubHttpServer.Response(201, "{\"id\":\"10000\",\"key\":\"PROJ-100\"}");
+                })
+                .on("PUT", "/rest/api/2/issue/", request -> {
+                    pause();
+                    return new StubHttpServer.Response(204, "");
+                })
+                .on("POST", "/rest/api/3/issue/", request -> {
+                    pause();
+                    return new StubHttpServer.Response(200, "[]");
+                })
+                .on("GET", "/rest/api/2/project", 200, "[{\"key\":\"PROJ\"}]")
+                .on("GET", "/rest/api/latest/search", 200, "{\"issues\":[]}")
+                .on("GET", "/rest/api/2/search", request -> {
+                    pause();
+                    // Apenas as tarefas de número par existem
+                    StringJoiner issues = new StringJoiner(",", "{\"issues\":[", "]}");
+                    Matcher matcher = JQL_KEY.matcher(URLDecoder.decode(request.query, StandardCharsets.UTF_8));
+                    while (matcher.find()) {
+                        String key = matcher.group(1);
+                        if (Integer.parseInt(key.substring(key.indexOf('-') + 1)) % 2 == 0) {
+                            issues.add("{\"key\":\"" + key + "\"}");
+                        }
+                    }
+                    return new StubHttpServer.Response(200, issues.toString());
+                });
+
+        Path evidence = Files.createTempDirectory("evidencias");
+        Files.createDirectories(evidence.resolve("PDF"));
+        Files.write(evidence.resolve("PDF").resolve("relatorio.pdf"), new byte[8 * 1024]);
+
+        // Pool menor que a quantidade de threads: uma conexão não devolvida bloqueia as demais requisições
+        previousLoader = ConnectorTestConfiguration.install(Map.ofEntries(
+                Map.entry("jira.connector.isActive", "true"),
+                Map.entry("jira.connector.baseUrl", server.baseUrl()),
+                Map.entry("jira.connector.username", "automacao"),
+                Map.entry("jira.connector.jiraKey", "token"),
+                Map.entry("jira.connector.comments.coalesce.enabled", "true"),
+                Map.entry("jira.connector.comments.coalesce.windowMillis", "20"),
+                Map.entry("jira.connector.comments.coalesce.maxComments", "5"),
+                Map.entry("jira.connector.lookup.batch.enabled", "true"),
+                Map.entry("http.pool.maxPerRoute", String.valueOf(POOL_SIZE)),
+                Map.entry("http.pool.maxTotal", String.valueOf(POOL_SIZE)),
+                Map.entry("evidence.path.windows", evidence.toString()),
+                Map.entry("evidence.path.unix", evidence.toString()),
+                Map.entry("evidence.path.jenkins", evidence.toString())));
+        assertTrue(JiraConnector.getInstance().isActive());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void concurrentReportingLosesNoCommentsAndLeaksNoConnections() throws Exception {
+        AtomicInteger wrongAnswers = new AtomicInteger();
+        AtomicInteger transitions = new AtomicInteger();
+        AtomicInteger updates = new AtomicInteger();
+        AtomicInteger createdTasks = new AtomicInteger();
+        Map<String, AtomicInteger> evidences = new ConcurrentHashMap<>();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    JiraConnector jiraConnector = JiraConnector.getInstance();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        int task = (thread + i) % TASKS;
+                        String taskKey = "PROJ-" + task;
+
+                        JiraConnector.addNewComment(taskKey, "Resultado [c-" + thread + "-" + i + "]");
+
+                        // Respostas da busca agrupada trocadas entre threads aparecem como validação incorreta
+                        if (jiraConnector.validateTask(taskKey) != (task % 2 == 0)) {
+                            wrongAnswers.incrementAndGet();
+                        }
+
+                        if (i % 3 == 0) {
+                            if (!JiraConnector.updateStatusByName(taskKey, "Done")) {
+                                wrongAnswers.incrementAndGet();
+                            }
+                            transitions.incrementAndGet();
+                        }
+
+                        String marker = "u-" + thread + "-" + i;
+                        switch (i % 6) {
+                            case 1:
+                                JiraConnector.updateSummary(taskKey, "Resumo " + marker);
+                                updates.incrementAndGet();
+                                break;
+                            case 2:
+                                JiraConnector.updateDescription(taskKey, "Descrição " + marker);
+                                updates.incrementAndGet();
+                                break;
+                            case 3:
+                                JiraConnector.updateLabels(taskKey, List.of("regressao", marker));
+                                updates.incrementAndGet();
+                                break;
+                            case 4:
+                                JiraConnector.createTask("PROJ", "Falha [n-" + thread + "-" + i + "]", "Detalhes");
+                                createdTasks.incrementAndGet();
+                                break;
+                            case 5:
+                                if ((JiraConnector.consultTask("PROJ", taskKey) != null) != (task % 2 == 0)) {
+                                    wrongAnswers.incrementAndGet();
+                                }
+                                break;
+                            default:
+                                JiraConnector.addEvidence(List.of("@Jira_" + taskKey, "@Key_PROJ-T1"));
+                                evidences.computeIfAbsent(taskKey, key -> new AtomicInteger()).incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        JiraConnector.flushComments();
+
+        assertEquals(0, wrongAnswers.get());
+
+        // Cada comentário chega exatamente uma vez, na tarefa correta, mesmo quando agrupado com outros
+        Map<String, Integer> markers = new ConcurrentHashMap<>();
+        for (StubHttpServer.Request request : server.requests()) {
+            if ("POST".equals(request.method) && request.path.endsWith("/comment")) {
+                String body = JsonParser.parseString(request.body).getAsJsonObject().get("body").getAsString();
+                String task = request.path.split("/")[5];
+                Matcher matcher = MARKER.matcher(body);
+                while (matcher.find()) {
+                    String[] parts = matcher.group().replaceAll("[\\[\\]c]", "").substring(1).split("-");
+                    int expectedTask = (Integer.parseInt(parts[0]) + Integer.parseInt(parts[1])) % TASKS;
+                    assertEquals("PROJ-" + expectedTask, task, matcher.group());
+                    markers.merge(matcher.group(), 1, Integer::sum);
+                }
+            }
+        }
+        assertEquals(THREADS * ITERATIONS, markers.size());
+        markers.forEach((marker, count) -> assertEquals(1, count, marker));
+        assertEquals(transitions.get(), server.count("POST", "/rest/api/2/issue/")
+                - server.requests().stream().filter(r -> r.path.endsWith("/comment")).count());
+
+        // Cada atualização de campos chega exatamente uma vez, na tarefa correta
+        Map<String, Integer> updateMarkers = new ConcurrentHashMap<>();
+        Map<String, Integer> newTaskMarkers = new ConcurrentHashMap<>();
+        Map<String, Integer> attachments = new ConcurrentHashMap<>();
+        for (StubHttpServer.Request request : server.requests()) {
+            if ("PUT".equals(request.method)) {
+                Matcher matcher = UPDATE_MARKER.matcher(request.body);
+                assertTrue(matcher.find(), request.body);
+                int expectedTask = (Integer.parseInt(matcher.group(1)) + Integer.parseInt(matcher.group(2))) % TASKS;
+                assertEquals("/rest/api/2/issue/PROJ-" + expectedTask, request.path, matcher.group());
+                updateMarkers.merge(matcher.group(), 1, Integer::sum);
+            } else if ("POST".equals(request.method) && request.path.equals("/rest/api/2/issue")) {
+                Matcher matcher = NEW_TASK_MARKER.matcher(request.body);
+                assertTrue(matcher.find(), request.body);
+                newTaskMarkers.merge(matcher.group(), 1, Integer::sum);
+            } else if ("POST".equals(request.method) && request.path.startsWith("/rest/api/3/issue/")) {
+                attachments.merge(request.path.split("/")[5], 1, Integer::sum);
+            }
+        }
+        assertEquals(updates.get(), updateMarkers.size());
+        updateMarkers.forEach((marker, count) -> assertEquals(1, count, marker));
+        assertEquals(createdTasks.get(), newTaskMarkers.size());
+        newTaskMarkers.forEach((marker, count) -> assertEquals(1, count, marker));
+        assertEquals(evidences.size(), attachments.size());
+        evidences.forEach((task, count) -> assertEquals(count.get(), attachments.get(task), task));
+
+        // Com todas as conexões devolvidas, uma nova rodada de requisições ocupando o pool inteiro conclui
+        ExecutorService probe = Executors.newFixedThreadPool(POOL_SIZE * 2);
+        try {
+            List<Future<Boolean>> checks = new ArrayList<>();
+            for (int i = 0; i < POOL_SIZE * 2; i++) {
+                checks.add(probe.submit(() -> JiraConnector.updateStatusByName("PROJ-1", "Done")));
+            }
+            for (Future<Boolean> check : checks) {
+                assertTrue(check.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            probe.shutdownNow();
+        }
+        assertEquals(0, server.awaitIdle(5_000));
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class JiraNodeBalancerTest {
+
+    private static final InternalPropertiesLoader pLoader = new InternalPropertiesLoader("configuration_core.properties");
+
+    @Test
+    void serverErrorsAreAttributedToTheRequestThatReceivedThem() throws Exception {
+        try (StubHttpServer server = new StubHttpServer()) {
+            server.on("GET", "/fail", 500, "{}").on("GET", "/ok", 200, "{}");
+            JiraNodeBalancer balancer = new JiraNodeBalancer(List.of(server.baseUrl()), pLoader);
+            JiraNodeBalancer.Node node = balancer.getNodes().get(0);
+
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            try {
+                List<Future<?>> requests = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    boolean fail = i % 4 == 0;
+                    requests.add(executor.submit(() -> {
+                        HttpGet httpGet = new HttpGet(server.baseUrl() + (fail ? "/fail" : "/ok"));
+                        node.getHttpClient().execute(httpGet, ResponseHandlers.statusOnly());
+                        // Requisições simultâneas no mesmo nó não recebem o erro umas das outras
+                        assertEquals(fail, node.takeServerError(httpGet));
+                        return null;
+                    }));
+                }
+                for (Future<?> request : requests) {
+                    request.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void untrackedLatencyNeverEjectsANode() {
+        JiraNodeBalancer balancer = new JiraNodeBalancer(List.of("http://node-1", "http://node-2"), pLoader);
+        JiraNodeBalancer.Node first = balancer.getNodes().get(0);
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, balancer.acquire());
+            balancer.release(first, true, 20);
+        }
+        // Envios longos não informam a latência e não contam como pico
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, balancer.acquire());
+            balancer.release(first, true, -1);
+        }
+        assertSame(first, balancer.acquire());
+        balancer.release(first, true, 20);
+
+        for (int i = 0; i < 3; i++) {
+            balancer.acquire();
+            balancer.release(first, true, 60_000);
+        }
+        assertSame(balancer.getNodes().get(1), balancer.acquire());
+    }
+}
@@ -0,0 +1,67 @@
+package jira;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o comentário de resultado publicado pelo {@link JiraResultSink} em uma nova tentativa da mesma execução
+ * de CI, com o controle de idempotência ativo.
+ */
+class JiraResultSinkTest {
+
+    private static final String RUN_ID = "pipeline-42";
+    private static final String SCENARIO = "Cenário instável";
+
+    private static StubHttpServer server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new StubHttpServer()
+                .on("POST", "/rest/api/2/issue/", 201, "{}");
+
+        Path journal = Files.createTempDirectory("idempotency");
+        previousLoader = ConnectorTestConfiguration.install(Map.of(
+                "jira.connector.isActive", "true",
+                "jira.connector.baseUrl", server.baseUrl(),
+                "jira.connector.username", "automacao",
+                "jira.connector.jiraKey", "token",
+                "idempotency.enabled", "true",
+                "idempotency.runId", RUN_ID,
+                "idempotency.path", journal.toString()));
+
+        // Tentativa anterior: o comentário de falha do cenário foi confirmado pelo Jira
+        new IdempotencyGuard(RUN_ID, journal, 100).open(SCENARIO, "PROJ-1", "jira.comment.Fail").acknowledge();
+
+        assertTrue(JiraConnector.getInstance().isActive());
+        assertTrue(IdempotencyGuard.getInstance().isActive());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void retryThatChangesTheResultPublishesTheNewComment() {
+        JiraResultSink sink = new JiraResultSink(true, false, null, null);
+
+        sink.publish(new ScenarioResult(SCENARIO, true, 120, List.of("@Jira_PROJ-1"), null));
+        assertEquals(1, server.count("POST", "/rest/api/2/issue/PROJ-1/comment"));
+        assertTrue(server.requests().get(0).body.contains("PASSOU"));
+
+        // O comentário de falha continua identificado como já enviado
+        sink.publish(new ScenarioResult(SCENARIO, false, 95, List.of("@Jira_PROJ-1"), "Erro"));
+        assertEquals(1, server.count("POST", "/rest/api/2/issue/PROJ-1/comment"));
+    }
+}
@@ -0,0 +1,141 @@
+package jira;
+
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica a transição de tarefas pelo nome do status com os mapas de transição em cache e o status atual obtido
+ * do índice local de tarefas. O workflow simulado possui as transições {@code To Do -(31)-> Done} e
+ * {@code In Progress -(41)-> Done}.
+ */
+class JiraTransitionByNameTest {
+
+    private static final Map<String, String> TRANSITION_IDS = Map.of("To Do", "31", "In Progress", "41");
+    /**
+     * Status atual das tarefas no servidor.
+     */
+    private static final Map<String, String> statuses = new ConcurrentHashMap<>();
+
+    private static StubHttpServer server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        for (int i = 1; i <= 6; i++) {
+            statuses.put("PROJ-" + i, "To Do");
+        }
+        server = new StubHttpServer()
+                .on("GET", "/rest/api/2/search", request -> search())
+                .on("GET", "/rest/api/2/issue/", JiraTransitionByNameTest::issue)
+                .on("POST", "/rest/api/2/issue/", JiraTransitionByNameTest::transition);
+
+        previousLoader = ConnectorTestConfiguration.install(Map.of(
+                "jira.connector.isActive", "true",
+                "jira.connector.baseUrl", server.baseUrl(),
+                "jira.connector.username", "automacao",
+                "jira.connector.jiraKey", "token",
+                "jira.connector.index.enabled", "true",
+                "jira.connector.index.path", Files.createTempDirectory("jira-index").toString()));
+        assertTrue(JiraConnector.getInstance().isActive());
+
+        JiraConnector.getInstance().syncIssueIndex("PROJ");
+        assertEquals(1, server.count("GET", "/rest/api/2/search"));
+
+        // Aquecimento: a primeira transição a partir de "To Do" consulta o mapa de transições
+        assertTrue(JiraConnector.getInstance().transitionIssueByName("PROJ-1", "Done"));
+        assertEquals(1, server.count("GET", "/rest/api/2/issue/"));
+    }
+
+    @AfterAll
+    static void stopServer() {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void indexedIssuesAreTransitionedWithoutLookup() {
+        long lookups = server.count("GET", "/rest/api/2/issue/");
+
+        assertTrue(JiraConnector.getInstance().transitionIssueByName("PROJ-2", "Done"));
+        assertTrue(JiraConnector.getInstance().transitionIssueByName("PROJ-3", "Done"));
+
+        assertEquals(lookups, server.count("GET", "/rest/api/2/issue/"));
+        assertEquals("Done", statuses.get("PROJ-2"));
+        assertEquals("Done", statuses.get("PROJ-3"));
+    }
+
+    @Test
+    void staleIndexedStatusIsRefreshedAndRetried() {
+        // Alterada fora da automação após a sincronização do índice
+        statuses.put("PROJ-5", "In Progress");
+        long lookups = server.count("GET", "/rest/api/2/issue/");
+
+        assertTrue(JiraConnector.getInstance().transitionIssueByName("PROJ-5", "Done"));
+
+        assertEquals(lookups + 1, server.count("GET", "/rest/api/2/issue/"));
+        assertEquals(2, server.count("POST", "/rest/api/2/issue/PROJ-5/transitions"));
+        assertEquals("Done", statuses.get("PROJ-5"));
+    }
+
+    @Test
+    void errorsThatAreNotStaleAreNotRetried() {
+        long lookups = server.count("GET", "/rest/api/2/issue/");
+
+        // Sem permissão: nem consulta nem nova tentativa
+        assertFalse(JiraConnector.getInstance().transitionIssueByName("PROJ-4", "Done"));
+        assertEquals(lookups, server.count("GET", "/rest/api/2/issue/"));
+        assertEquals(1, server.count("POST", "/rest/api/2/issue/PROJ-4/transitions"));
+
+        // Campo obrigatório ausente: a consulta mostra a mesma transição, que não é repetida
+        assertFalse(JiraConnector.getInstance().transitionIssueByName("PROJ-6", "Done"));
+        assertEquals(lookups + 1, server.count("GET", "/rest/api/2/issue/"));
+        assertEquals(1, server.count("POST", "/rest/api/2/issue/PROJ-6/transitions"));
+    }
+
+    private static StubHttpServer.Response search() {
+        StringJoiner issues = new StringJoiner(",", "{\"total\":" + statuses.size() + ",\"issues\":[", "]}");
+        statuses.forEach((key, status) -> issues.add("{\"id\":\"" + key.substring(5) + "\",\"key\":\"" + key
+                + "\",\"fields\":{\"issuetype\":{\"name\":\"Task\"},\"status\":{\"name\":\"" + status + "\"},"
+                + "\"labels\":[],\"updated\":null}}"));
+        return new StubHttpServer.Response(200, issues.toString());
+    }
+
+    private static StubHttpServer.Response issue(StubHttpServer.Request request) {
+        String key = request.path.substring("/rest/api/2/issue/".length());
+        String status = statuses.get(key);
+        String transitionId = TRANSITION_IDS.get(status);
+        String transitions = transitionId == null ? "[]"
+                : "[{\"id\":\"" + transitionId + "\",\"name\":\"Concluir\",\"to\":{\"name\":\"Done\"}}]";
+        return new StubHttpServer.Response(200, "{\"fields\":{\"project\":{\"key\":\"PROJ\"},"
+                + "\"issuetype\":{\"name\":\"Task\"},\"status\":{\"name\":\"" + status + "\"}},"
+                + "\"transitions\":" + transitions + "}");
+    }
+
+    private static StubHttpServer.Response transition(StubHttpServer.Request request) {
+        String key = request.path.substring("/rest/api/2/issue/".length(), request.path.lastIndexOf('/'));
+        if ("PROJ-4".equals(key)) {
+            return new StubHttpServer.Response(403, "{}");
+        }
+        if ("PROJ-6".equals(key)) {
+            return new StubHttpServer.Response(400, "{\"errors\":{\"resolution\":\"Campo obrigatório\"}}");
+        }
+        String id = JsonParser.parseString(request.body).getAsJsonObject()
+                .getAsJsonObject("transition").get("id").getAsString();
+        if (!id.equals(TRANSITION_IDS.get(statuses.get(key)))) {
+            return new StubHttpServer.Response(400, "{\"errorMessages\":[\"Transição inválida\"]}");
+        }
+        statuses.put(key, "Done");
+        return new StubHttpServer.Response(204, "");
+    }
+}
@@ -0,0 +1,100 @@
+package jira;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica a atualização de tarefas no modo de diferenças: apenas os campos alterados são enviados ao Jira e os
+ * campos atuais de cada tarefa são consultados uma única vez.
+ */
+class JiraUpdateDiffModeTest {
+
+    private static final String SUMMARY = "Login com sucesso";
+    private static final String DESCRIPTION = "Fluxo de login do portal";
+
+    private static StubHttpServer server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new StubHttpServer()
+                .on("GET", "/rest/api/2/issue/", 200, "{\"fields\":{\"summary\":\"" + SUMMARY + "\","
+                        + "\"description\":\"" + DESCRIPTION + "\",\"labels\":[\"smoke\",\"regressao\"]}}")
+                .on("PUT", "/rest/api/2/issue/", 204, "");
+
+        previousLoader = ConnectorTestConfiguration.install(Map.of(
+                "jira.connector.isActive", "true",
+                "jira.connector.baseUrl", server.baseUrl(),
+                "jira.connector.username", "automacao",
+                "jira.connector.jiraKey", "token",
+                "jira.connector.update.diffMode", "true"));
+        assertTrue(JiraConnector.getInstance().isActive());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void unchangedFieldsSendNothing() {
+        long skipped = ConnectorMetrics.get("jira.update.diff.skipped");
+        long cacheHits = ConnectorMetrics.get("jira.update.diff.cacheHits");
+
+        JiraConnector.updateSummary("PROJ-1", SUMMARY);
+        JiraConnector.updateDescription("PROJ-1", DESCRIPTION);
+        // A ordem das etiquetas não é considerada alteração
+        JiraConnector.updateLabels("PROJ-1", List.of("regressao", "smoke"));
+
+        assertEquals(0, server.count("PUT", "/rest/api/2/issue/PROJ-1"));
+        assertEquals(1, server.count("GET", "/rest/api/2/issue/PROJ-1"));
+        assertEquals(skipped + 3, ConnectorMetrics.get("jira.update.diff.skipped"));
+        assertEquals(cacheHits + 2, ConnectorMetrics.get("jira.update.diff.cacheHits"));
+    }
+
+    @Test
+    void partialChangeSendsOnlyTheChangedFields() {
+        long skipped = ConnectorMetrics.get("jira.update.diff.skipped");
+        long cacheHits = ConnectorMetrics.get("jira.update.diff.cacheHits");
+
+        JiraConnector.getInstance().updateTaskDetails("PROJ-2", new JiraConnector.UpdateTaskDetails(SUMMARY,
+                "Fluxo de login revisado", List.of("smoke", "regressao"), null, null));
+
+        assertEquals(1, server.count("PUT", "/rest/api/2/issue/PROJ-2"));
+        JsonObject update = JsonParser.parseString(lastPut("/rest/api/2/issue/PROJ-2").body).getAsJsonObject()
+                .getAsJsonObject("update");
+        assertEquals(Set.of("description"), update.keySet());
+        assertEquals("Fluxo de login revisado", update.getAsJsonArray("description").get(0).getAsJsonObject()
+                .get("set").getAsString());
+        assertEquals(skipped, ConnectorMetrics.get("jira.update.diff.skipped"));
+
+        // O cache reflete o valor enviado: repetir a mesma atualização não envia nada
+        JiraConnector.updateDescription("PROJ-2", "Fluxo de login revisado");
+        assertEquals(1, server.count("PUT", "/rest/api/2/issue/PROJ-2"));
+        assertEquals(1, server.count("GET", "/rest/api/2/issue/PROJ-2"));
+        assertEquals(skipped + 1, ConnectorMetrics.get("jira.update.diff.skipped"));
+        assertEquals(cacheHits + 1, ConnectorMetrics.get("jira.update.diff.cacheHits"));
+    }
+
+    private static StubHttpServer.Request lastPut(String path) {
+        List<StubHttpServer.Request> requests = server.requests();
+        for (int i = requests.size() - 1; i >= 0; i--) {
+            StubHttpServer.Request request = requests.get(i);
+            if ("PUT".equals(request.method) && path.equals(request.path)) {
+                return request;
+            }
+        }
+        throw new AssertionError("Nenhuma atualização enviada para " + path);
+    }
+}
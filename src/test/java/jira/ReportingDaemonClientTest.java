@@ -0,0 +1,157 @@
+package jira;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o encaminhamento das operações a um daemon simulado, que responde conforme o primeiro texto do quadro.
+ */
+class ReportingDaemonClientTest {
+
+    private static final CountDownLatch slowStarted = new CountDownLatch(1);
+    private static final CountDownLatch releaseSlow = new CountDownLatch(1);
+    private static final CountDownLatch releaseHung = new CountDownLatch(1);
+
+    private static ServerSocketChannel server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startDaemon() throws Exception {
+        Path socket = Files.createTempDirectory("reporting").resolve("reporting.sock");
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socket));
+        Thread acceptor = new Thread(() -> {
+            try {
+                while (true) {
+                    SocketChannel client = server.accept();
+                    Thread connection = new Thread(() -> reply(client));
+                    connection.setDaemon(true);
+                    connection.start();
+                }
+            } catch (IOException e) {
+                // Daemon simulado encerrado
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        previousLoader = ConnectorTestConfiguration.install(Map.of(
+                "reporting.daemon.enabled", "true",
+                "reporting.daemon.socket", socket.toString(),
+                "reporting.daemon.replyTimeoutMillis", "2000"));
+        assertTrue(ReportingDaemonClient.getInstance().isEnabled());
+    }
+
+    @AfterAll
+    static void stopDaemon() throws IOException {
+        releaseHung.countDown();
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void outcomeReflectsTheExecutionResult() {
+        assertEquals(ReportingDaemonClient.Outcome.SUCCEEDED, forward("ok"));
+        assertEquals(ReportingDaemonClient.Outcome.FAILED, forward("fail"));
+        assertEquals(ReportingDaemonClient.Outcome.NOT_FORWARDED, forward("reject"));
+        assertTrue(ReportingDaemonClient.Outcome.FAILED.isHandled());
+        assertFalse(ReportingDaemonClient.Outcome.NOT_FORWARDED.isHandled());
+    }
+
+    @Test
+    void slowOperationDoesNotBlockOtherThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ReportingDaemonClient.Outcome> slow = executor.submit(() -> forward("slow"));
+            assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+
+            // A outra thread utiliza uma nova conexão enquanto a primeira aguarda a execução
+            Future<ReportingDaemonClient.Outcome> fast = executor.submit(() -> forward("ok"));
+            assertEquals(ReportingDaemonClient.Outcome.SUCCEEDED, fast.get(5, TimeUnit.SECONDS));
+            assertFalse(slow.isDone());
+
+            releaseSlow.countDown();
+            assertEquals(ReportingDaemonClient.Outcome.SUCCEEDED, slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            releaseSlow.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void operationWithoutReplyIsNotExecutedAgain() {
+        long start = System.nanoTime();
+        ReportingDaemonClient.Outcome outcome = forward("hang");
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // O daemon recebeu a operação e pode tê-la executado: o processo não deve repeti-la
+        assertEquals(ReportingDaemonClient.Outcome.UNKNOWN, outcome);
+        assertTrue(outcome.isHandled());
+        assertTrue(elapsed >= 2000 && elapsed < 10_000, String.valueOf(elapsed));
+
+        // Apenas a conexão sem resposta é descartada
+        assertEquals(ReportingDaemonClient.Outcome.SUCCEEDED, forward("ok"));
+    }
+
+    private static ReportingDaemonClient.Outcome forward(String result) {
+        return ReportingDaemonClient.forwardIfEnabled(
+                () -> new ReportingFrame(ReportingFrame.TRANSITION_BY_NAME).putString(result).putString("Done"));
+    }
+
+    private static void reply(SocketChannel client) {
+        try (SocketChannel channel = client;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            while (true) {
+                String result = ReportingFrame.readFrom(in).getString();
+                switch (result) {
+                    case "slow":
+                        slowStarted.countDown();
+                        releaseSlow.await();
+                        out.writeByte(ReportingFrame.ACK_SUCCEEDED);
+                        break;
+                    case "hang":
+                        releaseHung.await();
+                        break;
+                    case "fail":
+                        out.writeByte(ReportingFrame.ACK_FAILED);
+                        break;
+                    case "reject":
+                        out.writeByte(ReportingFrame.ACK_REJECTED);
+                        break;
+                    default:
+                        out.writeByte(ReportingFrame.ACK_SUCCEEDED);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Conexão encerrada pelo cliente
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
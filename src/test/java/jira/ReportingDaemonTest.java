@@ -0,0 +1,49 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportingDaemonTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void refusesToStartWhileAnotherDaemonIsAnswering() throws IOException {
+        Path socket = dir.resolve("reporting.sock");
+        try (ServerSocketChannel running = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            running.bind(UnixDomainSocketAddress.of(socket));
+
+            assertThrows(IOException.class, () -> new ReportingDaemon(socket, 1).run());
+
+            // O socket do daemon ativo continua disponível
+            assertTrue(Files.exists(socket));
+            try (SocketChannel client = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                client.connect(UnixDomainSocketAddress.of(socket));
+            }
+        }
+    }
+
+    @Test
+    void sharedDirectoriesAreNotTrusted() throws IOException {
+        Path shared = Files.createDirectory(dir.resolve("shared"));
+        Files.setPosixFilePermissions(shared, PosixFilePermissions.fromString("rwxrwxrwx"));
+        assertThrows(IOException.class, () -> ReportingDaemonClient.checkPrivateDirectory(shared));
+
+        ReportingDaemonClient.restrictToOwner(shared, true);
+        ReportingDaemonClient.checkPrivateDirectory(shared);
+        assertThrows(IOException.class, () -> ReportingDaemonClient.checkPrivateDirectory(dir.resolve("missing")));
+    }
+}
@@ -0,0 +1,94 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportingFrameTest {
+
+    @Test
+    void fieldsSurviveTheRoundTrip() throws IOException {
+        String comment = "Comentário com acentuação e ✓ — " + String.join("", Collections.nCopies(200, "x"));
+        ReportingFrame frame = new ReportingFrame(ReportingFrame.COMMENT)
+                .putString("Cenário")
+                .putString(null)
+                .putString("")
+                .putString(comment)
+                .putStrings(List.of("/tmp/evidencias/a.pdf", "/tmp/evidencias/b.png"))
+                .putStrings(List.of())
+                .putBoolean(true)
+                .putBoolean(false)
+                .putLong(Long.MIN_VALUE);
+
+        ReportingFrame read = roundTrip(frame);
+
+        assertEquals(ReportingFrame.COMMENT, read.getOpcode());
+        assertEquals("Cenário", read.getString());
+        assertNull(read.getString());
+        assertEquals("", read.getString());
+        assertEquals(comment, read.getString());
+        assertEquals(List.of("/tmp/evidencias/a.pdf", "/tmp/evidencias/b.png"), read.getStrings());
+        assertEquals(List.of(), read.getStrings());
+        assertTrue(read.getBoolean());
+        assertFalse(read.getBoolean());
+        assertEquals(Long.MIN_VALUE, read.getLong());
+        assertThrows(BufferUnderflowException.class, read::getBoolean);
+    }
+
+    @Test
+    void consecutiveFramesAreReadSeparately() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        new ReportingFrame(ReportingFrame.TRANSITION_BY_NAME).putString("PROJ-1").putString("Done").writeTo(out);
+        new ReportingFrame(ReportingFrame.EVIDENCE).writeTo(out);
+        new ReportingFrame(ReportingFrame.EXECUTION).putLong(42).writeTo(out);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        ReportingFrame first = ReportingFrame.readFrom(in);
+        assertEquals(ReportingFrame.TRANSITION_BY_NAME, first.getOpcode());
+        assertEquals("PROJ-1", first.getString());
+        assertEquals("Done", first.getString());
+
+        ReportingFrame empty = ReportingFrame.readFrom(in);
+        assertEquals(ReportingFrame.EVIDENCE, empty.getOpcode());
+        assertThrows(BufferUnderflowException.class, empty::getString);
+
+        ReportingFrame last = ReportingFrame.readFrom(in);
+        assertEquals(ReportingFrame.EXECUTION, last.getOpcode());
+        assertEquals(42, last.getLong());
+    }
+
+    @Test
+    void invalidLengthIsRejected() {
+        for (int length : new int[]{0, -5, Integer.MAX_VALUE}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(length);
+                out.writeByte(ReportingFrame.COMMENT);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            assertThrows(IOException.class, () -> ReportingFrame.readFrom(in), String.valueOf(length));
+        }
+    }
+
+    private static ReportingFrame roundTrip(ReportingFrame frame) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        frame.writeTo(new DataOutputStream(bytes));
+        return ReportingFrame.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
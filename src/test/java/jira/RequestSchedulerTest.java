@@ -0,0 +1,116 @@
+package jira;
+
+import data.InternalPropertiesLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestSchedulerTest {
+
+    @Test
+    void bulkLaneIsNotStarvedBySteadyCriticalTraffic() throws Exception {
+        InternalPropertiesLoader properties = new InternalPropertiesLoader("configuration_core.properties");
+        properties.setValue("http.lanes.enabled", "true");
+        properties.setValue("http.lanes.critical.concurrency", "1");
+        properties.setValue("http.lanes.bulk.maxYieldMillis", "200");
+        RequestScheduler scheduler = new RequestScheduler(properties);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService critical = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            critical.execute(() -> {
+                while (running.get()) {
+                    try {
+                        scheduler.execute(RequestScheduler.Lane.CRITICAL, 100, () -> {
+                            sleep(5);
+                            return null;
+                        });
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        try {
+            AtomicInteger uploads = new AtomicInteger();
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> scheduler.execute(RequestScheduler.Lane.BULK,
+                    1024 * 1024, uploads::incrementAndGet));
+            assertEquals(1, uploads.get());
+        } finally {
+            running.set(false);
+            critical.shutdown();
+            assertTrue(critical.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void deferredWorkDroppedByDrainIsDiscarded() throws Exception {
+        InternalPropertiesLoader properties = new InternalPropertiesLoader("configuration_core.properties");
+        properties.setValue("http.lanes.enabled", "true");
+        // Todo envio é adiado e a fila comporta dois envios além do que está em execução
+        properties.setValue("http.lanes.bulk.maxQueued", "0");
+        properties.setValue("http.lanes.bulk.maxDeferred", "2");
+        properties.setValue("http.lanes.drainTimeoutSeconds", "1");
+        RequestScheduler scheduler = new RequestScheduler(properties);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        List<String> finished = new CopyOnWriteArrayList<>();
+        List<String> discarded = new CopyOnWriteArrayList<>();
+        assertTrue(scheduler.executeOrDefer(RequestScheduler.Lane.BULK, 1024, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                return null;
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("envio interrompido");
+            } finally {
+                finished.add("lento");
+                stopped.countDown();
+            }
+        }, () -> discarded.add("lento")));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (String name : new String[]{"fila-1", "fila-2"}) {
+            assertTrue(scheduler.executeOrDefer(RequestScheduler.Lane.BULK, 1024, () -> {
+                finished.add(name);
+                return null;
+            }, () -> discarded.add(name)));
+        }
+
+        // Fila cheia: descartado ao ser recebido
+        assertFalse(scheduler.executeOrDefer(RequestScheduler.Lane.BULK, 1024, () -> {
+            finished.add("excedente");
+            return null;
+        }, () -> discarded.add("excedente")));
+        assertEquals(List.of("excedente"), discarded);
+
+        // Ao fim do prazo o envio em execução é interrompido e os da fila são descartados sem execução
+        assertTimeoutPreemptively(Duration.ofSeconds(10), scheduler::drain);
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("lento"), finished);
+        assertEquals(List.of("excedente", "fila-1", "fila-2"), discarded);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
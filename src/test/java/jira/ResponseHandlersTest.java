@@ -0,0 +1,209 @@
+package jira;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseHandlersTest {
+
+    private static final String LARGE = "x".repeat(1 << 20);
+
+    @Test
+    void jsonFieldsExtractsNestedPaths() throws Exception {
+        ResponseHandlers.JsonFields fields = ResponseHandlers.jsonFields("key", "fields.status.name",
+                "fields.assignee", "fields.flagged", "fields.votes", "fields.status", "missing")
+                .handleResponse(response(201, "{\"id\":\"10001\",\"key\":\"PROJ-1\",\"fields\":{"
+                        + "\"status\":{\"id\":\"3\",\"name\":\"Done\"},\"assignee\":null,\"flagged\":true,"
+                        + "\"votes\":7}}", new AtomicLong()));
+
+        assertEquals(201, fields.getStatusCode());
+        assertEquals("PROJ-1", fields.get("key"));
+        assertEquals("Done", fields.get("fields.status.name"));
+        assertNull(fields.get("fields.assignee"));
+        assertEquals("true", fields.get("fields.flagged"));
+        assertEquals("7", fields.get("fields.votes"));
+        // Apenas valores primitivos são extraídos
+        assertNull(fields.get("fields.status"));
+        assertNull(fields.get("missing"));
+    }
+
+    @Test
+    void jsonFieldsStopsReadingOnceAllFieldsAreFound() throws Exception {
+        AtomicLong read = new AtomicLong();
+        String body = "{\"key\":\"PROJ-1\",\"fields\":{\"status\":{\"name\":\"Done\"}},"
+                + "\"renderedFields\":{\"description\":\"" + LARGE + "\"}}";
+
+        ResponseHandlers.JsonFields fields = ResponseHandlers.jsonFields("key", "fields.status.name")
+                .handleResponse(response(200, body, read));
+
+        assertEquals("Done", fields.get("fields.status.name"));
+        assertTrue(read.get() < 64 * 1024, String.valueOf(read.get()));
+    }
+
+    @Test
+    void jsonFieldsSkipsUnneededPayload() throws Exception {
+        // Objetos e listas sem campos desejados são ignorados, mesmo quando contêm nomes iguais aos procurados
+        String body = "{\"changelog\":{\"histories\":[{\"items\":[{\"key\":\"OLD-1\"}]}],\"log\":\"" + LARGE + "\"},"
+                + "\"fields\":{\"comment\":{\"status\":{\"name\":\"Comentado\"}},\"labels\":[\"a\",{\"name\":\"b\"}],"
+                + "\"status\":{\"name\":\"Done\"}},\"key\":\"PROJ-1\"}";
+
+        ResponseHandlers.JsonFields fields = ResponseHandlers.jsonFields("key", "fields.status.name")
+                .handleResponse(response(200, body, new AtomicLong()));
+
+        assertEquals("PROJ-1", fields.get("key"));
+        assertEquals("Done", fields.get("fields.status.name"));
+    }
+
+    @Test
+    void jsonFieldsIgnoresBodiesThatAreNotJson() throws Exception {
+        ResponseHandlers.JsonFields fields = ResponseHandlers.jsonFields("key")
+                .handleResponse(response(502, "<html><body>Bad Gateway</body></html>", new AtomicLong()));
+
+        assertEquals(502, fields.getStatusCode());
+        assertNull(fields.get("key"));
+    }
+
+    @Test
+    void handlersReleaseTheConnectionOnSuccessAndOnErrorStatuses() throws Exception {
+        PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager();
+        pool.setMaxTotal(1);
+        pool.setDefaultMaxPerRoute(1);
+        try (StubHttpServer server = new StubHttpServer()
+                .on("GET", "/ok", 200, "{\"key\":\"PROJ-1\",\"description\":\"" + LARGE + "\"}")
+                .on("GET", "/missing", 404, "{\"errorMessages\":[\"" + LARGE + "\"]}")
+                .on("GET", "/error", 500, LARGE);
+             CloseableHttpClient client = pooledClient(pool)) {
+            String baseUrl = server.baseUrl();
+
+            // Com uma única conexão no pool, uma resposta não liberada faria a requisição seguinte esgotar o prazo
+            for (String path : new String[]{"/ok", "/missing", "/error"}) {
+                client.execute(new HttpGet(baseUrl + path), ResponseHandlers.statusOnly());
+                client.execute(new HttpGet(baseUrl + path), ResponseHandlers.json(200));
+                // Leitor que lê apenas o início do corpo
+                client.execute(new HttpGet(baseUrl + path), ResponseHandlers.stream((statusCode, reader) -> {
+                    if (reader != null && statusCode != 500) {
+                        reader.beginObject();
+                        reader.nextName();
+                    }
+                    return statusCode;
+                }));
+                // Leitor que falha no código de status de erro, antes de ler o corpo
+                ResponseHandlers.StreamReader<Integer> failing = (statusCode, reader) -> {
+                    if (statusCode != 200) {
+                        throw new IOException("Código de status: " + statusCode);
+                    }
+                    return statusCode;
+                };
+                if ("/ok".equals(path)) {
+                    assertEquals(200, client.execute(new HttpGet(baseUrl + path), ResponseHandlers.stream(failing)));
+                } else {
+                    assertThrows(IOException.class,
+                            () -> client.execute(new HttpGet(baseUrl + path), ResponseHandlers.stream(failing)));
+                }
+                assertEquals(0, pool.getTotalStats().getLeased(), path);
+            }
+        }
+    }
+
+    @Test
+    void poolDoesNotDrainAfterManyCalls() throws Exception {
+        int threads = 8;
+        int calls = 50;
+        PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager();
+        pool.setMaxTotal(2);
+        pool.setDefaultMaxPerRoute(2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (StubHttpServer server = new StubHttpServer()
+                .on("GET", "/issue", 200, "{\"key\":\"PROJ-1\",\"fields\":{\"status\":{\"name\":\"Done\"}},"
+                        + "\"renderedFields\":\"" + "x".repeat(64 * 1024) + "\"}")
+                .on("GET", "/missing", 404, "{}");
+             CloseableHttpClient client = pooledClient(pool)) {
+            String baseUrl = server.baseUrl();
+
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < calls; i++) {
+                        String path = i % 3 == 0 ? "/missing" : "/issue";
+                        if (i % 2 == 0) {
+                            client.execute(new HttpGet(baseUrl + path), ResponseHandlers.statusOnly());
+                        } else {
+                            ResponseHandlers.JsonFields fields = client.execute(new HttpGet(baseUrl + path),
+                                    ResponseHandlers.jsonFields("fields.status.name"));
+                            assertEquals("/issue".equals(path) ? "Done" : null, fields.get("fields.status.name"));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+
+            assertEquals(threads * calls, server.requests().size());
+            assertEquals(0, pool.getTotalStats().getLeased());
+            assertEquals(0, pool.getTotalStats().getPending());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CloseableHttpClient pooledClient(PoolingHttpClientConnectionManager pool) {
+        return HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom().setConnectionRequestTimeout(5_000).build())
+                .build();
+    }
+
+    /**
+     * Resposta com o corpo informado, contabilizando os bytes lidos do corpo.
+     */
+    private static HttpResponse response(int statusCode, String body, AtomicLong read) {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        response.setEntity(new InputStreamEntity(new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                int count = super.read(buffer, offset, length);
+                if (count > 0) {
+                    read.addAndGet(count);
+                }
+                return count;
+            }
+
+            @Override
+            public synchronized int read() {
+                int value = super.read();
+                if (value >= 0) {
+                    read.incrementAndGet();
+                }
+                return value;
+            }
+        }, bytes.length, ContentType.APPLICATION_JSON));
+        return response;
+    }
+}
@@ -0,0 +1,157 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultPublisherTest {
+
+    private static final ScenarioResult RESULT = new ScenarioResult("Cenário", true, 10, List.of("@Key_PROJ-T1"), null);
+
+    @Test
+    void sinksArePublishedInParallel() throws Exception {
+        int callers = 16;
+        ResultPublisher publisher = new ResultPublisher(5_000, callers * 2);
+        Set<String> published = ConcurrentHashMap.newKeySet();
+        publisher.addSink(sink("Jira", result -> {
+            Thread.sleep(300);
+            published.add("Jira " + result.getName());
+        }));
+        publisher.addSink(sink("Zephyr", result -> {
+            Thread.sleep(300);
+            published.add("Zephyr " + result.getName());
+        }));
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            long start = System.nanoTime();
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                ScenarioResult result = new ScenarioResult("cenario-" + i, true, 10, List.of(), null);
+                futures.add(executor.submit(() -> publisher.publish(result)));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+            // O tempo é o do destino mais lento, e não a soma dos destinos ou das threads
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(callers * 2, published.size());
+    }
+
+    @Test
+    void slowSinkTimesOutWithoutAffectingTheOthers() {
+        ResultPublisher publisher = new ResultPublisher(200, 4);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicInteger fast = new AtomicInteger();
+        publisher.addSink(sink("Lento", result -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        }));
+        publisher.addSink(sink("Rápido", result -> fast.incrementAndGet()));
+
+        long start = System.nanoTime();
+        assertFalse(publisher.publish(RESULT));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+        assertEquals(1, fast.get());
+        assertEquals(0, awaitCount(interrupted));
+    }
+
+    @Test
+    void timeoutStartsWhenThePublicationStarts() {
+        // Um único thread: o segundo destino aguarda o primeiro na fila por mais da metade do timeout
+        ResultPublisher publisher = new ResultPublisher(250, 1);
+        AtomicInteger published = new AtomicInteger();
+        for (String name : new String[]{"Jira", "Zephyr"}) {
+            publisher.addSink(sink(name, result -> {
+                Thread.sleep(150);
+                published.incrementAndGet();
+            }));
+        }
+
+        assertTrue(publisher.publish(RESULT));
+        assertEquals(2, published.get());
+    }
+
+    @Test
+    void failingSinkDoesNotAffectTheOthers() {
+        ResultPublisher publisher = new ResultPublisher(5_000, 4);
+        AtomicInteger published = new AtomicInteger();
+        publisher.addSink(sink("Jira", result -> {
+            throw new IllegalStateException("falha simulada");
+        }));
+        publisher.addSink(sink("Zephyr", result -> published.incrementAndGet()));
+        publisher.addSink(new ResultSink() {
+            @Override
+            public String getName() {
+                return "Ignorado";
+            }
+
+            @Override
+            public boolean accepts(ScenarioResult result) {
+                return false;
+            }
+
+            @Override
+            public void publish(ScenarioResult result) {
+                throw new AssertionError("destino não aceita o resultado");
+            }
+        });
+
+        assertFalse(publisher.publish(RESULT));
+        assertFalse(publisher.publish(RESULT));
+        assertEquals(2, published.get());
+    }
+
+    private static long awaitCount(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return latch.getCount();
+    }
+
+    private static ResultSink sink(String name, Publication publication) {
+        return new ResultSink() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public boolean accepts(ScenarioResult result) {
+                return true;
+            }
+
+            @Override
+            public void publish(ScenarioResult result) throws Exception {
+                publication.publish(result);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Publication {
+        void publish(ScenarioResult result) throws Exception;
+    }
+}
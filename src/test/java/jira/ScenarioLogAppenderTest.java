@@ -0,0 +1,108 @@
+package jira;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifica o buffer circular do {@link ScenarioLogAppender}, comparando o final devolvido com o final do fluxo
+ * completo de eventos gravados.
+ */
+class ScenarioLogAppenderTest {
+
+    private static final int CAPACITY = 1024;
+    private static final String TRUNCATED = "[... log truncado ...]\n";
+
+    private static ScenarioLogAppender appender;
+
+    @BeforeAll
+    static void createAppender() {
+        appender = ScenarioLogAppender.createAppender("teste", CAPACITY / 1024,
+                PatternLayout.newBuilder().withPattern("%m%n").withCharset(StandardCharsets.UTF_8).build(), null);
+    }
+
+    @Test
+    void eventsLargerThanTheBufferKeepTheStreamOrder() throws Exception {
+        // Cada thread possui o seu buffer, criado com a capacidade configurada acima
+        runInNewThread(() -> {
+            StringBuilder stream = new StringBuilder();
+            log(stream, "inicio");
+            log(stream, lines("grande", 150));
+            log(stream, "fim");
+            assertTail(stream);
+
+            log(stream, lines("maior", 400));
+            assertTail(stream);
+            log(stream, "depois");
+            assertTail(stream);
+        });
+    }
+
+    @Test
+    void wrapAroundWithSmallEvents() throws Exception {
+        runInNewThread(() -> {
+            StringBuilder stream = new StringBuilder();
+            for (int i = 0; i < 500; i++) {
+                log(stream, "evento-" + i);
+                assertTail(stream);
+            }
+
+            ScenarioLogAppender.startScenario();
+            assertNull(ScenarioLogAppender.tail(CAPACITY));
+            StringBuilder scenario = new StringBuilder();
+            log(scenario, "novo cenário");
+            assertEquals("novo cenário\n", ScenarioLogAppender.tail(CAPACITY));
+        });
+    }
+
+    private static void log(StringBuilder stream, String message) {
+        appender.append(Log4jLogEvent.newBuilder()
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message))
+                .build());
+        stream.append(message).append('\n');
+    }
+
+    private static String lines(String prefix, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : "\n").append(prefix).append('-').append(String.format("%04d", i));
+        }
+        return text.toString();
+    }
+
+    /**
+     * O final devolvido corresponde aos últimos bytes do fluxo, sem a linha incompleta do início.
+     */
+    private static void assertTail(StringBuilder stream) {
+        String text = stream.toString();
+        String expected;
+        if (text.length() <= CAPACITY) {
+            expected = text;
+        } else {
+            String last = text.substring(text.length() - CAPACITY);
+            expected = TRUNCATED + last.substring(last.indexOf('\n') + 1);
+        }
+        assertEquals(expected, ScenarioLogAppender.tail(CAPACITY));
+    }
+
+    private static void runInNewThread(Runnable test) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(test).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package jira;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP local para os testes, com respostas configuráveis por método e caminho e registro das
+ * requisições recebidas.
+ */
+class StubHttpServer implements AutoCloseable {
+
+    static {
+        // Sem TCP_NODELAY as respostas locais sofrem o atraso de ACK do TCP (~40 ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(32);
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    StubHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Define a resposta das requisições cujo caminho começa com o prefixo informado.
+     */
+    StubHttpServer on(String method, String pathPrefix, Handler handler) {
+        handlers.put(method + " " + pathPrefix, handler);
+        return this;
+    }
+
+    StubHttpServer on(String method, String pathPrefix, int status, String body) {
+        return on(method, pathPrefix, request -> new Response(status, body));
+    }
+
+    List<Request> requests() {
+        return requests;
+    }
+
+    long count(String method, String pathPrefix) {
+        return requests.stream().filter(r -> r.method.equals(method) && r.path.startsWith(pathPrefix)).count();
+    }
+
+    /**
+     * Aguarda a conclusão das requisições em andamento. O contador só é decrementado após a resposta ser escrita, de
+     * forma que o cliente pode recebê-la um pouco antes.
+     *
+     * @return Quantidade de requisições ainda em andamento ao final da espera.
+     */
+    int awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (inFlight.get() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        return inFlight.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        inFlight.incrementAndGet();
+        try (exchange) {
+            String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            String path = exchange.getRequestURI().getRawPath();
+            String query = exchange.getRequestURI().getRawQuery();
+            Request request = new Request(exchange.getRequestMethod(), path, query, body,
+                    exchange.getRequestHeaders().getFirst("If-None-Match"));
+            requests.add(request);
+
+            Handler handler = null;
+            int longest = -1;
+            for (Map.Entry<String, Handler> entry : handlers.entrySet()) {
+                String key = entry.getKey();
+                String prefix = key.substring(key.indexOf(' ') + 1);
+                if (key.startsWith(request.method + " ") && path.startsWith(prefix) && prefix.length() > longest) {
+                    handler = entry.getValue();
+                    longest = prefix.length();
+                }
+            }
+
+            Response response = handler == null ? new Response(404, "") : handler.handle(request);
+            response.headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+            byte[] bytes = response.body.getBytes(StandardCharsets.UTF_8);
+            if (response.status == 204 || response.status == 304) {
+                exchange.sendResponseHeaders(response.status, -1);
+            } else {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(response.status, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    interface Handler {
+        Response handle(Request request) throws IOException;
+    }
+
+    static class Request {
+
+        final String method;
+        final String path;
+        final String query;
+        final String body;
+        final String ifNoneMatch;
+
+        Request(String method, String path, String query, String body, String ifNoneMatch) {
+            this.method = method;
+            this.path = path;
+            this.query = query;
+            this.body = body;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+    }
+
+    static class Response {
+
+        final int status;
+        final String body;
+        final Map<String, String> headers = new ConcurrentHashMap<>();
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package jira;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Executa as operações públicas do {@link ZephyrConnector} a partir de várias threads contra um servidor local,
+ * verificando execuções perdidas ou duplicadas, respostas trocadas entre threads e conexões não devolvidas ao pool.
+ */
+class ZephyrConnectorStressTest {
+
+    private static final int THREADS = 64;
+    private static final int ITERATIONS = 40;
+    private static final int POOL_SIZE = 4;
+
+    private static StubHttpServer server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new StubHttpServer()
+                .on("POST", "/v2/testexecutions", request -> {
+                    pause();
+                    return new StubHttpServer.Response(201, "{}");
+                })
+                .on("GET", "/v2/testcycles/", ZephyrConnectorStressTest::lookup)
+                .on("GET", "/v2/testcases/", ZephyrConnectorStressTest::lookup);
+
+        // Pool menor que a quantidade de threads: uma conexão não devolvida bloqueia as demais requisições
+        previousLoader = ConnectorTestConfiguration.install(Map.of(
+                "zephyr.connector.isActive", "true",
+                "zephyr.connector.url", server.baseUrl(),
+                "zephyr.connector.zephyrKey", "token",
+                "zephyr.connector.projectId", "PROJ",
+                "http.pool.maxPerRoute", String.valueOf(POOL_SIZE),
+                "http.pool.maxTotal", String.valueOf(POOL_SIZE)));
+        assertTrue(ZephyrConnector.isActive());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void concurrentReportingLosesNoUpdatesAndLeaksNoConnections() throws Exception {
+        Map<String, AtomicInteger> expected = new ConcurrentHashMap<>();
+        AtomicInteger wrongAnswers = new AtomicInteger();
+        AtomicInteger cycleUpdates = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        String testCaseKey = "PROJ-T" + (thread * ITERATIONS + i);
+                        String cycleKey = "PROJ-R" + (i % 8);
+                        List<String> tags = List.of("@Key_" + testCaseKey, "@Zephyr_" + cycleKey);
+
+                        ZephyrConnector.createExecutionTest("cenario-" + thread + "-" + i, tags, i % 3 != 0, i);
+                        expected.computeIfAbsent(testCaseKey, key -> new AtomicInteger()).incrementAndGet();
+
+                        // Respostas trocadas entre threads aparecem como ciclo existente/inexistente incorreto
+                        String queried = i % 5 == 0 ? "PROJ-R" + thread + "-404" : cycleKey;
+                        if (ZephyrConnector.testCycleExists(queried) == queried.endsWith("-404")) {
+                            wrongAnswers.incrementAndGet();
+                        }
+                        String queriedCase = i % 5 == 1 ? "PROJ-T" + thread + "-404" : testCaseKey;
+                        if (ZephyrConnector.testCaseExists(queriedCase) == queriedCase.endsWith("-404")) {
+                            wrongAnswers.incrementAndGet();
+                        }
+                        if (!testCaseKey.equals(ZephyrConnector.getTestCaseKeyByTags(tags))
+                                || !cycleKey.equals(ZephyrConnector.getCycleCaseKeyByTags(tags))) {
+                            wrongAnswers.incrementAndGet();
+                        }
+
+                        if (i % 4 == 0) {
+                            ZephyrConnector.updateCycleStatus(tags, "Done");
+                            cycleUpdates.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, wrongAnswers.get());
+
+        Map<String, Integer> received = new ConcurrentHashMap<>();
+        int cycleStatusPosts = 0;
+        for (StubHttpServer.Request request : server.requests()) {
+            if ("POST".equals(request.method) && request.path.equals("/v2/testexecutions")) {
+                JsonObject body = JsonParser.parseString(request.body).getAsJsonObject();
+                assertEquals("PROJ", body.get("projectKey").getAsString());
+                if ("Done".equals(body.get("statusName").getAsString())) {
+                    cycleStatusPosts++;
+                } else {
+                    received.merge(body.get("testCaseKey").getAsString(), 1, Integer::sum);
+                }
+            }
+        }
+        assertEquals(cycleUpdates.get(), cycleStatusPosts);
+        assertEquals(expected.size(), received.size());
+        expected.forEach((key, count) -> assertEquals(count.get(), received.get(key), key));
+
+        // Com todas as conexões devolvidas, uma nova rodada de requisições ocupando o pool inteiro conclui
+        ExecutorService probe = Executors.newFixedThreadPool(POOL_SIZE * 2);
+        try {
+            List<Future<Boolean>> checks = new ArrayList<>();
+            for (int i = 0; i < POOL_SIZE * 2; i++) {
+                checks.add(probe.submit(() -> ZephyrConnector.testCycleExists("PROJ-R1")));
+            }
+            for (Future<Boolean> check : checks) {
+                assertTrue(check.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            probe.shutdownNow();
+        }
+        assertEquals(0, server.awaitIdle(5_000));
+    }
+
+    private static StubHttpServer.Response lookup(StubHttpServer.Request request) {
+        pause();
+        String key = request.path.substring(request.path.lastIndexOf('/') + 1);
+        return key.endsWith("-404")
+                ? new StubHttpServer.Response(404, "{}")
+                : new StubHttpServer.Response(200, "{\"key\":\"" + key + "\"}");
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
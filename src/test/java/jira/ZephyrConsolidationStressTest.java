@@ -0,0 +1,199 @@
+package jira;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Executa as operações públicas do {@link ZephyrConnector} a partir de várias threads com a agregação de execuções
+ * e a consolidação por ciclo ativas, publicando as janelas enquanto os cenários ainda reportam. Verifica execuções
+ * perdidas ou contadas em duplicidade, o status consolidado de cada ciclo e conexões não devolvidas ao pool.
+ */
+class ZephyrConsolidationStressTest {
+
+    private static final int THREADS = 32;
+    private static final int ITERATIONS = 40;
+    private static final int CASES = 8;
+    private static final int CYCLES = 4;
+    private static final int POOL_SIZE = 4;
+    private static final Pattern AGGREGATED =
+            Pattern.compile("Execuções agregadas: (\\d+) \\((\\d+) Pass, (\\d+) Fail\\)");
+
+    private static StubHttpServer server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new StubHttpServer()
+                .on("POST", "/v2/testexecutions", request -> {
+                    pause();
+                    return new StubHttpServer.Response(201, "{}");
+                })
+                .on("GET", "/v2/testcycles/", request -> {
+                    pause();
+                    String key = request.path.substring(request.path.lastIndexOf('/') + 1);
+                    return key.endsWith("-404")
+                            ? new StubHttpServer.Response(404, "{}")
+                            : new StubHttpServer.Response(200, "{\"key\":\"" + key + "\"}");
+                });
+
+        // Janelas sem publicação periódica: apenas as chamadas de flush publicam
+        previousLoader = ConnectorTestConfiguration.install(Map.of(
+                "zephyr.connector.isActive", "true",
+                "zephyr.connector.url", server.baseUrl(),
+                "zephyr.connector.zephyrKey", "token",
+                "zephyr.connector.projectId", "PROJ",
+                "zephyr.connector.cycleRollup.enabled", "true",
+                "zephyr.connector.aggregation.enabled", "true",
+                "zephyr.connector.aggregation.windowSeconds", "0",
+                "http.pool.maxPerRoute", String.valueOf(POOL_SIZE),
+                "http.pool.maxTotal", String.valueOf(POOL_SIZE)));
+        assertTrue(ZephyrConnector.isActive());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void concurrentFlushesLoseNoExecutionsAndPublishTheConsolidatedStatus() throws Exception {
+        Map<String, AtomicInteger> passed = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> failed = new ConcurrentHashMap<>();
+        Set<String> failedCycles = ConcurrentHashMap.newKeySet();
+        Set<String> updatedCycles = ConcurrentHashMap.newKeySet();
+        AtomicInteger wrongAnswers = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        String testCaseKey = "PROJ-T" + (i % CASES);
+                        String cycleKey = "PROJ-R" + (thread % CYCLES);
+                        String target = testCaseKey + "@" + cycleKey;
+                        List<String> tags = List.of("@Key_" + testCaseKey, "@Zephyr_" + cycleKey);
+                        boolean success = (thread + i) % 7 != 0;
+
+                        if (i % 2 == 0) {
+                            ZephyrConnector.createExecutionTest(tags, success, i);
+                        } else {
+                            ZephyrConnector.createExecutionTest("cenario-" + thread + "-" + i, tags, success, i);
+                        }
+                        (success ? passed : failed).computeIfAbsent(target, key -> new AtomicInteger())
+                                .incrementAndGet();
+
+                        ZephyrConnector.updateCycleStatus(tags, success ? "Pass" : "Fail");
+                        updatedCycles.add(target);
+                        if (!success) {
+                            failedCycles.add(target);
+                        }
+
+                        if (!ZephyrConnector.testCyclesExist(List.of(cycleKey, "PROJ-R0"))
+                                || ZephyrConnector.testCyclesExist(List.of("PROJ-R0", "PROJ-R" + thread + "-404"))) {
+                            wrongAnswers.incrementAndGet();
+                        }
+
+                        HttpGet httpGet = new HttpGet(server.baseUrl());
+                        ZephyrConnector.getInstance().setAuthorizationAndContentTypeHeaders(httpGet);
+                        if (!"Bearer token".equals(httpGet.getFirstHeader(HttpHeaders.AUTHORIZATION).getValue())) {
+                            wrongAnswers.incrementAndGet();
+                        }
+
+                        // Publicações concorrentes com os registros das demais threads
+                        if (i % 10 == thread % 10) {
+                            ZephyrConnector.flushExecutions();
+                            ZephyrConnector.flushCycleStatus();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        ZephyrConnector.flushExecutions();
+        ZephyrConnector.flushCycleStatus();
+
+        assertEquals(0, wrongAnswers.get());
+
+        // As execuções agregadas somam exatamente as execuções registradas de cada caso no ciclo
+        Map<String, Integer> receivedPassed = new HashMap<>();
+        Map<String, Integer> receivedFailed = new HashMap<>();
+        Map<String, String> lastCycleStatus = new HashMap<>();
+        for (StubHttpServer.Request request : server.requests()) {
+            if (!"POST".equals(request.method)) {
+                continue;
+            }
+            JsonObject body = JsonParser.parseString(request.body).getAsJsonObject();
+            assertEquals("PROJ", body.get("projectKey").getAsString());
+            String target = body.get("testCaseKey").getAsString() + "@" + body.get("testCycleKey").getAsString();
+            if (body.has("comment")) {
+                Matcher matcher = AGGREGATED.matcher(body.get("comment").getAsString());
+                assertTrue(matcher.find(), body.toString());
+                assertEquals(Integer.parseInt(matcher.group(1)),
+                        Integer.parseInt(matcher.group(2)) + Integer.parseInt(matcher.group(3)));
+                receivedPassed.merge(target, Integer.parseInt(matcher.group(2)), Integer::sum);
+                receivedFailed.merge(target, Integer.parseInt(matcher.group(3)), Integer::sum);
+            } else {
+                lastCycleStatus.put(target, body.get("statusName").getAsString());
+            }
+        }
+        assertEquals(updatedCycles, receivedPassed.keySet());
+        for (String target : updatedCycles) {
+            assertEquals(count(passed, target), receivedPassed.get(target), target);
+            assertEquals(count(failed, target), receivedFailed.get(target), target);
+        }
+
+        // O último status publicado de cada caso no ciclo é o consolidado de todos os cenários
+        assertEquals(updatedCycles, lastCycleStatus.keySet());
+        updatedCycles.forEach(target -> assertEquals(failedCycles.contains(target) ? "Fail" : "Pass",
+                lastCycleStatus.get(target), target));
+
+        assertEquals(0, server.awaitIdle(5_000));
+    }
+
+    private static int count(Map<String, AtomicInteger> counters, String target) {
+        AtomicInteger count = counters.get(target);
+        return count == null ? 0 : count.get();
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
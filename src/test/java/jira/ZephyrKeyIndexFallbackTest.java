@@ -0,0 +1,84 @@
+package jira;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que chaves ausentes do índice do Zephyr, como as de casos e ciclos criados após a consulta, são
+ * confirmadas diretamente no Zephyr uma única vez e passam a constar do índice.
+ */
+class ZephyrKeyIndexFallbackTest {
+
+    private static final Set<String> REMOTE_ONLY = Set.of("PROJ-T2", "PROJ-R2");
+
+    private static StubHttpServer server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new StubHttpServer()
+                .on("GET", "/v2/testcases", 200, "{\"total\":1,\"values\":[{\"key\":\"PROJ-T1\"}]}")
+                .on("GET", "/v2/testcycles", 200, "{\"total\":1,\"values\":[{\"key\":\"PROJ-R1\"}]}")
+                .on("GET", "/v2/testcases/", ZephyrKeyIndexFallbackTest::lookup)
+                .on("GET", "/v2/testcycles/", ZephyrKeyIndexFallbackTest::lookup)
+                .on("POST", "/v2/testexecutions", 201, "{}");
+
+        previousLoader = ConnectorTestConfiguration.install(Map.of(
+                "zephyr.connector.isActive", "true",
+                "zephyr.connector.url", server.baseUrl(),
+                "zephyr.connector.zephyrKey", "token",
+                "zephyr.connector.projectId", "PROJ",
+                "zephyr.connector.prefetch.enabled", "true",
+                "zephyr.connector.prefetch.path", Files.createTempDirectory("zephyr-index").toString()));
+        assertTrue(ZephyrConnector.isActive());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void keysMissingFromTheIndexAreConfirmedOnceAndIndexed() {
+        assertTrue(ZephyrConnector.testCaseExists("PROJ-T1"));
+        assertTrue(ZephyrConnector.testCycleExists("PROJ-R1"));
+        assertEquals(0, server.count("GET", "/v2/testcases/") + server.count("GET", "/v2/testcycles/"));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(ZephyrConnector.testCaseExists("PROJ-T2"));
+            assertTrue(ZephyrConnector.testCycleExists("PROJ-R2"));
+        }
+        assertEquals(1, server.count("GET", "/v2/testcases/PROJ-T2"));
+        assertEquals(1, server.count("GET", "/v2/testcycles/PROJ-R2"));
+
+        assertFalse(ZephyrConnector.testCaseExists("PROJ-T9"));
+        assertFalse(ZephyrConnector.testCycleExists("PROJ-R9"));
+    }
+
+    @Test
+    void executionsForKeysCreatedAfterThePrefetchArePublished() {
+        ZephyrConnector.createExecutionTest(List.of("@Key_PROJ-T2", "@Zephyr_PROJ-R2"), true, 10);
+        assertEquals(1, server.count("POST", "/v2/testexecutions"));
+
+        ZephyrConnector.createExecutionTest(List.of("@Key_PROJ-T8", "@Zephyr_PROJ-R2"), true, 10);
+        assertEquals(1, server.count("POST", "/v2/testexecutions"));
+    }
+
+    private static StubHttpServer.Response lookup(StubHttpServer.Request request) {
+        String key = request.path.substring(request.path.lastIndexOf('/') + 1);
+        return REMOTE_ONLY.contains(key)
+                ? new StubHttpServer.Response(200, "{\"key\":\"" + key + "\"}")
+                : new StubHttpServer.Response(404, "{}");
+    }
+}
@@ -0,0 +1,74 @@
+package jira;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica a carga do índice do Zephyr com listagens de várias páginas, consultadas em paralelo durante a
+ * inicialização do conector.
+ */
+class ZephyrKeyPrefetchTest {
+
+    private static final int TOTAL = 3;
+
+    private static StubHttpServer server;
+    private static ClassLoader previousLoader;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new StubHttpServer()
+                .on("GET", "/v2/testcases", request -> page(request, "PROJ-T"))
+                .on("GET", "/v2/testcycles", request -> page(request, "PROJ-R"))
+                .on("GET", "/v2/testcases/", 404, "{}")
+                .on("GET", "/v2/testcycles/", 404, "{}");
+
+        previousLoader = ConnectorTestConfiguration.install(Map.of(
+                "zephyr.connector.isActive", "true",
+                "zephyr.connector.url", server.baseUrl(),
+                "zephyr.connector.zephyrKey", "token",
+                "zephyr.connector.projectId", "PROJ",
+                "zephyr.connector.prefetch.enabled", "true",
+                "zephyr.connector.prefetch.pageSize", "1",
+                "zephyr.connector.prefetch.path", Files.createTempDirectory("zephyr-index").toString()));
+    }
+
+    @AfterAll
+    static void stopServer() {
+        Thread.currentThread().setContextClassLoader(previousLoader);
+        server.close();
+    }
+
+    @Test
+    void allPagesAreLoadedDuringInitialization() {
+        assertTrue(assertTimeoutPreemptively(Duration.ofSeconds(10), ZephyrConnector::isActive));
+
+        assertEquals(TOTAL, server.count("GET", "/v2/testcases") - server.count("GET", "/v2/testcases/"));
+        assertEquals(TOTAL, server.count("GET", "/v2/testcycles") - server.count("GET", "/v2/testcycles/"));
+        for (int i = 0; i < TOTAL; i++) {
+            assertTrue(ZephyrConnector.testCaseExists("PROJ-T" + i));
+            assertTrue(ZephyrConnector.testCycleExists("PROJ-R" + i));
+        }
+        // Todas as chaves vieram do índice, sem consultas individuais
+        assertEquals(0, server.count("GET", "/v2/testcases/") + server.count("GET", "/v2/testcycles/"));
+    }
+
+    private static StubHttpServer.Response page(StubHttpServer.Request request, String prefix) {
+        int startAt = 0;
+        for (String parameter : request.query.split("&")) {
+            if (parameter.startsWith("startAt=")) {
+                startAt = Integer.parseInt(parameter.substring("startAt=".length()));
+            }
+        }
+        return new StubHttpServer.Response(200,
+                "{\"total\":" + TOTAL + ",\"values\":[{\"key\":\"" + prefix + startAt + "\"}]}");
+    }
+}
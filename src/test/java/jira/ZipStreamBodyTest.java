@@ -0,0 +1,114 @@
+package jira;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipStreamBodyTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void streamsReadyEntriesWhileLaterEntriesArePrepared() throws Exception {
+        byte[] report = new byte[256 * 1024];
+        new Random(1).nextBytes(report);
+        File pdf = Files.write(dir.resolve("report.pdf"), report).toFile();
+        File screenshot = Files.write(dir.resolve("screenshot.jpg"), new byte[]{1, 2, 3}).toFile();
+        CompletableFuture<File> pending = new CompletableFuture<>();
+
+        ZipStreamBody body = new ZipStreamBody("evidencias.zip", List.of(
+                new ZipStreamBody.Entry("PDF/report.pdf", CompletableFuture.completedFuture(pdf)),
+                new ZipStreamBody.Entry("PNG/screenshot.png", pending)), new BufferPool(8 * 1024, 2, false));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> upload = executor.submit(() -> {
+                body.writeTo(new OutputStream() {
+                    @Override
+                    public void write(int b) {
+                        out.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        out.write(b, off, len);
+                    }
+                });
+                return null;
+            });
+
+            // O primeiro arquivo é enviado sem aguardar a preparação do segundo
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (out.size() < report.length && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(out.size() >= report.length, "O envio aguardou a preparação de todas as entradas");
+            assertFalse(upload.isDone());
+
+            pending.complete(screenshot);
+            upload.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+                if (entry.getName().endsWith(".pdf")) {
+                    assertArrayEquals(report, zip.readAllBytes());
+                }
+            }
+        }
+        // A extensão da entrada acompanha o arquivo recodificado
+        assertEquals(List.of("PDF/report.pdf", "PNG/screenshot.jpg"), names);
+    }
+
+    @Test
+    void cleanupRemovesProcessedImageAndItsDirectory() throws Exception {
+        BufferedImage image = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(2);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        File original = dir.resolve("tela.png").toFile();
+        ImageIO.write(image, "png", original);
+
+        File processed = new EvidenceImageProcessor(1, 400, "jpeg", 0.5f).submit(original).get(30, TimeUnit.SECONDS);
+        assertNotEquals(original, processed);
+        assertEquals("tela.jpg", processed.getName());
+
+        EvidenceImageProcessor.cleanup(original, processed);
+        assertFalse(processed.exists());
+        assertFalse(processed.getParentFile().exists());
+        assertTrue(original.exists());
+    }
+}